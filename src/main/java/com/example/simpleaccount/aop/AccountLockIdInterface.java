@@ -1,5 +1,16 @@
 package com.example.simpleaccount.aop;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
 public interface AccountLockIdInterface {
+    // 요청 제한, 담당 노드, shard 를 정하는 대표 계좌
     String getAccountNumber();
+
+    // Lock 을 잡을 계좌 목록 (LockAopAspect 가 계좌 번호 순으로 잡음)
+    @JsonIgnore
+    default List<String> getLockAccountNumbers() {
+        return List.of(getAccountNumber());
+    }
 }
@@ -0,0 +1,12 @@
+package com.example.simpleaccount.aop;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface Idempotent {
+    // 같은 키라도 API 가 다르면 다른 요청으로 취급
+    String value();
+}
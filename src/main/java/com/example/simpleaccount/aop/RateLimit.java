@@ -0,0 +1,13 @@
+package com.example.simpleaccount.aop;
+
+import com.example.simpleaccount.type.RateLimitType;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+public @interface RateLimit {
+    RateLimitType[] value() default {RateLimitType.USER, RateLimitType.ACCOUNT};
+}
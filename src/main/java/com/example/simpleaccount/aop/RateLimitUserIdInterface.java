@@ -0,0 +1,5 @@
+package com.example.simpleaccount.aop;
+
+public interface RateLimitUserIdInterface {
+    Long getUserId();
+}
@@ -0,0 +1,12 @@
+package com.example.simpleaccount.aop;
+
+import com.example.simpleaccount.type.ShardKeyType;
+
+import java.lang.annotation.*;
+
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ShardKey {
+    ShardKeyType value() default ShardKeyType.ACCOUNT_NUMBER;
+}
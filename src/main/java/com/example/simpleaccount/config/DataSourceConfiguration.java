@@ -0,0 +1,111 @@
+package com.example.simpleaccount.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 커넥션 풀 구성
+ * 1. primary / replica 풀과 읽기 전용 트랜잭션 라우팅 (0 번 shard)
+ * 2. 1 번 이후 shard 풀과 shard 라우팅
+ * 로컬에서는 replica 풀은 같은 H2 DB 에, shard 풀은 shard 별 H2 메모리 DB 에 연결
+ * primary / replica 풀은 bean 이라 커넥션 풀 지표가 자동 등록되고, shard 풀은 직접 등록
+ */
+@Configuration
+public class DataSourceConfiguration {
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "account.datasource.replica.enabled", havingValue = "true")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${account.datasource.replica.url:}") String url,
+            @Value("${account.datasource.replica.username:}") String username,
+            @Value("${account.datasource.replica.password:}") String password,
+            @Value("${account.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // 지정하지 않은 값은 primary 설정을 따름
+        if (!url.isBlank()) {
+            dataSource.setJdbcUrl(url);
+        }
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(
+            DataSourceProperties properties,
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${account.sharding.shard-count:1}") int shardCount,
+            @Value("${account.sharding.url-pattern:jdbc:h2:mem:shard%d;DB_CLOSE_DELAY=-1}") String urlPattern,
+            @Value("${account.sharding.maximum-pool-size:10}") int maximumPoolSize) {
+        List<DataSource> shards = new ArrayList<>(shardCount);
+        List<HikariDataSource> ownedPools = new ArrayList<>();
+
+        DataSource replica = replicaDataSource.getIfAvailable();
+        shards.add(replica == null ? primaryDataSource : replicationRouting(primaryDataSource, replica));
+
+        for (int shard = 1; shard < shardCount; shard++) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(String.format(urlPattern, shard))
+                    .build();
+            dataSource.setPoolName("shard-" + shard);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            meterRegistry.ifAvailable(dataSource::setMetricRegistry);
+            shards.add(dataSource);
+            ownedPools.add(dataSource);
+        }
+
+        return new ShardRoutingDataSource(shards, ownedPools);
+    }
+
+    // 트랜잭션 속성과 shard 가 정해진 뒤(첫 쿼리)에 실제 커넥션을 얻음
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    private static DataSource replicationRouting(DataSource primaryDataSource,
+                                                 DataSource replicaDataSource) {
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource();
+        routingDataSource.setTargetDataSources(Map.of(
+                ReplicationRoutingDataSource.PRIMARY, primaryDataSource,
+                ReplicationRoutingDataSource.REPLICA, replicaDataSource));
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+}
@@ -2,27 +2,46 @@ package com.example.simpleaccount.config;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import redis.embedded.RedisServer;
 
+import java.util.ArrayList;
+import java.util.List;
+
+@Slf4j
 @Configuration
 public class LocalRedisConfig {
     @Value("${spring.redis.port}")
     private int redisPort;
 
-    private RedisServer redisServer;
+    // 로컬에서 Lock 용 Redis 여러 대를 띄울 포트 (account.lock.redis.addresses 와 맞춤)
+    @Value("${account.lock.redis.embedded-ports:}")
+    private List<Integer> lockRedisPorts;
+
+    private final List<RedisServer> redisServers = new ArrayList<>();
 
     @PostConstruct
     public void startRedis() {
-        redisServer = new RedisServer(redisPort);
-        redisServer.start();
+        startRedis(redisPort);
+        lockRedisPorts.forEach(this::startRedis);
+    }
+
+    private void startRedis(int port) {
+        RedisServer redisServer = new RedisServer(port);
+        try {
+            redisServer.start();
+            redisServers.add(redisServer);
+        } catch (RuntimeException e) {
+            // 같은 PC 에서 여러 인스턴스를 띄우면 먼저 띄운 인스턴스의 Redis 를 함께 사용
+            log.warn("Embedded redis is not started. Using the redis already running on port {}",
+                    port);
+        }
     }
 
     @PreDestroy
     public void stopRedis() {
-        if (redisServer != null) {
-            redisServer.stop();
-        }
+        redisServers.forEach(RedisServer::stop);
     }
-}
\ No newline at end of file
+}
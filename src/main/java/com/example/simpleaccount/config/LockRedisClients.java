@@ -0,0 +1,39 @@
+package com.example.simpleaccount.config;
+
+import org.redisson.api.RedissonClient;
+
+import java.util.List;
+
+/**
+ * 계좌 Lock 에 사용하는 서로 독립된 Redis 목록
+ * 따로 지정하지 않으면 spring.redis 한 대
+ */
+public class LockRedisClients implements AutoCloseable {
+    private final List<RedissonClient> clients;
+    private final boolean owned;
+
+    public LockRedisClients(List<RedissonClient> clients, boolean owned) {
+        this.clients = List.copyOf(clients);
+        this.owned = owned;
+    }
+
+    public List<RedissonClient> getClients() {
+        return clients;
+    }
+
+    public int size() {
+        return clients.size();
+    }
+
+    // 계좌 번호로 고른 Redis (SHARDED)
+    public RedissonClient clientOf(String accountNumber) {
+        return clients.get(Math.floorMod(accountNumber.hashCode(), clients.size()));
+    }
+
+    @Override
+    public void close() {
+        if (owned) {
+            clients.forEach(RedissonClient::shutdown);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.PhaseTimer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 요청마다 구간별 소요 시간 합계를 모음 (ServerTimingResponseAdvice 가 응답 헤더로 보냄)
+ */
+public class PhaseTimingInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+                             HttpServletResponse response,
+                             Object handler) {
+        PhaseTimer.startRequest();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+                                HttpServletResponse response,
+                                Object handler, Exception ex) {
+        PhaseTimer.clearRequest();
+    }
+}
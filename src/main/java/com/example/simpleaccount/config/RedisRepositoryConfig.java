@@ -1,12 +1,20 @@
 package com.example.simpleaccount.config;
 
+import com.example.simpleaccount.type.LockMode;
+import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RedissonClient;
 import org.redisson.config.Config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
 @Configuration
 public class RedisRepositoryConfig {
     @Value("${spring.redis.host}")
@@ -22,4 +30,33 @@ public class RedisRepositoryConfig {
 
         return Redisson.create(config);
     }
-}
\ No newline at end of file
+
+    /**
+     * 계좌 Lock 용 Redis
+     * SINGLE 모드이거나 주소가 없으면 redissonClient 를 함께 사용
+     * 그 외에는 주소마다 따로 연결 (서로 복제하지 않는 독립된 Redis)
+     */
+    @Bean(destroyMethod = "close")
+    @DependsOn("localRedisConfig")
+    public LockRedisClients lockRedisClients(
+            RedissonClient redissonClient,
+            @Value("${account.lock.redis.mode:SINGLE}") LockMode mode,
+            @Value("${account.lock.redis.addresses:}") String addresses) {
+        List<String> nodeAddresses = Arrays.stream(addresses.split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .toList();
+        if (mode == LockMode.SINGLE || nodeAddresses.isEmpty()) {
+            return new LockRedisClients(List.of(redissonClient), false);
+        }
+
+        List<RedissonClient> clients = new ArrayList<>(nodeAddresses.size());
+        for (String address : nodeAddresses) {
+            Config config = new Config();
+            config.useSingleServer().setAddress(address);
+            clients.add(Redisson.create(config));
+        }
+        log.info("Using {} lock redis nodes in {} mode.", clients.size(), mode);
+        return new LockRedisClients(clients, true);
+    }
+}
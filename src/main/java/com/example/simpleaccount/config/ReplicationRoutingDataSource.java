@@ -0,0 +1,23 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.ReplicaRouting;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 읽기 전용 트랜잭션은 replica, 그 외(쓰기, 트랜잭션 밖)는 primary 로 연결
+ * 트랜잭션 속성이 정해진 뒤에 커넥션을 얻도록 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !ReplicaRouting.isPrimaryForced()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
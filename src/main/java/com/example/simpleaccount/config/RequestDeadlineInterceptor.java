@@ -0,0 +1,39 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * X-Request-Timeout (밀리초) 헤더로 요청 처리 기한 설정
+ */
+@Slf4j
+public class RequestDeadlineInterceptor implements HandlerInterceptor {
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    @Override
+    public boolean preHandle(HttpServletRequest request,
+                             HttpServletResponse response,
+                             Object handler) {
+        String timeout = request.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (timeout == null || timeout.isBlank()) {
+            return true;
+        }
+
+        try {
+            RequestDeadline.start(Long.parseLong(timeout.trim()));
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} header : {}", REQUEST_TIMEOUT_HEADER, timeout);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request,
+                                HttpServletResponse response,
+                                Object handler, Exception ex) {
+        RequestDeadline.clear();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.simpleaccount.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling // 주기 작업(카운터 정리 등) 활성화
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,37 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.PhaseTimer;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 응답 본문을 쓰기 전에 구간별 소요 시간을 Server-Timing 헤더로 추가
+ * (Lock 해제, 커밋이 끝난 뒤이고 응답이 커밋되기 전)
+ */
+@RestControllerAdvice
+public class ServerTimingResponseAdvice implements ResponseBodyAdvice<Object> {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String serverTiming = PhaseTimer.serverTiming();
+        if (serverTiming != null) {
+            response.getHeaders().add(SERVER_TIMING_HEADER, serverTiming);
+        }
+        return body;
+    }
+}
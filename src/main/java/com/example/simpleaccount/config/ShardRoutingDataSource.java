@@ -0,0 +1,52 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.ShardContext;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 현재 스레드의 shard 버킷으로 shard DB 를 선택 (버킷 % shard 수)
+ * 0 번 shard 는 primary (replica 를 쓰면 읽기/쓰기 라우팅), 나머지는 shard 별 커넥션 풀
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final List<DataSource> shards;
+    private final List<HikariDataSource> ownedPools;
+
+    public ShardRoutingDataSource(List<DataSource> shards, List<HikariDataSource> ownedPools) {
+        this.shards = shards;
+        this.ownedPools = ownedPools;
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    public DataSource getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer bucket = ShardContext.current();
+        return bucket == null ? 0 : bucket % shards.size();
+    }
+
+    @Override
+    public void close() {
+        ownedPools.forEach(HikariDataSource::close);
+    }
+}
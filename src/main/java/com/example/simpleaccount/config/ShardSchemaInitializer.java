@@ -0,0 +1,66 @@
+package com.example.simpleaccount.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로컬 H2 shard 초기화
+ * 0 번 shard 에 만들어진 스키마와 사용자(data.sql)를 나머지 shard 에 복사
+ * (사용자는 모든 shard 에 같은 데이터로 둠)
+ * 운영 DB 는 shard 마다 같은 마이그레이션을 적용하고 사용하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.sharding.copy-schema", havingValue = "true")
+public class ShardSchemaInitializer implements SmartInitializingSingleton {
+    private final ShardRoutingDataSource shardRoutingDataSource;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (shardRoutingDataSource.getShardCount() == 1) {
+            return;
+        }
+
+        try {
+            List<String> script = readScript();
+            for (int shard = 1; shard < shardRoutingDataSource.getShardCount(); shard++) {
+                runScript(shard, script);
+            }
+            log.info("Copied schema to {} shards.", shardRoutingDataSource.getShardCount() - 1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to initialize shards.", e);
+        }
+    }
+
+    private List<String> readScript() throws SQLException {
+        List<String> script = new ArrayList<>();
+        try (Connection connection = shardRoutingDataSource.getShard(0).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+        return script;
+    }
+
+    private void runScript(int shard, List<String> script) throws SQLException {
+        try (Connection connection = shardRoutingDataSource.getShard(shard).getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : script) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
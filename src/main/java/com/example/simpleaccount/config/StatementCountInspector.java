@@ -0,0 +1,21 @@
+package com.example.simpleaccount.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * 스레드별로 Hibernate 가 준비한 SQL 문 수를 셈 (SQL 은 바꾸지 않음)
+ * 거래 처리 JFR 이벤트가 처리 전후의 차이로 SQL 문 수를 기록
+ */
+public class StatementCountInspector implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public static long count() {
+        return COUNT.get()[0];
+    }
+}
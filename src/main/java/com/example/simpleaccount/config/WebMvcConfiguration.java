@@ -0,0 +1,36 @@
+package com.example.simpleaccount.config;
+
+import com.example.simpleaccount.service.PhaseTimer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfiguration implements WebMvcConfigurer {
+
+    // 구간별 소요 시간 히스토그램
+    @Value("${account.timing.enabled:false}")
+    private boolean timingEnabled;
+
+    // 요청별 구간 소요 시간을 Server-Timing 응답 헤더로 보냄
+    @Value("${account.timing.server-timing:false}")
+    private boolean serverTiming;
+
+    @PostConstruct
+    public void init() {
+        PhaseTimer.setEnabled(timingEnabled || serverTiming);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestDeadlineInterceptor())
+                .addPathPatterns("/transaction/**");
+
+        if (serverTiming) {
+            registry.addInterceptor(new PhaseTimingInterceptor())
+                    .addPathPatterns("/account/**", "/transaction/**");
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.example.simpleaccount.controller;
 
+import com.example.simpleaccount.aop.Idempotent;
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.dto.AccountDto;
 import com.example.simpleaccount.dto.AccountInfo;
 import com.example.simpleaccount.dto.CreateAccount;
+import com.example.simpleaccount.dto.CreateAccountBatch;
 import com.example.simpleaccount.dto.DeleteAccount;
+import com.example.simpleaccount.dto.QueryAccounts;
 import com.example.simpleaccount.service.AccountService;
+import com.example.simpleaccount.service.BalanceSubscriptionService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,6 +23,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class AccountController {
     private final AccountService accountService;
+    private final BalanceSubscriptionService balanceSubscriptionService;
 
     // 계좌 생성
     @PostMapping("/account")
@@ -31,6 +38,16 @@ public class AccountController {
         return CreateAccount.Response.from(accountDto);
     }
 
+    // 계좌 일괄 생성 (항목별 결과를 요청 순서대로 반환)
+    @PostMapping("/account/batch")
+    @Idempotent("create-account-batch")
+    public CreateAccountBatch.Response createAccountBatch(
+            @RequestBody @Valid CreateAccountBatch.Request request) {
+
+        return new CreateAccountBatch.Response(
+                accountService.createAccounts(request.getItems()));
+    }
+
     // 계좌 해지
     @DeleteMapping("/account")
     public DeleteAccount.Response deleteAccount(
@@ -55,6 +72,22 @@ public class AccountController {
                         .build()).collect(Collectors.toList());
     }
 
+    // 잔액 변경 구독 (SSE)
+    @GetMapping(value = "/account/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeBalance(
+            @RequestParam("user_id") Long userId) {
+        return balanceSubscriptionService.subscribe(userId);
+    }
+
+    // 여러 계좌 조회 (계좌 번호 순서대로, 없는 계좌는 ACCOUNT_NOT_FOUND)
+    @PostMapping("/account/query")
+    public QueryAccounts.Response queryAccounts(
+            @RequestBody @Valid QueryAccounts.Request request) {
+
+        return QueryAccounts.Response.of(request.getAccountNumbers(),
+                accountService.queryAccounts(request.getAccountNumbers()));
+    }
+
     @GetMapping("/account/{id}")
     public Account getAccount(
             @PathVariable Long id) {
@@ -0,0 +1,53 @@
+package com.example.simpleaccount.controller;
+
+import com.example.simpleaccount.dto.ContendedAccount;
+import com.example.simpleaccount.dto.PhaseTiming;
+import com.example.simpleaccount.dto.ReconciliationReport;
+import com.example.simpleaccount.service.ContentionTracker;
+import com.example.simpleaccount.service.PhaseTimer;
+import com.example.simpleaccount.service.ReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 운영 관련 컨트롤러
+ * 1. 잔액 대사 실행
+ * 2. 마지막 잔액 대사 결과 확인
+ * 3. 구간별 처리 시간 확인
+ * 4. Lock 경합 상위 계좌 확인
+ */
+@RestController
+@RequiredArgsConstructor
+public class AdminController {
+    private final ReconciliationService reconciliationService;
+    private final ContentionTracker contentionTracker;
+
+    // 잔액 대사 실행 (끝날 때까지 대기)
+    @PostMapping("/admin/reconciliation")
+    public ReconciliationReport reconcile() {
+        return reconciliationService.reconcile();
+    }
+
+    @GetMapping("/admin/reconciliation")
+    public ReconciliationReport lastReconciliation() {
+        return reconciliationService.getLastReport();
+    }
+
+    // account.timing.enabled 가 꺼져 있으면 모두 0
+    @GetMapping("/admin/phase-timings")
+    public List<PhaseTiming> phaseTimings() {
+        return PhaseTimer.snapshot();
+    }
+
+    // account.contention.enabled 가 꺼져 있으면 빈 목록
+    @GetMapping("/admin/hot-accounts")
+    public List<ContendedAccount> hotAccounts(
+            @RequestParam(defaultValue = "10") int limit) {
+        return contentionTracker.top(limit);
+    }
+}
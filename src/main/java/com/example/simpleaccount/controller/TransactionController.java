@@ -1,45 +1,64 @@
 package com.example.simpleaccount.controller;
 
 import com.example.simpleaccount.aop.AccountLock;
+import com.example.simpleaccount.aop.Idempotent;
+import com.example.simpleaccount.aop.RateLimit;
 import com.example.simpleaccount.dto.QueryTransactionResponse;
 import com.example.simpleaccount.dto.TransactionDto;
 import com.example.simpleaccount.dto.CancelBalance;
+import com.example.simpleaccount.dto.TransferBalance;
 import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.QueryTransactions;
+import com.example.simpleaccount.dto.UseBalanceBatch;
 import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.service.TransactionBatchService;
+import com.example.simpleaccount.service.TransactionFailureLedger;
 import com.example.simpleaccount.service.TransactionService;
+import com.example.simpleaccount.type.RateLimitType;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 
+import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_OUT;
+import static com.example.simpleaccount.type.TransactionType.USE;
+
 /**
  * 잔액 관련 컨트롤러
  * 1. 잔액 사용
  * 2. 잔액 사용 취소
  * 3. 거래 확인
+ * 4. 이체
+ * 5. 잔액 사용 일괄 처리
+ * 6. 여러 거래 확인
  */
 @Slf4j
 @RestController
 @RequiredArgsConstructor
 public class TransactionController {
     private final TransactionService transactionService;
+    private final TransactionFailureLedger transactionFailureLedger;
+    private final TransactionBatchService transactionBatchService;
 
     @PostMapping("/transaction/use")
+    @Idempotent("use")
+    @RateLimit
     @AccountLock
     public UseBalance.Response useBalance(
             @RequestBody @Valid UseBalance.Request request
     ) throws InterruptedException {
-        TransactionDto transactionDto =
-                transactionService.useBalance(request.getUserId(),
-                        request.getAccountNumber(), request.getAmount());
-
         try {
+            TransactionDto transactionDto =
+                    transactionService.useBalance(request.getUserId(),
+                            request.getAccountNumber(), request.getAmount());
+
             Thread.sleep(3000L);
             return UseBalance.Response.from(transactionDto);
         } catch (AccountException e) {
             log.error("Failed to use balance.");
 
-            transactionService.saveFailedUseTransaction(
+            transactionFailureLedger.record(USE,
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -49,20 +68,60 @@ public class TransactionController {
     }
 
     @PostMapping("/transaction/cancel")
+    @Idempotent("cancel")
+    @RateLimit(RateLimitType.ACCOUNT)
     @AccountLock
     public CancelBalance.Response cancelBalance(
             @RequestBody @Valid CancelBalance.Request request
     ) {
-        TransactionDto transactionDto =
-                transactionService.cancelBalance(request.getTransactionId(),
-                        request.getAccountNumber(), request.getAmount());
-
         try {
+            TransactionDto transactionDto =
+                    transactionService.cancelBalance(request.getTransactionId(),
+                            request.getAccountNumber(), request.getAmount());
+
             return CancelBalance.Response.from(transactionDto);
         } catch (AccountException e) {
             log.error("Failed to cancel balance.");
 
-            transactionService.saveFailedCancelTransaction(
+            transactionFailureLedger.record(CANCEL,
+                    request.getAccountNumber(),
+                    request.getAmount()
+            );
+
+            throw e;
+        }
+    }
+
+    // 계좌별로 묶어서 Lock 한 번, DB 트랜잭션 한 번으로 처리하고 항목별 결과를 요청 순서대로 응답
+    @PostMapping("/transaction/use/batch")
+    @Idempotent("use-batch")
+    public UseBalanceBatch.Response useBalanceBatch(
+            @RequestBody @Valid UseBalanceBatch.Request request
+    ) {
+        return new UseBalanceBatch.Response(
+                transactionBatchService.useBalanceBatch(request.getItems()));
+    }
+
+    // 출금, 입금 계좌 Lock 을 함께 잡고 한 DB 트랜잭션에서 처리
+    @PostMapping("/transaction/transfer")
+    @Idempotent("transfer")
+    @RateLimit
+    @AccountLock
+    public TransferBalance.Response transferBalance(
+            @RequestBody @Valid TransferBalance.Request request
+    ) {
+        try {
+            TransactionDto transactionDto =
+                    transactionService.transferBalance(request.getUserId(),
+                            request.getAccountNumber(), request.getTargetAccountNumber(),
+                            request.getAmount());
+
+            return TransferBalance.Response.from(transactionDto,
+                    request.getTargetAccountNumber());
+        } catch (AccountException e) {
+            log.error("Failed to transfer balance.");
+
+            transactionFailureLedger.record(TRANSFER_OUT,
                     request.getAccountNumber(),
                     request.getAmount()
             );
@@ -78,4 +137,13 @@ public class TransactionController {
         return QueryTransactionResponse.from(
                 transactionService.queryTransaction(transactionId));
     }
+
+    // 거래 아이디 순서대로, 없는 거래는 TRANSACTION_NOT_FOUND
+    @PostMapping("/transaction/query")
+    public QueryTransactions.Response queryTransactions(
+            @RequestBody @Valid QueryTransactions.Request request) {
+
+        return QueryTransactions.Response.of(request.getTransactionIds(),
+                transactionService.queryTransactions(request.getTransactionIds()));
+    }
 }
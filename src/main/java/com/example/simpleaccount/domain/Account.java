@@ -32,6 +32,10 @@ public class Account extends BaseEntity {
     private LocalDateTime registeredAt;
     private LocalDateTime unRegisteredAt;
 
+    // 클러스터 담당 노드가 바뀌는 중 이전 담당 노드가 늦게 저장하면 거절
+    @Version
+    private Long version;
+
     public void useBalance(Long amount) {
         if (amount > balance) {
             throw new AccountException(AMOUNT_EXCEED_BALANCE);
@@ -1,10 +1,12 @@
 package com.example.simpleaccount.domain;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,4 +21,9 @@ import java.time.LocalDateTime;
 @Entity
 public class AccountUser extends BaseEntity {
     private String name;
+
+    // 해지되지 않은 계좌 수 (조건부 update 로만 변경)
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int openAccountCount;
 }
@@ -0,0 +1,47 @@
+package com.example.simpleaccount.domain;
+
+import com.example.simpleaccount.type.TransactionResultType;
+import com.example.simpleaccount.type.TransactionType;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class OutboxEvent extends BaseEntity {
+    @Enumerated(EnumType.STRING)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    private TransactionResultType transactionResult;
+
+    private Long userId;
+    private String accountNumber;
+    private Long amount;
+    private Long balanceSnapshot;
+
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    public static OutboxEvent from(Transaction transaction) {
+        Account account = transaction.getAccount();
+
+        return OutboxEvent.builder()
+                .transactionType(transaction.getTransactionType())
+                .transactionResult(transaction.getTransactionResult())
+                .userId(account.getAccountUser() == null ? null : account.getAccountUser().getId())
+                .accountNumber(account.getAccountNumber())
+                .amount(transaction.getAmount())
+                .balanceSnapshot(transaction.getBalanceSnapshot())
+                .transactionId(transaction.getTransactionId())
+                .transactedAt(transaction.getTransactedAt())
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.simpleaccount.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+public class OutboxOffset extends BaseEntity {
+    // 이벤트를 받는 곳(sink) 이름
+    @Column(unique = true)
+    private String consumer;
+
+    // 전달을 마친 마지막 이벤트 아이디
+    private Long lastEventId;
+}
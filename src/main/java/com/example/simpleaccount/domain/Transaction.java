@@ -31,4 +31,7 @@ public class Transaction extends BaseEntity {
 
     private String transactionId;
     private LocalDateTime transactedAt;
+
+    // 이체 : 상대 계좌의 거래 아이디 (출금 <-> 입금)
+    private String linkedTransactionId;
 }
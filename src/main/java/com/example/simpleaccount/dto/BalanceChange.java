@@ -0,0 +1,30 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.type.AccountStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceChange {
+    private Long userId;
+    private String accountNumber;
+    private AccountStatus accountStatus;
+    private Long balance;
+    private LocalDateTime changedAt;
+
+    public static BalanceChange from(Account account) {
+        return BalanceChange.builder()
+                .userId(account.getAccountUser().getId())
+                .accountNumber(account.getAccountNumber())
+                .accountStatus(account.getAccountStatus())
+                .balance(account.getBalance())
+                .changedAt(LocalDateTime.now())
+                .build();
+    }
+}
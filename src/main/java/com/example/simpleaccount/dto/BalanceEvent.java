@@ -0,0 +1,39 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.domain.OutboxEvent;
+import com.example.simpleaccount.type.TransactionResultType;
+import com.example.simpleaccount.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BalanceEvent {
+    private Long eventId;
+    private TransactionType transactionType;
+    private TransactionResultType transactionResult;
+    private Long userId;
+    private String accountNumber;
+    private Long amount;
+    private Long balanceSnapshot;
+    private String transactionId;
+    private LocalDateTime transactedAt;
+
+    public static BalanceEvent fromEntity(OutboxEvent outboxEvent) {
+        return BalanceEvent.builder()
+                .eventId(outboxEvent.getId())
+                .transactionType(outboxEvent.getTransactionType())
+                .transactionResult(outboxEvent.getTransactionResult())
+                .userId(outboxEvent.getUserId())
+                .accountNumber(outboxEvent.getAccountNumber())
+                .amount(outboxEvent.getAmount())
+                .balanceSnapshot(outboxEvent.getBalanceSnapshot())
+                .transactionId(outboxEvent.getTransactionId())
+                .transactedAt(outboxEvent.getTransactedAt())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.simpleaccount.dto;
+
+import lombok.*;
+
+/**
+ * Lock 경합 계좌 집계 (샘플링 배율을 곱한 추정값, 주기마다 절반으로 줄어듦)
+ * attempts 는 최대 maxOverestimate 만큼 실제보다 크게 나올 수 있음
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContendedAccount {
+    private String accountNumber;
+    private long attempts;
+    private long maxOverestimate;
+    private long waits;
+    private double waitMillis;
+    private long lockFailures;
+}
@@ -0,0 +1,70 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.ErrorCode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CreateAccountBatch {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull
+        @Size(min = 1, max = 10000)
+        private List<CreateAccount.@Valid @NotNull Request> items;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        // 요청 항목과 같은 순서
+        private List<Result> results;
+    }
+
+    /**
+     * 항목별 결과 (실패하면 계좌 번호 없이 오류 코드)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private Long userId;
+        private String accountNumber;
+        private LocalDateTime registeredAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result success(AccountDto accountDto) {
+            return Result.builder()
+                    .userId(accountDto.getUserId())
+                    .accountNumber(accountDto.getAccountNumber())
+                    .registeredAt(accountDto.getRegisteredAt())
+                    .build();
+        }
+
+        public static Result failure(Long userId, ErrorCode errorCode) {
+            return Result.builder()
+                    .userId(userId)
+                    .errorCode(errorCode)
+                    .errorMessage(errorCode.getDescription())
+                    .build();
+        }
+
+        @JsonIgnore
+        public boolean isFailed() {
+            return errorCode != null;
+        }
+    }
+}
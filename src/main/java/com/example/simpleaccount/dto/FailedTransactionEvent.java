@@ -0,0 +1,18 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.TransactionType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FailedTransactionEvent {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private Long amount;
+    private LocalDateTime failedAt;
+}
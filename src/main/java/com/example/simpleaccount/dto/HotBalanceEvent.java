@@ -0,0 +1,37 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.TransactionType;
+import lombok.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotBalanceEvent {
+    private TransactionType transactionType;
+    private String accountNumber;
+    private String transactionId;
+    private Long amount;
+    private Long balanceSnapshot;
+    private LocalDateTime transactedAt;
+
+    // Redis Stream 항목 (HotBalanceService 스크립트가 기록한 필드)
+    public static HotBalanceEvent fromEntries(Map<String, String> entries) {
+        return HotBalanceEvent.builder()
+                .transactionType(TransactionType.valueOf(entries.get("transactionType")))
+                .accountNumber(entries.get("accountNumber"))
+                .transactionId(entries.get("transactionId"))
+                .amount(Long.valueOf(entries.get("amount")))
+                .balanceSnapshot(Long.valueOf(entries.get("balanceSnapshot")))
+                .transactedAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(Long.parseLong(entries.get("transactedAt"))),
+                        ZoneId.systemDefault()))
+                .build();
+    }
+}
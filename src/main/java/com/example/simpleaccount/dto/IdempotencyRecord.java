@@ -0,0 +1,14 @@
+package com.example.simpleaccount.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+    private String fingerprint;
+    private boolean completed;
+    private Object response;
+}
@@ -0,0 +1,21 @@
+package com.example.simpleaccount.dto;
+
+import lombok.*;
+
+/**
+ * 구간별 소요 시간 집계 (백분위는 히스토그램 버킷의 상한이라 최대 2배까지 크게 나옴)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PhaseTiming {
+    private String phase;
+    private long count;
+    private double totalMillis;
+    private double maxMillis;
+    private double p50Millis;
+    private double p90Millis;
+    private double p99Millis;
+}
@@ -0,0 +1,83 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.ErrorCode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_NOT_FOUND;
+
+public class QueryAccounts {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull
+        @Size(min = 1, max = 10000)
+        private List<@NotBlank @Size(min = 10, max = 10) String> accountNumbers;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        // 요청 계좌 번호와 같은 순서
+        private List<Result> results;
+
+        public static Response of(List<String> accountNumbers,
+                                  Map<String, AccountDto> accounts) {
+            return new Response(accountNumbers.stream()
+                    .map(accountNumber -> {
+                        AccountDto accountDto = accounts.get(accountNumber);
+                        return accountDto == null
+                                ? Result.notFound(accountNumber)
+                                : Result.found(accountDto);
+                    })
+                    .toList());
+        }
+    }
+
+    /**
+     * 계좌별 결과 (없으면 계좌 번호와 오류 코드만)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private String accountNumber;
+        private Long userId;
+        private Long balance;
+        private LocalDateTime registeredAt;
+        private LocalDateTime unRegisteredAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result found(AccountDto accountDto) {
+            return Result.builder()
+                    .accountNumber(accountDto.getAccountNumber())
+                    .userId(accountDto.getUserId())
+                    .balance(accountDto.getBalance())
+                    .registeredAt(accountDto.getRegisteredAt())
+                    .unRegisteredAt(accountDto.getUnRegisteredAt())
+                    .build();
+        }
+
+        public static Result notFound(String accountNumber) {
+            return Result.builder()
+                    .accountNumber(accountNumber)
+                    .errorCode(ACCOUNT_NOT_FOUND)
+                    .errorMessage(ACCOUNT_NOT_FOUND.getDescription())
+                    .build();
+        }
+    }
+}
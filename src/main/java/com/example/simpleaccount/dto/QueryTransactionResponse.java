@@ -19,6 +19,7 @@ public class QueryTransactionResponse {
     private String transactionId;
     private Long amount;
     private LocalDateTime transactedAt;
+    private String linkedTransactionId;
 
     public static QueryTransactionResponse from(TransactionDto transactionDto) {
         return QueryTransactionResponse.builder()
@@ -28,6 +29,7 @@ public class QueryTransactionResponse {
                 .transactionId(transactionDto.getTransactionId())
                 .amount(transactionDto.getAmount())
                 .transactedAt(transactionDto.getTransactedAt())
+                .linkedTransactionId(transactionDto.getLinkedTransactionId())
                 .build();
     }
 }
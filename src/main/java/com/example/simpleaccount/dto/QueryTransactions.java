@@ -0,0 +1,89 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.TransactionResultType;
+import com.example.simpleaccount.type.TransactionType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.simpleaccount.type.ErrorCode.TRANSACTION_NOT_FOUND;
+
+public class QueryTransactions {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull
+        @Size(min = 1, max = 10000)
+        private List<@NotBlank String> transactionIds;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        // 요청 거래 아이디와 같은 순서
+        private List<Result> results;
+
+        public static Response of(List<String> transactionIds,
+                                  Map<String, TransactionDto> transactions) {
+            return new Response(transactionIds.stream()
+                    .map(transactionId -> {
+                        TransactionDto transactionDto = transactions.get(transactionId);
+                        return transactionDto == null
+                                ? Result.notFound(transactionId)
+                                : Result.found(transactionDto);
+                    })
+                    .toList());
+        }
+    }
+
+    /**
+     * 거래별 결과 (없으면 거래 아이디와 오류 코드만)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private String transactionId;
+        private String accountNumber;
+        private TransactionType transactionType;
+        private TransactionResultType transactionResult;
+        private Long amount;
+        private LocalDateTime transactedAt;
+        private String linkedTransactionId;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result found(TransactionDto transactionDto) {
+            return Result.builder()
+                    .transactionId(transactionDto.getTransactionId())
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionType(transactionDto.getTransactionType())
+                    .transactionResult(transactionDto.getTransactionResult())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .linkedTransactionId(transactionDto.getLinkedTransactionId())
+                    .build();
+        }
+
+        public static Result notFound(String transactionId) {
+            return Result.builder()
+                    .transactionId(transactionId)
+                    .errorCode(TRANSACTION_NOT_FOUND)
+                    .errorMessage(TRANSACTION_NOT_FOUND.getDescription())
+                    .build();
+        }
+    }
+}
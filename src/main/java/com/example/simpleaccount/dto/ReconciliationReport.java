@@ -0,0 +1,37 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.DiscrepancyType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReconciliationReport {
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long accountCount;
+    private long transactionCount;
+    private long discrepancyCount;
+    private double accountsPerSecond;
+
+    // 최대 account.reconciliation.max-reported 건
+    private List<Discrepancy> discrepancies;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Discrepancy {
+        private DiscrepancyType type;
+        private String accountNumber;
+        private String transactionId;
+        private Long expected;
+        private Long actual;
+    }
+}
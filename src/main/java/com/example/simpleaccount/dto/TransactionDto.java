@@ -25,6 +25,8 @@ public class TransactionDto {
     private String transactionId;
     private LocalDateTime transactedAt;
 
+    private String linkedTransactionId;
+
     public static TransactionDto fromEntity(Transaction transaction) {
         return TransactionDto.builder()
                 .accountNumber(transaction.getAccount().getAccountNumber())
@@ -34,6 +36,7 @@ public class TransactionDto {
                 .balanceSnapshot(transaction.getBalanceSnapshot())
                 .transactionId(transaction.getTransactionId())
                 .transactedAt(transaction.getTransactedAt())
+                .linkedTransactionId(transaction.getLinkedTransactionId())
                 .build();
     }
 }
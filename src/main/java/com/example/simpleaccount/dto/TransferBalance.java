@@ -0,0 +1,73 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.aop.AccountLockIdInterface;
+import com.example.simpleaccount.aop.RateLimitUserIdInterface;
+import com.example.simpleaccount.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TransferBalance {
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    public static class Request implements AccountLockIdInterface,
+            RateLimitUserIdInterface {
+        @NotNull
+        @Min(1)
+        private Long userId;
+
+        // 출금 계좌
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String accountNumber;
+
+        // 입금 계좌
+        @NotBlank
+        @Size(min = 10, max = 10)
+        private String targetAccountNumber;
+
+        @NotNull
+        @Min(10)
+        @Max(1000_000_000)
+        private Long amount;
+
+        @Override
+        @JsonIgnore
+        public List<String> getLockAccountNumbers() {
+            return List.of(accountNumber, targetAccountNumber);
+        }
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private String accountNumber;
+        private String targetAccountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private String targetTransactionId;
+        private Long amount;
+        private LocalDateTime transactedAt;
+
+        public static Response from(TransactionDto transactionDto,
+                                    String targetAccountNumber) {
+            return Response.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .targetAccountNumber(targetAccountNumber)
+                    .transactionResult(transactionDto.getTransactionResult())
+                    .transactionId(transactionDto.getTransactionId())
+                    .targetTransactionId(transactionDto.getLinkedTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .build();
+        }
+    }
+}
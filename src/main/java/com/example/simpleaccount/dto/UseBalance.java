@@ -1,6 +1,7 @@
 package com.example.simpleaccount.dto;
 
 import com.example.simpleaccount.aop.AccountLockIdInterface;
+import com.example.simpleaccount.aop.RateLimitUserIdInterface;
 import com.example.simpleaccount.type.TransactionResultType;
 import jakarta.validation.constraints.*;
 import lombok.*;
@@ -12,7 +13,8 @@ public class UseBalance {
     @Getter
     @Setter
     @AllArgsConstructor
-    public static class Request implements AccountLockIdInterface {
+    public static class Request implements AccountLockIdInterface,
+            RateLimitUserIdInterface {
         @NotNull
         @Min(1)
         private Long userId;
@@ -0,0 +1,81 @@
+package com.example.simpleaccount.dto;
+
+import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.TransactionResultType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.simpleaccount.type.TransactionResultType.F;
+
+public class UseBalanceBatch {
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Request {
+        @NotNull
+        @Size(min = 1, max = 10000)
+        private List<UseBalance.@Valid @NotNull Request> items;
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Response {
+        // 요청 항목과 같은 순서
+        private List<Result> results;
+    }
+
+    /**
+     * 항목별 결과 (실패하면 거래 아이디 없이 오류 코드)
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+        private String accountNumber;
+        private TransactionResultType transactionResult;
+        private String transactionId;
+        private Long amount;
+        private Long balanceSnapshot;
+        private LocalDateTime transactedAt;
+        private ErrorCode errorCode;
+        private String errorMessage;
+
+        public static Result success(TransactionDto transactionDto) {
+            return Result.builder()
+                    .accountNumber(transactionDto.getAccountNumber())
+                    .transactionResult(transactionDto.getTransactionResult())
+                    .transactionId(transactionDto.getTransactionId())
+                    .amount(transactionDto.getAmount())
+                    .balanceSnapshot(transactionDto.getBalanceSnapshot())
+                    .transactedAt(transactionDto.getTransactedAt())
+                    .build();
+        }
+
+        public static Result failure(UseBalance.Request request, ErrorCode errorCode) {
+            return Result.builder()
+                    .accountNumber(request.getAccountNumber())
+                    .transactionResult(F)
+                    .amount(request.getAmount())
+                    .errorCode(errorCode)
+                    .errorMessage(errorCode.getDescription())
+                    .build();
+        }
+
+        @JsonIgnore
+        public boolean isFailed() {
+            return errorCode != null;
+        }
+    }
+}
@@ -1,24 +1,31 @@
 package com.example.simpleaccount.exception;
 
 import com.example.simpleaccount.dto.ErrorResponse;
+import com.example.simpleaccount.service.AccountMetrics;
 import com.example.simpleaccount.type.ErrorCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
 import static com.example.simpleaccount.type.ErrorCode.INTERVAL_SERVER_ERROR;
 import static com.example.simpleaccount.type.ErrorCode.INVALID_REQUEST;
 
 @Slf4j
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
+    private final AccountMetrics accountMetrics;
 
     @ExceptionHandler(AccountException.class)
     public ErrorResponse handleAccountException(AccountException e) {
         log.error("{} is occurred.", e.getErrorCode());
+        accountMetrics.recordRejection(e.getErrorCode());
 
         return new ErrorResponse(e.getErrorCode(), e.getErrorMessage());
     }
@@ -26,6 +33,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ErrorResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
         log.error("MethodArgumentNotValidException is occurred.", e);
+        accountMetrics.recordRejection(INVALID_REQUEST);
 
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
@@ -33,14 +41,24 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ErrorResponse handleDataIntegrityViolationException(DataIntegrityViolationException e) {
         log.error("DataIntegrityViolationException is occurred.", e);
+        accountMetrics.recordRejection(INVALID_REQUEST);
 
         return new ErrorResponse(INVALID_REQUEST, INVALID_REQUEST.getDescription());
     }
 
+    // 다른 노드가 먼저 저장한 계좌 (Account @Version)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ErrorResponse handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        log.error("OptimisticLockingFailureException is occurred.", e);
+        accountMetrics.recordRejection(ACCOUNT_TRANSACTION_LOCK);
+
+        return new ErrorResponse(ACCOUNT_TRANSACTION_LOCK, ACCOUNT_TRANSACTION_LOCK.getDescription());
+    }
 
     @ExceptionHandler(Exception.class)
     public ErrorResponse handleException(Exception e) {
         log.error("Exception is occurred.", e);
+        accountMetrics.recordRejection(INTERVAL_SERVER_ERROR);
 
         return new ErrorResponse(INTERVAL_SERVER_ERROR,
                 INTERVAL_SERVER_ERROR.getDescription());
@@ -2,9 +2,14 @@ package com.example.simpleaccount.repository;
 
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.AccountUser;
+import com.example.simpleaccount.type.AccountStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +17,24 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     boolean existsByAccountNumber(String accountNumber);
 
-    Integer countByAccountUser(AccountUser accountUser);
+    @Query("select a.accountNumber from Account a where a.accountNumber in :accountNumbers")
+    List<String> findAccountNumbersIn(@Param("accountNumbers") Collection<String> accountNumbers);
 
     Optional<Account> findByAccountNumber(String accountNumber);
 
     List<Account> findByAccountUser(AccountUser accountUser);
+
+    List<Account> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    @Query("select a from Account a join fetch a.accountUser where a.accountNumber in :accountNumbers")
+    List<Account> findWithUserByAccountNumberIn(
+            @Param("accountNumbers") Collection<String> accountNumbers);
+
+    // 사용자 아이디별 계좌 수 : [userId, count]
+    @Query("select a.accountUser.id, count(a) from Account a " +
+            "where a.accountStatus = :status group by a.accountUser.id")
+    List<Object[]> countByStatusGroupByUser(@Param("status") AccountStatus status);
+
+    @Query("select a.id from Account a where a.id > :id order by a.id")
+    List<Long> findIdsAfter(@Param("id") Long id, Pageable pageable);
 }
@@ -2,8 +2,33 @@ package com.example.simpleaccount.repository;
 
 import com.example.simpleaccount.domain.AccountUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface AccountUserRepository extends JpaRepository<AccountUser, Long> {
+    // 늘린 뒤에도 최대 계좌 수 이하일 때만 update (update 된 행 수 반환)
+    @Transactional
+    @Modifying
+    @Query("update AccountUser u set u.openAccountCount = u.openAccountCount + :count " +
+            "where u.id = :id and u.openAccountCount + :count <= :max")
+    int incrementOpenAccountCount(@Param("id") Long id,
+                                  @Param("count") int count,
+                                  @Param("max") int max);
+
+    @Transactional
+    @Modifying
+    @Query("update AccountUser u set u.openAccountCount = u.openAccountCount - :count " +
+            "where u.id = :id and u.openAccountCount >= :count")
+    int decrementOpenAccountCount(@Param("id") Long id, @Param("count") int count);
+
+    // 센 계좌 수보다 작을 때만 올림 (openAccountCount 추가 전에 만든 사용자 보정)
+    @Transactional
+    @Modifying
+    @Query("update AccountUser u set u.openAccountCount = :count " +
+            "where u.id = :id and u.openAccountCount < :count")
+    int raiseOpenAccountCount(@Param("id") Long id, @Param("count") int count);
 }
@@ -0,0 +1,12 @@
+package com.example.simpleaccount.repository;
+
+import com.example.simpleaccount.domain.OutboxOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface OutboxOffsetRepository extends JpaRepository<OutboxOffset, Long> {
+    Optional<OutboxOffset> findByConsumer(String consumer);
+}
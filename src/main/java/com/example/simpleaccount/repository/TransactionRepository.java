@@ -1,9 +1,15 @@
 package com.example.simpleaccount.repository;
 
+import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.Transaction;
+import com.example.simpleaccount.type.TransactionResultType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,16 @@ public interface TransactionRepository extends
         JpaRepository<Transaction, Long> {
 
     Optional<Transaction> findByTransactionId(String transactionId);
+
+    List<Transaction> findByTransactionIdIn(Collection<String> transactionIds);
+
+    // 계좌, 사용자를 함께 조회 (거래마다 계좌 조회 쿼리가 추가로 나가지 않도록)
+    @Query("select t from Transaction t join fetch t.account a join fetch a.accountUser " +
+            "where t.transactionId in :transactionIds")
+    List<Transaction> findWithAccountByTransactionIdIn(
+            @Param("transactionIds") Collection<String> transactionIds);
+
+    // 아이디는 시퀀스 블록 할당 순서라 거래 순서와 다를 수 있으므로 거래 일시 순
+    List<Transaction> findByAccountInAndTransactionResultOrderByTransactedAtAscIdAsc(
+            Collection<Account> accounts, TransactionResultType transactionResult);
 }
@@ -0,0 +1,62 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+
+/**
+ * 계좌 한 개의 Lock 취득 (LockAopAspect, TransactionBatchService 공통)
+ * 1. 대기열 입장 (초과 시 Lock 대기 없이 거절)
+ * 2. Lock 취득 (남은 요청 기한 안에서만 대기, 클러스터 모드에서는 JVM 안의 Lock)
+ * 3. 시도, 대기 시간, Lock 실패를 경합 계좌 집계에 기록
+ */
+@Component
+@RequiredArgsConstructor
+public class AccountLocker {
+    private final LockService lockService;
+    private final LockBulkhead lockBulkhead;
+    private final ContentionTracker contentionTracker;
+
+    // 실패하면 대기열에서 나간 뒤 예외, 성공하면 Lock 해제 + 대기열 퇴장을 반환
+    public Runnable lock(String accountNumber, boolean local) {
+        long attemptStart = System.nanoTime();
+        try {
+            lockBulkhead.enter(accountNumber);
+            try {
+                if (local) {
+                    lockService.lockLocal(accountNumber, getLockWaitMillis());
+                } else {
+                    lockService.lock(accountNumber, getLockWaitMillis());
+                }
+            } catch (RuntimeException e) {
+                lockBulkhead.exit(accountNumber);
+                throw e;
+            }
+        } catch (AccountException e) {
+            if (e.getErrorCode() == ACCOUNT_TRANSACTION_LOCK) {
+                contentionTracker.record(accountNumber, System.nanoTime() - attemptStart, true);
+            }
+            throw e;
+        }
+        contentionTracker.record(accountNumber, System.nanoTime() - attemptStart, false);
+
+        return () -> {
+            try {
+                if (local) {
+                    lockService.unlockLocal(accountNumber);
+                } else {
+                    lockService.unlock(accountNumber);
+                }
+            } finally {
+                lockBulkhead.exit(accountNumber);
+            }
+        };
+    }
+
+    private static long getLockWaitMillis() {
+        return Math.max(0, Math.min(LockService.DEFAULT_WAIT_MILLIS,
+                RequestDeadline.remainingMillis()));
+    }
+}
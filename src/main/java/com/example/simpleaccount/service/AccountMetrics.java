@@ -0,0 +1,154 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.ContendedAccount;
+import com.example.simpleaccount.type.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Micrometer 지표 (/actuator/prometheus 로 수집)
+ * 1. account.lock.acquire : 계좌 Lock 취득 시간 (결과별, 계좌 번호 태그 없음)
+ * 2. account.rejections : 오류 코드별 거절 응답 수
+ * 3. account.transactions : 거래 처리 시간 (거래 종류, 결과별, 커밋 포함)
+ * 4. account.cache.* : near cache hit/miss, 크기, 전체 비우기 수
+ * 5. account.phase : 요청 처리 구간별 시간 (account.timing.enabled)
+ * 6. account.contention.* : Lock 경합 상위 계좌의 시도, 대기, 실패 수 (상위 계좌만 계좌 번호 태그)
+ * 커넥션 풀 지표(hikaricp.*)는 풀마다 등록
+ * 요청 처리 중에는 미리 만든 지표만 사용 (조회, 태그 생성 없음)
+ */
+@Component
+public class AccountMetrics {
+    private final MeterRegistry meterRegistry;
+    private final Map<LockOutcome, Timer> lockTimers = new EnumMap<>(LockOutcome.class);
+    private final Map<ErrorCode, Counter> rejections = new EnumMap<>(ErrorCode.class);
+    private final Map<TransactionType, Map<TransactionResultType, Timer>> transactionTimers =
+            new EnumMap<>(TransactionType.class);
+    private final Map<CacheType, Counter> cacheHits = new EnumMap<>(CacheType.class);
+    private final Map<CacheType, Counter> cacheMisses = new EnumMap<>(CacheType.class);
+    private final Counter cacheFlushes;
+    private final MultiGauge contendedAttempts;
+    private final MultiGauge contendedWaits;
+    private final MultiGauge contendedFailures;
+
+    public AccountMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        for (LockOutcome outcome : LockOutcome.values()) {
+            lockTimers.put(outcome, Timer.builder("account.lock.acquire")
+                    .description("Account lock acquire latency")
+                    .tag("outcome", outcome.name())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            rejections.put(errorCode, Counter.builder("account.rejections")
+                    .description("Requests rejected with an error code")
+                    .tag("error_code", errorCode.name())
+                    .register(meterRegistry));
+        }
+
+        for (TransactionType type : TransactionType.values()) {
+            Map<TransactionResultType, Timer> timers = new EnumMap<>(TransactionResultType.class);
+            for (TransactionResultType result : TransactionResultType.values()) {
+                timers.put(result, Timer.builder("account.transactions")
+                        .description("Transaction latency including commit")
+                        .tag("type", type.name())
+                        .tag("result", result.name())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            transactionTimers.put(type, timers);
+        }
+
+        for (CacheType type : CacheType.values()) {
+            cacheHits.put(type, Counter.builder("account.cache.lookups")
+                    .tag("cache", type.name())
+                    .tag("result", "hit")
+                    .register(meterRegistry));
+            cacheMisses.put(type, Counter.builder("account.cache.lookups")
+                    .tag("cache", type.name())
+                    .tag("result", "miss")
+                    .register(meterRegistry));
+        }
+        cacheFlushes = Counter.builder("account.cache.flushes")
+                .description("Near cache full flushes (missed invalidations)")
+                .register(meterRegistry);
+
+        for (TimingPhase phase : TimingPhase.values()) {
+            PhaseHistogram histogram = PhaseTimer.histogram(phase);
+            FunctionTimer.builder("account.phase", histogram,
+                            PhaseHistogram::getCount, PhaseHistogram::getTotalNanos,
+                            TimeUnit.NANOSECONDS)
+                    .tag("phase", phase.getMetricName())
+                    .register(meterRegistry);
+        }
+
+        contendedAttempts = MultiGauge.builder("account.contention.attempts")
+                .description("Lock attempts of the most contended accounts (decayed)")
+                .register(meterRegistry);
+        contendedWaits = MultiGauge.builder("account.contention.waits")
+                .description("Slow lock acquires of the most contended accounts (decayed)")
+                .register(meterRegistry);
+        contendedFailures = MultiGauge.builder("account.contention.failures")
+                .description("Lock failures of the most contended accounts (decayed)")
+                .register(meterRegistry);
+    }
+
+    public void recordLockAcquire(LockOutcome outcome, long nanos) {
+        lockTimers.get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRejection(ErrorCode errorCode) {
+        rejections.get(errorCode).increment();
+    }
+
+    public void recordTransaction(TransactionType type, TransactionResultType result, long nanos) {
+        transactionTimers.get(type).get(result).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCacheLookup(CacheType type, boolean hit) {
+        (hit ? cacheHits : cacheMisses).get(type).increment();
+    }
+
+    public void recordCacheFlush() {
+        cacheFlushes.increment();
+    }
+
+    public void gaugeCacheSize(CacheType type, Supplier<Number> size) {
+        Gauge.builder("account.cache.size", size)
+                .tag("cache", type.name())
+                .register(meterRegistry);
+    }
+
+    // 이전 상위 계좌 중 빠진 계좌의 지표는 지움
+    public void updateContendedAccounts(List<ContendedAccount> accounts) {
+        contendedAttempts.register(rows(accounts, ContendedAccount::getAttempts), true);
+        contendedWaits.register(rows(accounts, ContendedAccount::getWaits), true);
+        contendedFailures.register(rows(accounts, ContendedAccount::getLockFailures), true);
+    }
+
+    private static List<MultiGauge.Row<?>> rows(List<ContendedAccount> accounts,
+                                                ToLongFunction<ContendedAccount> value) {
+        List<MultiGauge.Row<?>> rows = new ArrayList<>(accounts.size());
+        for (ContendedAccount account : accounts) {
+            rows.add(MultiGauge.Row.of(Tags.of("account", account.getAccountNumber()),
+                    value.applyAsLong(account)));
+        }
+        return rows;
+    }
+}
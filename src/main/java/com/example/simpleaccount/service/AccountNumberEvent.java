@@ -0,0 +1,40 @@
+package com.example.simpleaccount.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR : 계좌 번호 생성 (기본 5ms 이상만 기록)
+ * 생성 횟수와 이미 있는 번호와 겹친 횟수를 남김
+ */
+@Name("com.example.simpleaccount.AccountNumber")
+@Label("Account Number Generation")
+@Category({"SimpleAccount", "Account"})
+@Description("중복되지 않는 계좌 번호를 만들기까지 걸린 시간")
+@Threshold("5 ms")
+@StackTrace(false)
+final class AccountNumberEvent extends Event {
+    @Label("Shard")
+    int shard;
+
+    @Label("Attempts")
+    int attempts;
+
+    @Label("Collisions")
+    int collisions;
+
+    void finish(int shard, int attempts, int collisions) {
+        end();
+        if (shouldCommit()) {
+            this.shard = shard;
+            this.attempts = attempts;
+            this.collisions = collisions;
+            commit();
+        }
+    }
+}
@@ -1,43 +1,66 @@
 package com.example.simpleaccount.service;
 
+import com.example.simpleaccount.aop.ShardKey;
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.AccountUser;
 import com.example.simpleaccount.dto.AccountDto;
+import com.example.simpleaccount.dto.CreateAccount;
+import com.example.simpleaccount.dto.CreateAccountBatch;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.repository.AccountRepository;
 import com.example.simpleaccount.repository.AccountUserRepository;
 import com.example.simpleaccount.type.ErrorCode;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Objects;
-import java.util.Random;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
 import static com.example.simpleaccount.type.AccountStatus.CLOSED;
+import static com.example.simpleaccount.type.CacheType.USER_ACCOUNTS;
 import static com.example.simpleaccount.type.ErrorCode.*;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccountService {
+    // 한 번에 저장하는 계좌 수 (shard 별 트랜잭션 하나, 중복 확인 IN 쿼리 하나)
+    private static final int BULK_CHUNK_SIZE = 1000;
+    private static final int MAX_ACCOUNT_PER_USER = 10;
+    // 사용자는 모든 shard 에 있지만 계좌 수는 0 번 shard 의 사용자에만 기록
+    private static final int USER_SHARD = 0;
+
     private final AccountRepository accountRepository;
     private final AccountUserRepository accountUserRepository;
+    private final BalanceChangePublisher balanceChangePublisher;
+    private final BalanceEngine balanceEngine;
+    private final HotBalanceService hotBalanceService;
+    private final ReadYourWritesRouter readYourWritesRouter;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     /**
      * 사용자가 있는지 조회
      * 계좌 번호 랜덤 생성 (10자리)
      * 계좌 저장
+     * 계좌 번호로 shard 가 정해지므로 첫 쿼리 전에 shard 를 고르고, 그 shard 에 속한 번호로 생성
+     * 계좌 수는 조건부 update 한 번으로 늘려서 동시에 생성해도 10개를 넘지 않음
      */
     @Transactional
     public AccountDto createAccount(Long userId, Long initialBalance) {
+        ShardContext.bindToTransaction(shardRouter.randomShard());
+
         AccountUser accountUser = getAccountUser(userId);
 
         // 계좌 10개인지 확인
-        validateCreateAccount(accountUser);
+        if (!reserveOpenAccounts(accountUser.getId(), 1)) {
+            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
+        }
 
         String accountNumber = uniqueAccountNumber();
 
@@ -51,12 +74,203 @@ public class AccountService {
                         .build()
         );
 
+        balanceChangePublisher.publish(account);
+        readYourWritesRouter.markWritten(ReadYourWritesRouter.userKey(userId));
+        cacheInvalidationBus.invalidate(USER_ACCOUNTS, String.valueOf(userId));
+
         return AccountDto.fromEntity(account);
     }
 
-    private void validateCreateAccount(AccountUser accountUser) throws AccountException {
-        if (accountRepository.countByAccountUser(accountUser) >= 10) {
-            throw new AccountException(MAX_ACCOUNT_PER_USER_10);
+    /**
+     * 계좌 일괄 생성 (마이그레이션용)
+     * 1. 사용자를 한 번에 조회하고, 사용자마다 요청한 계좌 수만큼 계좌 수를 조건부 update 로 늘림
+     * 2. 요청 순서대로 늘린 수만큼 생성하고 나머지는 사용자 최대 계좌 10개 실패
+     * 3. 계좌 번호는 블록 단위로 미리 생성하고 shard 마다 IN 쿼리 한 번으로 중복 확인
+     * 4. shard 별 트랜잭션에서 saveAll (JDBC batch insert)
+     * 항목별 결과를 요청 순서대로 반환하고, 한 블록이 실패해도 다른 블록은 계속 처리
+     */
+    public List<CreateAccountBatch.Result> createAccounts(List<CreateAccount.Request> requests) {
+        Set<Long> userIds = requests.stream()
+                .map(CreateAccount.Request::getUserId)
+                .collect(Collectors.toSet());
+        Map<Long, AccountUser> accountUsers = accountUserRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+        Map<Long, Integer> requestedCounts = new HashMap<>();
+        requests.forEach(request -> requestedCounts.merge(request.getUserId(), 1, Integer::sum));
+        Map<Long, Integer> reservedCounts = new HashMap<>();
+        accountUsers.values().forEach(accountUser -> reservedCounts.put(accountUser.getId(),
+                reserveOpenAccountsUpTo(accountUser, requestedCounts.get(accountUser.getId()))));
+
+        CreateAccountBatch.Result[] results = new CreateAccountBatch.Result[requests.size()];
+        List<PendingAccount> pendingAccounts = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateAccount.Request request = requests.get(i);
+            Long userId = request.getUserId();
+
+            AccountUser accountUser = accountUsers.get(userId);
+            if (accountUser == null) {
+                results[i] = CreateAccountBatch.Result.failure(userId, USER_NOT_FOUND);
+                continue;
+            }
+            int reservedCount = reservedCounts.get(userId);
+            if (reservedCount == 0) {
+                results[i] = CreateAccountBatch.Result.failure(userId, MAX_ACCOUNT_PER_USER_10);
+                continue;
+            }
+            reservedCounts.put(userId, reservedCount - 1);
+            pendingAccounts.add(new PendingAccount(i, accountUser, request.getInitialBalance()));
+        }
+
+        // 이번 요청에서 이미 쓴 번호 (블록끼리 겹치지 않도록)
+        Set<String> allocated = new HashSet<>();
+        for (int from = 0; from < pendingAccounts.size(); from += BULK_CHUNK_SIZE) {
+            List<PendingAccount> chunk = pendingAccounts.subList(from,
+                    Math.min(from + BULK_CHUNK_SIZE, pendingAccounts.size()));
+            chunk.forEach(pending -> pending.accountNumber = allocateAccountNumber(allocated));
+
+            Map<Integer, List<PendingAccount>> chunkByShard = chunk.stream()
+                    .collect(Collectors.groupingBy(
+                            pending -> shardRouter.shardOf(pending.accountNumber),
+                            TreeMap::new, Collectors.toList()));
+            chunkByShard.values().forEach(shardChunk ->
+                    saveAccountsOnShard(shardChunk, allocated, results));
+        }
+
+        Arrays.stream(results)
+                .filter(result -> !result.isFailed())
+                .map(CreateAccountBatch.Result::getUserId)
+                .distinct()
+                .forEach(userId -> {
+                    readYourWritesRouter.markWritten(ReadYourWritesRouter.userKey(userId));
+                    cacheInvalidationBus.invalidate(USER_ACCOUNTS, String.valueOf(userId));
+                });
+
+        return Arrays.asList(results);
+    }
+
+    // 요청한 수까지 늘릴 수 있는 만큼 늘림 (동시에 늘어난 경우 하나씩 줄여서 다시 시도)
+    private int reserveOpenAccountsUpTo(AccountUser accountUser, int requestedCount) {
+        int count = Math.min(requestedCount,
+                MAX_ACCOUNT_PER_USER - accountUser.getOpenAccountCount());
+        while (count > 0 && !reserveOpenAccounts(accountUser.getId(), count)) {
+            count--;
+        }
+        return Math.max(count, 0);
+    }
+
+    // 한 shard 의 블록을 한 트랜잭션에서 저장, 실패하면 블록 전체를 실패로 기록하고 늘린 계좌 수를 되돌림
+    private void saveAccountsOnShard(List<PendingAccount> shardChunk, Set<String> allocated,
+                                     CreateAccountBatch.Result[] results) {
+        try {
+            shardRouter.inTransactionPerShard(shardChunk, pending -> pending.accountNumber,
+                    pendingAccounts -> insertAccounts(pendingAccounts, allocated));
+            shardChunk.forEach(pending -> results[pending.index] =
+                    CreateAccountBatch.Result.success(AccountDto.fromEntity(pending.account)));
+        } catch (RuntimeException e) {
+            log.error("Failed to create accounts in bulk.", e);
+            shardChunk.forEach(pending -> results[pending.index] =
+                    CreateAccountBatch.Result.failure(pending.accountUser.getId(),
+                            INTERVAL_SERVER_ERROR));
+            shardChunk.stream()
+                    .collect(Collectors.groupingBy(pending -> pending.accountUser.getId(),
+                            Collectors.summingInt(pending -> 1)))
+                    .forEach(this::releaseOpenAccounts);
+        }
+    }
+
+    // 이미 있는 번호만 같은 shard 의 새 번호로 바꿔서 다시 확인한 뒤 saveAll
+    private void insertAccounts(List<PendingAccount> pendingAccounts, Set<String> allocated) {
+        int shard = shardRouter.currentShard();
+        List<PendingAccount> unchecked = pendingAccounts;
+        while (!unchecked.isEmpty()) {
+            Set<String> existing = new HashSet<>(accountRepository.findAccountNumbersIn(
+                    unchecked.stream().map(pending -> pending.accountNumber).toList()));
+            unchecked = unchecked.stream()
+                    .filter(pending -> existing.contains(pending.accountNumber))
+                    .toList();
+            unchecked.forEach(pending ->
+                    pending.accountNumber = allocateAccountNumber(shard, allocated));
+        }
+
+        LocalDateTime registeredAt = LocalDateTime.now();
+        List<Account> accounts = pendingAccounts.stream()
+                .map(pending -> pending.account = Account.builder()
+                        .accountUser(pending.accountUser)
+                        .accountStatus(ACTIVE)
+                        .accountNumber(pending.accountNumber)
+                        .balance(pending.initialBalance)
+                        .registeredAt(registeredAt)
+                        .build())
+                .toList();
+        accountRepository.saveAll(accounts);
+
+        accounts.forEach(balanceChangePublisher::publish);
+    }
+
+    // 이번 요청에서 쓰지 않은 번호 (shard 는 번호로 정해짐)
+    private String allocateAccountNumber(Set<String> allocated) {
+        String accountNumber = randomAccountNumber();
+        while (!allocated.add(accountNumber)) {
+            accountNumber = randomAccountNumber();
+        }
+        return accountNumber;
+    }
+
+    // 이번 요청에서 쓰지 않은 번호 중 해당 shard 에 속하는 번호
+    private String allocateAccountNumber(int shard, Set<String> allocated) {
+        String accountNumber = randomAccountNumber();
+        while (shardRouter.shardOf(accountNumber) != shard || !allocated.add(accountNumber)) {
+            accountNumber = randomAccountNumber();
+        }
+        return accountNumber;
+    }
+
+    // 일괄 생성 중인 계좌 (요청 순서, 배정된 번호, 저장된 계좌)
+    private static final class PendingAccount {
+        private final int index;
+        private final AccountUser accountUser;
+        private final Long initialBalance;
+        private String accountNumber;
+        private Account account;
+
+        private PendingAccount(int index, AccountUser accountUser, Long initialBalance) {
+            this.index = index;
+            this.accountUser = accountUser;
+            this.initialBalance = initialBalance;
+        }
+    }
+
+    /**
+     * 사용자의 계좌 수를 늘린 뒤에도 10개 이하일 때만 update (0 건 update 면 실패)
+     * 계좌를 0 번 shard 에 만들면 계좌 저장과 같은 트랜잭션,
+     * 다른 shard 면 0 번 shard 의 새 트랜잭션에서 늘리고 계좌 저장이 롤백되면 되돌림
+     */
+    private boolean reserveOpenAccounts(Long userId, int count) {
+        if (shardRouter.currentShard() == USER_SHARD) {
+            return accountUserRepository.incrementOpenAccountCount(
+                    userId, count, MAX_ACCOUNT_PER_USER) > 0;
+        }
+
+        int updated = shardRouter.inNewTransaction(USER_SHARD, () ->
+                accountUserRepository.incrementOpenAccountCount(
+                        userId, count, MAX_ACCOUNT_PER_USER));
+        if (updated == 0) {
+            return false;
+        }
+        TransactionCallbacks.afterRollback(() -> releaseOpenAccounts(userId, count));
+        return true;
+    }
+
+    /**
+     * 늘린 계좌 수를 0 번 shard 의 새 트랜잭션에서 되돌림 (커밋/롤백 이후에도 호출되므로 항상 새 트랜잭션)
+     * 되돌리지 못하면 실제보다 많게 남음 (생성이 막히는 쪽이므로 로그만 남김)
+     */
+    private void releaseOpenAccounts(Long userId, int count) {
+        try {
+            shardRouter.inNewTransaction(USER_SHARD, () ->
+                    accountUserRepository.decrementOpenAccountCount(userId, count));
+        } catch (RuntimeException e) {
+            log.error("Failed to release open account count. userId : {}", userId, e);
         }
     }
 
@@ -72,28 +286,65 @@ public class AccountService {
         return accountNumber.toString();
     }
 
-    // 중복 체크 및 재시도
+    // 중복 체크 및 재시도 (현재 shard 에 속하는 번호만 사용, 생성/중복 횟수는 JFR 이벤트로 남김)
     public String uniqueAccountNumber() {
+        AccountNumberEvent event = new AccountNumberEvent();
+        event.begin();
+        int shard = shardRouter.currentShard();
         String accountNumber = randomAccountNumber();
-        // 중복되면 다시 생성
-        while (accountRepository.existsByAccountNumber(accountNumber)) {
+        int attempts = 1;
+        int collisions = 0;
+        // 다른 shard 의 번호이거나 중복되면 다시 생성
+        while (true) {
+            if (shardRouter.shardOf(accountNumber) == shard) {
+                if (!accountRepository.existsByAccountNumber(accountNumber)) {
+                    break;
+                }
+                collisions++;
+            }
             accountNumber = randomAccountNumber();
+            attempts++;
         }
+        event.finish(shard, attempts, collisions);
 
         return accountNumber;
     }
 
 
-    @Transactional
+    /**
+     * 여러 계좌를 한 번에 조회 (없는 계좌 번호는 결과에 없음)
+     * shard 별로 IN 쿼리로 조회
+     */
+    public Map<String, AccountDto> queryAccounts(Collection<String> accountNumbers) {
+        Map<String, AccountDto> accountDtos = new HashMap<>();
+        new LinkedHashSet<>(accountNumbers).stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf,
+                        TreeMap::new, Collectors.toList()))
+                .forEach((shard, shardAccountNumbers) -> accountDtos.putAll(
+                        ShardContext.call(shard, () -> readYourWritesRouter.readAll(
+                                shardAccountNumbers, ReadYourWritesRouter::accountKey,
+                                numbers -> accountRepository
+                                        .findWithUserByAccountNumberIn(numbers).stream()
+                                        .collect(Collectors.toMap(
+                                                Account::getAccountNumber,
+                                                AccountDto::fromEntity))))));
+        return accountDtos;
+    }
+
+    // 아이디는 shard 마다 따로 발급되어 겹치므로 shard 가 여러 개면 아이디로 조회하지 않음
     public Account getAccount(Long id) {
         if (id < 0) {
             throw new RuntimeException("Minus");
         }
-        return accountRepository.findById(id).get();
+        if (shardRouter.getShardCount() > 1) {
+            throw new AccountException(ACCOUNT_ID_LOOKUP_UNAVAILABLE);
+        }
+        return accountRepository.findById(id)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
     }
 
     @Transactional
-    public AccountDto deleteAccount(Long userId, String accountNumber) {
+    public AccountDto deleteAccount(Long userId, @ShardKey String accountNumber) {
         AccountUser accountUser = getAccountUser(userId);
 
         Account account = accountRepository.findByAccountNumber(accountNumber)
@@ -101,12 +352,31 @@ public class AccountService {
 
         validateDeleteAccount(accountUser, account);
 
+        // 잔액 엔진, hot account 는 DB 잔액이 늦게 반영되므로 엔진/Redis 에서 잔액 확인 후 해지
+        if (balanceEngine.isEnabled()) {
+            balanceEngine.closeAccount(userId, accountNumber);
+        } else if (hotBalanceService.isHot(accountNumber)) {
+            hotBalanceService.closeAccount(userId, accountNumber);
+        }
+
         account.setAccountStatus(CLOSED);
         account.setUnRegisteredAt(LocalDateTime.now());
 
+        // 계좌 수 감소 (0 번 shard 의 계좌면 같은 트랜잭션, 아니면 해지가 커밋된 뒤)
+        if (shardRouter.currentShard() == USER_SHARD) {
+            accountUserRepository.decrementOpenAccountCount(userId, 1);
+        } else {
+            TransactionCallbacks.afterCommit(() -> releaseOpenAccounts(userId, 1));
+        }
+
         // 테스트용
         accountRepository.save(account);
 
+        balanceChangePublisher.publish(account);
+        readYourWritesRouter.markWritten(ReadYourWritesRouter.userKey(userId));
+        readYourWritesRouter.markWritten(ReadYourWritesRouter.accountKey(accountNumber));
+        cacheInvalidationBus.invalidate(USER_ACCOUNTS, String.valueOf(userId));
+
         return AccountDto.fromEntity(account);
     }
 
@@ -123,20 +393,41 @@ public class AccountService {
         if (account.getAccountStatus() == CLOSED) {
             throw new AccountException(ACCOUNT_ALREADY_CLOSED);
         }
-        if (account.getBalance() > 0) {
+        if (!balanceEngine.isEnabled() && !hotBalanceService.isHot(account.getAccountNumber())
+                && account.getBalance() > 0) {
             throw new AccountException(ACCOUNT_BALANCE_NOT_EMPTY);
         }
     }
 
-    @Transactional
+    /**
+     * 모든 shard 에서 병렬로 조회해서 합침 (shard 별 읽기 전용 트랜잭션)
+     * 방금 계좌를 만들거나 거래한 사용자는 primary 에서 조회
+     * 조회 결과는 near cache 에 저장 (계좌 생성, 해지, 잔액 변경 커밋 시 무효화)
+     */
     public List<AccountDto> getAccountsByUserId(Long userId) {
-        AccountUser accountUser = getAccountUser(userId);
+        String cacheKey = String.valueOf(userId);
+        List<AccountDto> cached = cacheInvalidationBus.get(USER_ACCOUNTS, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        List<AccountDto> accountDtos = shardRouter.fanOut(shard -> {
+                    readYourWritesRouter.usePrimaryIfRecentlyWritten(
+                            ReadYourWritesRouter.userKey(userId));
 
-        List<Account> accounts =
-                accountRepository.findByAccountUser(accountUser);
+                    AccountUser accountUser = getAccountUser(userId);
 
-        return accounts.stream()
-                .map(AccountDto::fromEntity)
+                    List<Account> accounts =
+                            accountRepository.findByAccountUser(accountUser);
+
+                    return accounts.stream()
+                            .map(AccountDto::fromEntity)
+                            .collect(Collectors.toList());
+                }).stream()
+                .flatMap(List::stream)
                 .collect(Collectors.toList());
+
+        cacheInvalidationBus.put(USER_ACCOUNTS, cacheKey, List.copyOf(accountDtos));
+        return accountDtos;
     }
 }
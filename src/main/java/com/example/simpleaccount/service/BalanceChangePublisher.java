@@ -0,0 +1,60 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.dto.BalanceChange;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 변경을 커밋 이후 구독자에게 전달
+ * redis-fan-out 이 켜져 있으면 Redis pub/sub 으로 모든 노드의 구독자에게 전달
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceChangePublisher {
+    private final BalanceSubscriptionService balanceSubscriptionService;
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${account.subscription.redis-fan-out:false}")
+    private boolean redisFanOut;
+
+    private RTopic topic;
+
+    @PostConstruct
+    public void init() {
+        if (!redisFanOut) {
+            return;
+        }
+
+        topic = redissonClient.getTopic("BALANCE_CHANGES", new JsonJacksonCodec(objectMapper));
+        topic.addListener(BalanceChange.class,
+                (channel, change) -> balanceSubscriptionService.dispatch(change));
+    }
+
+    public void publish(Account account) {
+        BalanceChange change = BalanceChange.from(account);
+        TransactionCallbacks.afterCommit(() -> send(change));
+    }
+
+    private void send(BalanceChange change) {
+        try {
+            if (topic != null) {
+                topic.publish(change);
+            } else {
+                balanceSubscriptionService.dispatch(change);
+            }
+        } catch (Exception e) {
+            // 커밋된 거래에는 영향 없음 (구독자는 다음 변경 또는 resync 로 복구)
+            log.error("Failed to publish balance change.", e);
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.dto.HotBalanceEvent;
+import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.repository.AccountRepository;
+import com.example.simpleaccount.type.TransactionType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static com.example.simpleaccount.type.AccountStatus.CLOSED;
+import static com.example.simpleaccount.type.ErrorCode.*;
+import static com.example.simpleaccount.type.TransactionResultType.S;
+import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.USE;
+
+/**
+ * 메모리 잔액 엔진
+ * 1. 계좌 번호(10자리)를 long 으로 바꿔 boxing 없는 테이블에 잔액과 소유자를 보관
+ * 2. 모든 변경은 저널에 먼저 기록하고, fsync 된 뒤에 응답
+ * 3. 세그먼트가 가득 차면 스냅샷을 남기고, 시작 시 스냅샷 + 이후 저널로 복구
+ * 4. 거래 내역의 DB 반영은 BalanceEngineProjector 가 저널을 읽어 비동기로 처리
+ * 노드 메모리에 잔액을 두므로 계좌를 한 노드에서만 처리하는 배포에서 사용
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BalanceEngine {
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int SNAPSHOT_MAGIC = 0x42414c31;
+
+    private final AccountRepository accountRepository;
+
+    private final Object lock = new Object();
+    private final LongLongMap balances = new LongLongMap(1024);
+    // 해지된 계좌는 음수 (-userId)
+    private final LongLongMap owners = new LongLongMap(1024);
+    private final JournalEntry entry = new JournalEntry();
+    // 아직 DB 에 반영되지 않은 사용 거래 (취소 검증용) : transactionId -> {account, amount, seq}
+    private final Map<String, long[]> unprojectedUses = new HashMap<>();
+
+    @Value("${account.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${account.engine.directory:./data/engine}")
+    private String directory;
+
+    @Value("${account.engine.segment-size-mb:64}")
+    private long segmentSizeMb;
+
+    private BalanceJournal journal;
+    private ExecutorService snapshotExecutor;
+    private volatile long snapshotSeq;
+    private volatile long projectedSeq;
+    private volatile boolean ready;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-engine-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long startedAt = System.currentTimeMillis();
+        synchronized (lock) {
+            snapshotSeq = loadSnapshot(path);
+            journal = BalanceJournal.open(path, segmentSizeMb * 1024 * 1024,
+                    snapshotSeq, this::replay);
+        }
+
+        log.info("Balance engine recovered {} accounts up to seq {} in {} ms.",
+                owners.size(), journal.lastSeq(), System.currentTimeMillis() - startedAt);
+        ready = true;
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        long accountKey = loadIfAbsent(accountNumber);
+        UUID transactionId = ShardContext.newTransactionUuid(accountNumber);
+        long now = System.currentTimeMillis();
+
+        long seq;
+        long balance;
+        synchronized (lock) {
+            long owner = owners.get(accountKey, 0L);
+            if (Math.abs(owner) != userId) {
+                throw new AccountException(USER_ACCOUNT_UN_MATCH);
+            }
+            if (owner < 0) {
+                throw new AccountException(ACCOUNT_ALREADY_CLOSED);
+            }
+            balance = balances.get(accountKey, 0L);
+            if (balance < amount) {
+                throw new AccountException(AMOUNT_EXCEED_BALANCE);
+            }
+
+            balance -= amount;
+            seq = append(JournalEntry.USE, accountKey, amount, balance, userId,
+                    transactionId, now);
+            balances.put(accountKey, balance);
+            unprojectedUses.put(toTransactionId(transactionId),
+                    new long[]{accountKey, amount, seq});
+        }
+
+        journal.awaitDurable(seq);
+        return toTransactionDto(USE, accountNumber, transactionId, amount, balance, now);
+    }
+
+    /**
+     * 사용 취소
+     * unprojectedUse 가 true 면 원거래가 아직 DB 에 없는 경우로, 엔진에서 원거래를 검증
+     */
+    public TransactionDto cancelBalance(String originalTransactionId, String accountNumber,
+                                        Long amount, boolean unprojectedUse) {
+        long accountKey = loadIfAbsent(accountNumber);
+        UUID transactionId = ShardContext.newTransactionUuid(accountNumber);
+        long now = System.currentTimeMillis();
+
+        long seq;
+        long balance;
+        synchronized (lock) {
+            if (unprojectedUse) {
+                long[] use = unprojectedUses.get(originalTransactionId);
+                if (use == null) {
+                    throw new AccountException(TRANSACTION_NOT_FOUND);
+                }
+                if (use[0] != accountKey) {
+                    throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
+                }
+                if (use[1] != amount) {
+                    throw new AccountException(CANCEL_MUST_FULLY);
+                }
+            }
+
+            balance = balances.get(accountKey, 0L) + amount;
+            seq = append(JournalEntry.CANCEL, accountKey, amount, balance,
+                    Math.abs(owners.get(accountKey, 0L)), transactionId, now);
+            balances.put(accountKey, balance);
+            // 같은 사용 거래를 두 번 취소하지 않도록 제거
+            if (unprojectedUse) {
+                unprojectedUses.remove(originalTransactionId);
+            }
+        }
+
+        journal.awaitDurable(seq);
+        return toTransactionDto(CANCEL, accountNumber, transactionId, amount, balance, now);
+    }
+
+    /**
+     * 계좌 해지 (잔액 확인과 해지를 원자적으로 처리)
+     * DB 해지 트랜잭션이 롤백되면 OPEN 레코드로 되돌림
+     */
+    public void closeAccount(Long userId, String accountNumber) {
+        long accountKey = loadIfAbsent(accountNumber);
+
+        long seq;
+        synchronized (lock) {
+            long owner = owners.get(accountKey, 0L);
+            if (Math.abs(owner) != userId) {
+                throw new AccountException(USER_ACCOUNT_UN_MATCH);
+            }
+            if (owner < 0) {
+                throw new AccountException(ACCOUNT_ALREADY_CLOSED);
+            }
+            if (balances.get(accountKey, 0L) > 0) {
+                throw new AccountException(ACCOUNT_BALANCE_NOT_EMPTY);
+            }
+
+            seq = append(JournalEntry.CLOSE, accountKey, 0L, 0L, userId, null, 0L);
+            owners.put(accountKey, -userId);
+        }
+        TransactionCallbacks.afterRollback(() -> reopenAccount(accountKey, userId));
+
+        journal.awaitDurable(seq);
+    }
+
+    private void reopenAccount(long accountKey, Long userId) {
+        try {
+            long seq;
+            synchronized (lock) {
+                if (owners.get(accountKey, 0L) != -userId) {
+                    return;
+                }
+                seq = append(JournalEntry.OPEN, accountKey, 0L,
+                        balances.get(accountKey, 0L), userId, null, 0L);
+                owners.put(accountKey, userId);
+            }
+            journal.awaitDurable(seq);
+        } catch (Exception e) {
+            log.error("Failed to reopen engine account after rollback. accountNumber : {}",
+                    toAccountNumber(accountKey), e);
+        }
+    }
+
+    /**
+     * afterSeq 이후 저널에서 거래(사용, 취소)를 읽어 events 에 추가
+     * 마지막으로 읽은 레코드 번호 반환
+     */
+    public long readTransactions(long afterSeq, int maxCount, List<HotBalanceEvent> events)
+            throws IOException {
+        return journal.read(afterSeq, maxCount, record -> {
+            if (record.type != JournalEntry.USE && record.type != JournalEntry.CANCEL) {
+                return;
+            }
+
+            events.add(HotBalanceEvent.builder()
+                    .transactionType(record.type == JournalEntry.USE ? USE : CANCEL)
+                    .accountNumber(toAccountNumber(record.accountKey))
+                    .transactionId(toTransactionId(
+                            new UUID(record.transactionIdHigh, record.transactionIdLow)))
+                    .amount(record.amount)
+                    .balanceSnapshot(record.balance)
+                    .transactedAt(toLocalDateTime(record.transactedAt))
+                    .build());
+        });
+    }
+
+    // DB 반영이 끝난 레코드 번호 (스냅샷과 DB 에 모두 반영된 세그먼트는 삭제)
+    public void projected(long seq) {
+        projectedSeq = seq;
+        synchronized (lock) {
+            unprojectedUses.values().removeIf(use -> use[2] <= seq);
+        }
+        journal.purge(Math.min(seq, snapshotSeq));
+    }
+
+    @PreDestroy
+    public void stop() {
+        ready = false;
+        if (journal != null) {
+            journal.close();
+        }
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdown();
+        }
+    }
+
+    // 엔진에 없는 계좌는 DB 에서 읽어 등록 (엔진을 켜기 전에 만든 계좌, 새로 만든 계좌)
+    private long loadIfAbsent(String accountNumber) {
+        if (!ready) {
+            throw new AccountException(TOO_MANY_REQUESTS);
+        }
+
+        long accountKey = toAccountKey(accountNumber);
+        synchronized (lock) {
+            if (owners.containsKey(accountKey)) {
+                return accountKey;
+            }
+        }
+
+        Account account = ShardContext.call(ShardContext.bucketOf(accountNumber),
+                        () -> accountRepository.findByAccountNumber(accountNumber))
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        long owner = account.getAccountStatus() == CLOSED
+                ? -account.getAccountUser().getId()
+                : account.getAccountUser().getId();
+
+        synchronized (lock) {
+            if (!owners.containsKey(accountKey)) {
+                append(JournalEntry.OPEN, accountKey, 0L, account.getBalance(), owner, null, 0L);
+                balances.put(accountKey, account.getBalance());
+                owners.put(accountKey, owner);
+            }
+        }
+        return accountKey;
+    }
+
+    // lock 안에서 호출
+    private long append(byte type, long accountKey, long amount, long balance, long userId,
+                        UUID transactionId, long transactedAt) {
+        entry.type = type;
+        entry.accountKey = accountKey;
+        entry.amount = amount;
+        entry.balance = balance;
+        entry.userId = userId;
+        entry.transactionIdHigh = transactionId == null ? 0L : transactionId.getMostSignificantBits();
+        entry.transactionIdLow = transactionId == null ? 0L : transactionId.getLeastSignificantBits();
+        entry.transactedAt = transactedAt;
+
+        if (journal.isFull()) {
+            journal.rotate();
+            scheduleSnapshot();
+        }
+        return journal.append(entry);
+    }
+
+    private void replay(JournalEntry record) {
+        switch (record.type) {
+            case JournalEntry.USE -> {
+                balances.put(record.accountKey, record.balance);
+                unprojectedUses.put(toTransactionId(
+                                new UUID(record.transactionIdHigh, record.transactionIdLow)),
+                        new long[]{record.accountKey, record.amount, record.seq});
+            }
+            case JournalEntry.CANCEL -> balances.put(record.accountKey, record.balance);
+            case JournalEntry.OPEN -> {
+                balances.put(record.accountKey, record.balance);
+                owners.put(record.accountKey, record.userId);
+            }
+            case JournalEntry.CLOSE -> owners.put(record.accountKey, -record.userId);
+            default -> log.warn("Unknown journal record type : {}", record.type);
+        }
+    }
+
+    // lock 안에서 테이블을 복사하고, 파일 기록은 별도 스레드에서
+    private void scheduleSnapshot() {
+        long seq = journal.lastSeq();
+        LongLongMap balanceCopy = balances.copy();
+        LongLongMap ownerCopy = owners.copy();
+
+        snapshotExecutor.execute(() -> {
+            try {
+                writeSnapshot(Paths.get(directory), seq, balanceCopy, ownerCopy);
+                snapshotSeq = seq;
+                journal.purge(Math.min(seq, projectedSeq));
+            } catch (IOException e) {
+                log.error("Failed to write balance snapshot. seq : {}", seq, e);
+            }
+        });
+    }
+
+    private static void writeSnapshot(Path path, long seq, LongLongMap balances,
+                                      LongLongMap owners) throws IOException {
+        Path target = path.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, seq, SNAPSHOT_SUFFIX));
+        Path temp = path.resolve(target.getFileName() + ".tmp");
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(file), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(seq);
+            out.writeInt(owners.size());
+            owners.forEach((accountKey, owner) -> {
+                try {
+                    out.writeLong(accountKey);
+                    out.writeLong(balances.get(accountKey, 0L));
+                    out.writeLong(owner);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+            new DataOutputStream(file).writeLong(checked.getChecksum().getValue());
+            file.getFD().sync();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+
+        // 이전 스냅샷 정리
+        try (Stream<Path> files = Files.list(path)) {
+            for (Path old : files.filter(file -> isSnapshot(file) && file.compareTo(target) < 0)
+                    .collect(Collectors.toList())) {
+                Files.deleteIfExists(old);
+            }
+        }
+    }
+
+    // 온전한 가장 최근 스냅샷을 읽고 스냅샷의 레코드 번호 반환 (없으면 0)
+    private long loadSnapshot(Path path) throws IOException {
+        List<Path> snapshots;
+        try (Stream<Path> files = Files.list(path)) {
+            snapshots = files.filter(BalanceEngine::isSnapshot)
+                    .sorted((a, b) -> b.compareTo(a))
+                    .collect(Collectors.toList());
+        }
+
+        for (Path snapshot : snapshots) {
+            try (FileInputStream file = new FileInputStream(snapshot.toFile())) {
+                CheckedInputStream checked = new CheckedInputStream(
+                        new BufferedInputStream(file), new CRC32C());
+                DataInputStream in = new DataInputStream(checked);
+                if (in.readInt() != SNAPSHOT_MAGIC) {
+                    continue;
+                }
+
+                long seq = in.readLong();
+                int count = in.readInt();
+                LongLongMap balanceTable = new LongLongMap(count);
+                LongLongMap ownerTable = new LongLongMap(count);
+                for (int i = 0; i < count; i++) {
+                    long accountKey = in.readLong();
+                    balanceTable.put(accountKey, in.readLong());
+                    ownerTable.put(accountKey, in.readLong());
+                }
+
+                long expected = checked.getChecksum().getValue();
+                if (new DataInputStream(checked).readLong() != expected) {
+                    log.warn("Broken balance snapshot {}", snapshot);
+                    continue;
+                }
+
+                balanceTable.forEach(balances::put);
+                ownerTable.forEach(owners::put);
+                return seq;
+            } catch (EOFException e) {
+                log.warn("Incomplete balance snapshot {}", snapshot);
+            }
+        }
+        return 0L;
+    }
+
+    private static boolean isSnapshot(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+    }
+
+    private static long toAccountKey(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != 10) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+        try {
+            return Long.parseLong(accountNumber);
+        } catch (NumberFormatException e) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+    }
+
+    private static String toAccountNumber(long accountKey) {
+        return String.format("%010d", accountKey);
+    }
+
+    private static String toTransactionId(UUID transactionId) {
+        return transactionId.toString().replace("-", "");
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static TransactionDto toTransactionDto(TransactionType transactionType,
+                                                   String accountNumber, UUID transactionId,
+                                                   Long amount, long balance, long transactedAt) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType)
+                .transactionResult(S)
+                .amount(amount)
+                .balanceSnapshot(balance)
+                .transactionId(toTransactionId(transactionId))
+                .transactedAt(toLocalDateTime(transactedAt))
+                .build();
+    }
+}
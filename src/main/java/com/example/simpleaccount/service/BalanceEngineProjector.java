@@ -0,0 +1,77 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.OutboxOffset;
+import com.example.simpleaccount.dto.HotBalanceEvent;
+import com.example.simpleaccount.repository.OutboxOffsetRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 잔액 엔진 저널을 읽어 거래 내역과 계좌 잔액을 DB 에 반영
+ * 반영한 위치는 OutboxOffset 에 저장 (저장 전에 중단되면 같은 거래는 건너뛰고 다시 반영)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceEngineProjector {
+    private static final String CONSUMER_NAME = "balance-engine";
+
+    private final BalanceEngine balanceEngine;
+    private final TransactionService transactionService;
+    private final OutboxOffsetRepository outboxOffsetRepository;
+
+    @Value("${account.engine.projector-batch-size:500}")
+    private int batchSize;
+
+    private boolean started;
+
+    @Scheduled(fixedDelayString = "${account.engine.projector-interval-ms:100}")
+    public void project() {
+        if (!balanceEngine.isReady()) {
+            return;
+        }
+
+        OutboxOffset offset = outboxOffsetRepository.findByConsumer(CONSUMER_NAME)
+                .orElseGet(() -> OutboxOffset.builder()
+                        .consumer(CONSUMER_NAME)
+                        .lastEventId(0L)
+                        .build());
+
+        // 재시작 후 이미 반영된 거래를 취소 검증 대상에서 정리
+        if (!started) {
+            balanceEngine.projected(offset.getLastEventId());
+            started = true;
+        }
+
+        while (true) {
+            List<HotBalanceEvent> events = new ArrayList<>(batchSize);
+            long lastSeq;
+            try {
+                lastSeq = balanceEngine.readTransactions(
+                        offset.getLastEventId(), batchSize, events);
+                if (lastSeq == offset.getLastEventId()) {
+                    return;
+                }
+
+                if (!events.isEmpty()) {
+                    transactionService.saveAppliedTransactions(events);
+                }
+            } catch (Exception e) {
+                // 다음 주기에 같은 위치부터 다시 반영
+                log.error("Failed to project balance engine journal after seq {}",
+                        offset.getLastEventId(), e);
+                return;
+            }
+
+            offset.setLastEventId(lastSeq);
+            offset = outboxOffsetRepository.save(offset);
+            balanceEngine.projected(lastSeq);
+        }
+    }
+}
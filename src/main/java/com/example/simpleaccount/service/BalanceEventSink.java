@@ -0,0 +1,18 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.BalanceEvent;
+
+import java.util.List;
+
+/**
+ * Outbox 이벤트를 전달받는 곳 (이름은 로그 구분용)
+ * 1. 배치의 이벤트는 모든 sink 가 예외 없이 반환해야 삭제됨 (sink 별 전달 위치는 없음)
+ * 2. 한 sink 라도 실패하면 다음 주기에 성공한 sink 를 포함한 모든 sink 에 같은 배치가 다시 전달됨
+ * 3. 따라서 최소 한 번 전달이며, sink 와 그 소비자는 같은 이벤트를 여러 번 받아도 되도록
+ *    transactionId 로 중복을 걸러야 함
+ */
+public interface BalanceEventSink {
+    String getName();
+
+    void publish(List<BalanceEvent> events);
+}
@@ -0,0 +1,331 @@
+package com.example.simpleaccount.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * 잔액 엔진 선기록(write-ahead) 저널
+ * 1. 고정 크기 세그먼트 파일을 메모리 매핑해서 레코드를 순서대로 기록
+ * 2. flusher 스레드가 모인 기록을 한 번에 fsync (group commit), 요청은 자기 레코드가 fsync 될 때까지 대기
+ * 3. 레코드 번호(seq)는 세그먼트 안에서 연속이므로 위치를 바로 계산
+ * append, rotate 는 BalanceEngine 의 Lock 안에서만 호출
+ */
+@Slf4j
+final class BalanceJournal implements Closeable {
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, Path> segments = new ConcurrentSkipListMap<>();
+
+    private final Object syncMonitor = new Object();
+    private final Thread flusher;
+
+    private FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int position;
+    private long nextSeq;
+
+    private volatile long writtenSeq;
+    private long durableSeq;
+    private IOException failure;
+    private volatile boolean closed;
+
+    private BalanceJournal(Path directory, long segmentSize) {
+        this.directory = directory;
+        this.segmentSize = (int) (Math.min(segmentSize, Integer.MAX_VALUE)
+                / JournalEntry.SIZE * JournalEntry.SIZE);
+        this.flusher = new Thread(this::flushLoop, "balance-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * 저널을 열고 afterSeq 이후의 레코드를 순서대로 전달
+     * 마지막으로 온전히 기록된 레코드 다음부터 이어서 기록
+     */
+    static BalanceJournal open(Path directory, long segmentSize, long afterSeq,
+                               Consumer<JournalEntry> replayer) throws IOException {
+        BalanceJournal journal = new BalanceJournal(directory, segmentSize);
+        journal.recover(afterSeq, replayer);
+        journal.flusher.start();
+        return journal;
+    }
+
+    long lastSeq() {
+        return nextSeq - 1;
+    }
+
+    boolean isFull() {
+        return position + JournalEntry.SIZE > segmentSize;
+    }
+
+    long append(JournalEntry entry) {
+        if (isFull()) {
+            rotate();
+        }
+
+        entry.seq = nextSeq++;
+        entry.writeTo(buffer, position);
+        position += JournalEntry.SIZE;
+        writtenSeq = entry.seq;
+
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+        return entry.seq;
+    }
+
+    // 현재 세그먼트를 fsync 하고 새 세그먼트로 교체
+    void rotate() {
+        try {
+            buffer.force();
+            synchronized (syncMonitor) {
+                durableSeq = Math.max(durableSeq, writtenSeq);
+                syncMonitor.notifyAll();
+            }
+            channel.close();
+            createSegment(nextSeq);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void awaitDurable(long seq) {
+        synchronized (syncMonitor) {
+            while (durableSeq < seq) {
+                if (failure != null) {
+                    throw new UncheckedIOException(failure);
+                }
+                if (closed) {
+                    throw new IllegalStateException("Balance journal is closed.");
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal sync.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * afterSeq 이후 fsync 된 레코드를 최대 maxCount 개 전달
+     * 마지막으로 전달한 레코드 번호 반환 (없으면 afterSeq)
+     */
+    long read(long afterSeq, int maxCount, Consumer<JournalEntry> reader) throws IOException {
+        long limit;
+        synchronized (syncMonitor) {
+            limit = Math.min(durableSeq, afterSeq + maxCount);
+        }
+
+        JournalEntry entry = new JournalEntry();
+        long seq = afterSeq + 1;
+        while (seq <= limit) {
+            Map.Entry<Long, Path> segment = segments.floorEntry(seq);
+            if (segment == null) {
+                // 이미 삭제된 세그먼트 (스냅샷에 반영됨) 는 건너뜀
+                segment = segments.firstEntry();
+                if (segment == null || segment.getKey() > limit) {
+                    break;
+                }
+                log.warn("Journal records {} ~ {} were purged.", seq, segment.getKey() - 1);
+                seq = segment.getKey();
+            }
+
+            Long nextStart = segments.higherKey(segment.getKey());
+            long segmentLimit = nextStart == null ? limit : Math.min(limit, nextStart - 1);
+            int count = (int) (segmentLimit - seq + 1);
+
+            ByteBuffer records = ByteBuffer.allocate(count * JournalEntry.SIZE);
+            try (FileChannel reading = FileChannel.open(segment.getValue(), StandardOpenOption.READ)) {
+                long filePosition = (seq - segment.getKey()) * JournalEntry.SIZE;
+                while (records.hasRemaining()
+                        && reading.read(records, filePosition + records.position()) > 0) {
+                    // 요청한 레코드를 모두 읽을 때까지 반복
+                }
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (!entry.readFrom(records, i * JournalEntry.SIZE) || entry.seq != seq) {
+                    log.error("Broken journal record. seq : {}", seq);
+                    return seq - 1;
+                }
+                reader.accept(entry);
+                seq++;
+            }
+        }
+        return seq - 1;
+    }
+
+    // upToSeq 이하 레코드만 있는 세그먼트 삭제 (현재 세그먼트 제외)
+    void purge(long upToSeq) {
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            Long nextStart = segments.higherKey(segment.getKey());
+            if (nextStart == null || nextStart - 1 > upToSeq) {
+                return;
+            }
+
+            try {
+                Files.deleteIfExists(segment.getValue());
+                segments.remove(segment.getKey());
+            } catch (IOException e) {
+                log.error("Failed to delete journal segment {}", segment.getValue(), e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (syncMonitor) {
+            syncMonitor.notifyAll();
+        }
+
+        try {
+            flusher.join(1000L);
+            if (buffer != null) {
+                buffer.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to close balance journal.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recover(long afterSeq, Consumer<JournalEntry> replayer) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .forEach(path -> segments.put(parseStartSeq(path), path));
+        }
+
+        JournalEntry entry = new JournalEntry();
+        long lastSeq = 0;
+        Path lastSegment = null;
+        int lastPosition = 0;
+
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(segment.getValue()));
+            int offset = 0;
+            while (offset + JournalEntry.SIZE <= records.capacity()
+                    && entry.readFrom(records, offset)
+                    && entry.seq == segment.getKey() + offset / JournalEntry.SIZE) {
+                if (entry.seq > afterSeq) {
+                    replayer.accept(entry);
+                }
+                lastSeq = entry.seq;
+                offset += JournalEntry.SIZE;
+            }
+            lastSegment = segment.getValue();
+            lastPosition = offset;
+        }
+
+        nextSeq = Math.max(lastSeq, afterSeq) + 1;
+        writtenSeq = nextSeq - 1;
+        durableSeq = nextSeq - 1;
+
+        if (lastSegment != null && lastSeq >= afterSeq
+                && parseStartSeq(lastSegment) + lastPosition / JournalEntry.SIZE == nextSeq) {
+            mapSegment(lastSegment);
+            position = lastPosition;
+            clearTail();
+        } else {
+            createSegment(nextSeq);
+        }
+    }
+
+    // 온전하지 않은 마지막 레코드와 그 뒤에 남은 기록을 지워서 다시 읽히지 않게 함
+    private void clearTail() {
+        for (int offset = position; offset + JournalEntry.SIZE <= segmentSize;
+             offset += JournalEntry.SIZE) {
+            boolean empty = true;
+            for (int i = offset; i < offset + JournalEntry.SIZE; i++) {
+                if (buffer.get(i) != 0) {
+                    empty = false;
+                    buffer.put(i, (byte) 0);
+                }
+            }
+            if (empty) {
+                break;
+            }
+        }
+        buffer.force();
+    }
+
+    private void createSegment(long startSeq) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s",
+                SEGMENT_PREFIX, startSeq, SEGMENT_SUFFIX));
+        mapSegment(path);
+        position = 0;
+        segments.put(startSeq, path);
+    }
+
+    private void mapSegment(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            long target;
+            MappedByteBuffer flushing;
+            synchronized (syncMonitor) {
+                while (!closed && writtenSeq <= durableSeq) {
+                    try {
+                        syncMonitor.wait(100L);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+                target = writtenSeq;
+                flushing = buffer;
+            }
+
+            try {
+                flushing.force();
+            } catch (UncheckedIOException e) {
+                log.error("Failed to sync balance journal.", e);
+                synchronized (syncMonitor) {
+                    failure = e.getCause();
+                    syncMonitor.notifyAll();
+                }
+                return;
+            }
+
+            synchronized (syncMonitor) {
+                durableSeq = Math.max(durableSeq, target);
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    private static long parseStartSeq(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
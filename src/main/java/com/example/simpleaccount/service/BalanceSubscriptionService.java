@@ -0,0 +1,289 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.BalanceChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 사용자별 잔액 변경 구독 (SSE)
+ * 구독자마다 크기가 제한된 버퍼를 두고 전송 스레드가 비움
+ * 느린 구독자의 버퍼가 가득 차면 버퍼를 비우고 resync 이벤트를 보내 전체 조회를 유도
+ * 읽지 않는 구독자에게 쓰다가 send-timeout-ms 넘게 막히면 연결을 끊고,
+ * 막힌 전송 스레드 대신 스레드를 하나 더 늘려 다른 구독자 전송은 계속 (최대 max-stalled-senders 개)
+ */
+@Slf4j
+@Service
+public class BalanceSubscriptionService {
+    private static final String BALANCE_EVENT = "balance";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${account.subscription.buffer-size:64}")
+    private int bufferSize;
+
+    @Value("${account.subscription.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${account.subscription.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${account.subscription.send-timeout-ms:5000}")
+    private long sendTimeoutMillis;
+
+    @Value("${account.subscription.max-stalled-senders:16}")
+    private int maxStalledSenders;
+
+    private ThreadPoolExecutor sender;
+
+    // 막힌 전송을 대신해 늘린 스레드 수
+    private int stalledSenders;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads,
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable,
+                    "balance-sse-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return register(userId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter register(Long userId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(userId, emitter, bufferSize);
+
+        subscribers.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet())
+                .add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // 연결 직후 한 번 전체 조회하도록 resync 전송
+        subscriber.resync.set(true);
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    public void dispatch(BalanceChange change) {
+        Set<Subscriber> userSubscribers = subscribers.get(change.getUserId());
+        if (userSubscribers == null) {
+            return;
+        }
+
+        for (Subscriber subscriber : userSubscribers) {
+            subscriber.offer(change);
+            schedule(subscriber);
+        }
+    }
+
+    // 끊어진 연결을 찾기 위한 주기적 heartbeat
+    @Scheduled(fixedDelayString = "${account.subscription.heartbeat-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> {
+                    subscriber.heartbeat.set(true);
+                    schedule(subscriber);
+                }));
+    }
+
+    /**
+     * 전송이 send-timeout-ms 넘게 끝나지 않은 구독자 정리
+     * 1. 구독 목록에서 빼고 연결을 끊음 (더 이상 이벤트를 쌓지 않음)
+     * 2. 막힌 스레드는 쓰기 시간 초과로 풀릴 때까지 돌아오지 않으므로 그동안 스레드를 하나 늘림
+     */
+    @Scheduled(fixedDelayString = "${account.subscription.stall-check-ms:1000}")
+    public void closeStalled() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> {
+                    if (!subscriber.markStalled(now,
+                            TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis),
+                            this::addStalledSender)) {
+                        return;
+                    }
+
+                    log.warn("Balance subscriber stalled. userId : {}", subscriber.userId);
+                    remove(subscriber);
+                    try {
+                        subscriber.emitter.completeWithError(
+                                new TimeoutException("SSE send timed out"));
+                    } catch (Exception e) {
+                        log.debug("Failed to close stalled subscriber. userId : {}",
+                                subscriber.userId, e);
+                    }
+                }));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            send(subscriber);
+        } catch (Exception e) {
+            log.debug("Balance subscriber disconnected. userId : {}", subscriber.userId);
+            remove(subscriber);
+            if (!subscriber.stalled.get()) {
+                subscriber.emitter.completeWithError(e);
+            }
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+            // 막혔던 스레드가 돌아왔으므로 늘린 스레드를 줄임
+            if (subscriber.finishSend()) {
+                removeStalledSender();
+            }
+        }
+
+        if (subscriber.stalled.get()) {
+            return;
+        }
+
+        // 전송 중에 들어온 이벤트가 있으면 다시 예약
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private static void send(Subscriber subscriber) throws Exception {
+        if (subscriber.heartbeat.getAndSet(false)) {
+            subscriber.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        while (!subscriber.stalled.get()) {
+            if (subscriber.resync.getAndSet(false)) {
+                subscriber.send(SseEmitter.event()
+                        .name(RESYNC_EVENT)
+                        .data(RESYNC_EVENT));
+            }
+
+            BalanceChange change = subscriber.buffer.poll();
+            if (change == null) {
+                return;
+            }
+
+            subscriber.send(SseEmitter.event()
+                    .name(BALANCE_EVENT)
+                    .data(change));
+        }
+    }
+
+    // 스레드를 늘렸으면 true
+    private synchronized boolean addStalledSender() {
+        if (stalledSenders >= maxStalledSenders) {
+            log.warn("Too many stalled balance senders : {}", stalledSenders);
+            return false;
+        }
+        stalledSenders++;
+        // 늘릴 때는 최대 먼저, 줄일 때는 기본 먼저 (기본 > 최대가 되지 않도록)
+        sender.setMaximumPoolSize(senderThreads + stalledSenders);
+        sender.setCorePoolSize(senderThreads + stalledSenders);
+        return true;
+    }
+
+    private synchronized void removeStalledSender() {
+        stalledSenders--;
+        sender.setCorePoolSize(senderThreads + stalledSenders);
+        sender.setMaximumPoolSize(senderThreads + stalledSenders);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (key, userSubscribers) -> {
+            userSubscribers.remove(subscriber);
+            return userSubscribers.isEmpty() ? null : userSubscribers;
+        });
+    }
+
+    private static class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<BalanceChange> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean resync = new AtomicBoolean();
+        private final AtomicBoolean heartbeat = new AtomicBoolean();
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        // 전송 중이면 시작 시각 (System.nanoTime), 아니면 0
+        private long sendStartedAt;
+        // 막힌 전송 대신 스레드를 늘렸는지 (전송이 끝나면 줄임)
+        private boolean senderReplaced;
+
+        private Subscriber(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(BalanceChange change) {
+            if (!buffer.offer(change)) {
+                // 밀린 변경은 버리고 전체 조회를 유도
+                buffer.clear();
+                resync.set(true);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws Exception {
+            synchronized (this) {
+                sendStartedAt = System.nanoTime();
+            }
+            emitter.send(event);
+        }
+
+        // 전송 중이고 제한 시간이 지났으면 막힌 것으로 표시 (전송 종료와 겹치지 않도록 동기화)
+        private synchronized boolean markStalled(long now, long timeoutNanos,
+                                                 BooleanSupplier replaceSender) {
+            if (sendStartedAt == 0L || now - sendStartedAt < timeoutNanos || stalled.get()) {
+                return false;
+            }
+            stalled.set(true);
+            senderReplaced = replaceSender.getAsBoolean();
+            return true;
+        }
+
+        // 전송 종료, 대신 늘린 스레드를 줄여야 하면 true
+        private synchronized boolean finishSend() {
+            sendStartedAt = 0L;
+            boolean replaced = senderReplaced;
+            senderReplaced = false;
+            return replaced;
+        }
+
+        private boolean hasPending() {
+            return !buffer.isEmpty() || resync.get() || heartbeat.get();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.type.CacheType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 노드별 near cache 와 노드 간 무효화
+ * 1. 쓰기 트랜잭션이 커밋되면 이 노드의 캐시에서 바로 지우고 무효화 대기열에 추가
+ * 2. 대기열을 짧은 주기로 모아서 Redis pub/sub 메시지 하나로 전달
+ *    (형식 : 노드 id|순번|종류 code + 키,종류 code + 키...)
+ * 3. 받는 노드는 보낸 노드별 순번을 확인해서 빠진 메시지가 있으면 캐시를 모두 비움
+ * 4. 구독이 끊겼다가 다시 연결되어도 캐시를 모두 비움
+ * Redis 구독에 실패하면 캐시를 사용하지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CacheInvalidationBus {
+    private static final String TOPIC = "CACHE_INVALIDATION";
+    private static final long SENDER_IDLE_MILLIS = 600_000L;
+
+    private final RedissonClient redissonClient;
+    private final AccountMetrics accountMetrics;
+
+    @Value("${account.cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${account.cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    // replica 지연보다 길게 (무효화 직후 replica 에서 읽은 이전 값을 저장하지 않도록)
+    @Value("${account.cache.tombstone-ms:2000}")
+    private long tombstoneMillis;
+
+    @Value("${account.cache.max-entries:100000}")
+    private int maxEntries;
+
+    // 메시지 하나에 담는 최대 키 수
+    @Value("${account.cache.batch-size:200}")
+    private int batchSize;
+
+    // 전달하지 못하고 쌓인 키가 이보다 많으면 버리고 순번을 건너뜀 (받는 노드는 캐시를 비움)
+    @Value("${account.cache.max-pending:100000}")
+    private int maxPending;
+
+    private final String senderId = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    private final Map<CacheType, NearCache> caches = new EnumMap<>(CacheType.class);
+    private final Queue<String> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Map<String, SenderState> senders = new ConcurrentHashMap<>();
+
+    private RTopic topic;
+    private volatile boolean subscribed;
+    private long nextSeq = 1L;
+
+    @PostConstruct
+    public void init() {
+        for (CacheType type : CacheType.values()) {
+            NearCache cache = new NearCache(ttlMillis, tombstoneMillis, maxEntries);
+            caches.put(type, cache);
+            accountMetrics.gaugeCacheSize(type, cache::size);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            topic = redissonClient.getTopic(TOPIC, StringCodec.INSTANCE);
+            topic.addListener(String.class, (channel, message) -> onMessage(message));
+            topic.addListener(new BaseStatusListener() {
+                @Override
+                public void onSubscribe(String channel) {
+                    // 다시 연결되는 동안 놓친 메시지가 있을 수 있음
+                    flushAll("resubscribed");
+                }
+            });
+            subscribed = true;
+        } catch (Exception e) {
+            log.error("Failed to subscribe cache invalidation. Near cache is disabled.", e);
+        }
+    }
+
+    // 없거나 캐시를 사용하지 않으면 null
+    @SuppressWarnings("unchecked")
+    public <T> T get(CacheType type, String key) {
+        if (!subscribed) {
+            return null;
+        }
+        T value = (T) caches.get(type).get(key);
+        accountMetrics.recordCacheLookup(type, value != null);
+        return value;
+    }
+
+    public void put(CacheType type, String key, Object value) {
+        if (subscribed && value != null) {
+            caches.get(type).put(key, value);
+        }
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋 후에 무효화
+    public void invalidate(CacheType type, String key) {
+        if (!enabled) {
+            return;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            caches.get(type).invalidate(key);
+            pending.add(type.getCode() + key);
+            pendingCount.incrementAndGet();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${account.cache.publish-interval-ms:20}")
+    public synchronized void publishPending() {
+        if (topic == null) {
+            return;
+        }
+
+        while (!pending.isEmpty()) {
+            Set<String> batch = new LinkedHashSet<>();
+            String entry;
+            while (batch.size() < batchSize && (entry = pending.poll()) != null) {
+                pendingCount.decrementAndGet();
+                batch.add(entry);
+            }
+
+            try {
+                topic.publish(senderId + "|" + nextSeq + "|" + String.join(",", batch));
+                nextSeq++;
+            } catch (Exception e) {
+                log.error("Failed to publish cache invalidation. seq : {}", nextSeq, e);
+                requeue(batch);
+                return;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.cache.eviction-interval-ms:10000}")
+    public void evictExpired() {
+        caches.values().forEach(NearCache::evictExpired);
+
+        long now = System.currentTimeMillis();
+        senders.values().removeIf(state -> now - state.receivedAtMillis > SENDER_IDLE_MILLIS);
+    }
+
+    synchronized void onMessage(String message) {
+        String[] parts = message.split("\\|", 3);
+        if (parts.length != 3) {
+            log.warn("Invalid cache invalidation message : {}", message);
+            return;
+        }
+        if (senderId.equals(parts[0])) {
+            // 이 노드의 캐시는 커밋할 때 이미 지움
+            return;
+        }
+
+        long seq;
+        try {
+            seq = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid cache invalidation message : {}", message);
+            return;
+        }
+
+        // 처음 보는 노드는 이전 메시지를 알 수 없지만 그 전에는 캐시가 비어 있었던 것으로 봄
+        SenderState previous = senders.get(parts[0]);
+        if (previous != null && seq <= previous.seq) {
+            // 다시 전달된 메시지
+            return;
+        }
+        senders.put(parts[0], new SenderState(seq, System.currentTimeMillis()));
+        if (previous != null && seq > previous.seq + 1) {
+            flushAll("missed " + (seq - previous.seq - 1) + " messages from " + parts[0]);
+            return;
+        }
+
+        for (String entry : parts[2].split(",")) {
+            if (entry.isEmpty()) {
+                continue;
+            }
+            CacheType type = CacheType.fromCode(entry.charAt(0));
+            if (type == null) {
+                // 모르는 종류가 있으면 안전하게 모두 비움
+                flushAll("unknown cache type " + entry.charAt(0));
+                return;
+            }
+            caches.get(type).invalidate(entry.substring(1));
+        }
+    }
+
+    private void requeue(Set<String> batch) {
+        if (pendingCount.get() + batch.size() > maxPending) {
+            // 순번을 건너뛰어 받는 노드가 빠진 메시지로 보고 캐시를 비우게 함
+            pending.clear();
+            pendingCount.set(0);
+            nextSeq++;
+            log.warn("Dropped pending cache invalidations. Other nodes will flush their caches.");
+            return;
+        }
+        pending.addAll(batch);
+        pendingCount.addAndGet(batch.size());
+    }
+
+    private void flushAll(String reason) {
+        caches.values().forEach(NearCache::flush);
+        accountMetrics.recordCacheFlush();
+        log.warn("Flushed near caches : {}", reason);
+    }
+
+    private record SenderState(long seq, long receivedAtMillis) {
+    }
+}
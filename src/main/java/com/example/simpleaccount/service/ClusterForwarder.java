@@ -0,0 +1,77 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.type.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import static com.example.simpleaccount.config.RequestDeadlineInterceptor.REQUEST_TIMEOUT_HEADER;
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_FORWARD_FAILED;
+import static com.example.simpleaccount.type.ErrorCode.REQUEST_TIMEOUT;
+
+/**
+ * 계좌 담당 노드로 요청 전달
+ * 멱등성 키, 남은 요청 기한, 요청을 보낸 노드의 epoch 를 함께 전달하고
+ * 담당 노드의 오류 응답은 같은 오류 코드의 AccountException 으로 바꿈
+ */
+@Slf4j
+@Component
+public class ClusterForwarder {
+    public static final String EPOCH_HEADER = "X-Cluster-Epoch";
+
+    private final RestClient restClient;
+    private final ObjectMapper objectMapper;
+
+    public ClusterForwarder(RestClient.Builder restClientBuilder, ObjectMapper objectMapper,
+                            @Value("${account.cluster.connect-timeout-ms:500}") int connectTimeoutMillis,
+                            @Value("${account.cluster.read-timeout-ms:10000}") int readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.objectMapper = objectMapper;
+    }
+
+    public <T> T forward(String baseUrl, String path, long epoch, String idempotencyKey,
+                         Object body, Class<T> responseType) {
+        RestClient.RequestBodySpec request = restClient.post()
+                .uri(baseUrl + path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(EPOCH_HEADER, String.valueOf(epoch));
+
+        if (idempotencyKey != null) {
+            request.header(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        if (RequestDeadline.isSet()) {
+            long remainingMillis = RequestDeadline.remainingMillis();
+            if (remainingMillis <= 0) {
+                throw new AccountException(REQUEST_TIMEOUT);
+            }
+            request.header(REQUEST_TIMEOUT_HEADER, String.valueOf(remainingMillis));
+        }
+
+        try {
+            String responseBody = request.body(body).retrieve().body(String.class);
+            JsonNode response = objectMapper.readTree(responseBody);
+
+            JsonNode errorCode = response.get("errorCode");
+            if (errorCode != null && !errorCode.isNull()) {
+                throw new AccountException(ErrorCode.valueOf(errorCode.asText()),
+                        response.path("errorMessage").asText());
+            }
+            return objectMapper.treeToValue(response, responseType);
+        } catch (RestClientException | JsonProcessingException | IllegalArgumentException e) {
+            log.error("Failed to forward request to {}{}", baseUrl, path, e);
+            throw new AccountException(CLUSTER_FORWARD_FAILED);
+        }
+    }
+}
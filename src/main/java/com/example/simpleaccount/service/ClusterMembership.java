@@ -0,0 +1,370 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+
+/**
+ * 클러스터 노드 목록과 계좌 담당 노드
+ * 1. 노드마다 Redis 에 heartbeat 를 남기고, 제한 시간 안에 heartbeat 가 있는 노드를 살아 있는 노드로 봄
+ * 2. 살아 있는 노드가 바뀌면 epoch 를 올린 view 를 Redis 에 compare-and-set 으로 저장하고, 모든 노드가 같은 view 를 사용
+ * 3. 계좌 담당 노드는 view 의 consistent hash ring 으로 정함
+ * 4. 담당 노드가 바뀐 계좌는 살아 있는 모든 노드가 이전 epoch 요청을 마칠 때까지 새 담당 노드가 처리하지 않음
+ * 5. heartbeat 를 제때 남기지 못한 노드는 다른 노드가 제외하기 전에 스스로 처리를 멈춤 (lease)
+ * 6. lease 가 끝나기 전에 시작한 요청은 Account 의 @Version 으로 저장이 거절됨 (저장 단계 fence)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ClusterMembership {
+    private static final String NODES_KEY = "CLUSTER:NODES";
+    private static final String VIEW_KEY = "CLUSTER:VIEW";
+    private static final long HANDOFF_POLL_MILLIS = 50L;
+
+    private final RedissonClient redissonClient;
+
+    @Value("${account.cluster.enabled:false}")
+    private boolean enabled;
+
+    // 비우면 시작할 때마다 새로 만듦 ('|', ',', '=' 사용 불가)
+    @Value("${account.cluster.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${account.cluster.advertise-url:http://localhost:${server.port:8080}}")
+    private String advertiseUrl;
+
+    @Value("${account.cluster.node-timeout-ms:5000}")
+    private long nodeTimeoutMillis;
+
+    @Value("${account.cluster.virtual-nodes:64}")
+    private int virtualNodes;
+
+    @Value("${account.cluster.handoff-timeout-ms:2000}")
+    private long handoffTimeoutMillis;
+
+    private String nodeId;
+    private volatile View view = View.EMPTY;
+    private volatile long leaseUntilMillis;
+
+    // epoch 별 처리 중인 요청 수 (view 교체와 요청 시작이 겹치지 않도록 read/write lock 사용)
+    private final ReentrantReadWriteLock viewLock = new ReentrantReadWriteLock();
+    private final Map<Long, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    // 살아 있는 모든 노드가 그 이전 epoch 요청을 모두 마친 것으로 확인된 epoch
+    private final AtomicLong clusterDrainedEpoch = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isBlank()
+                ? UUID.randomUUID().toString().replace("-", "").substring(0, 12)
+                : configuredNodeId.trim();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public View getView() {
+        return view;
+    }
+
+    @Scheduled(fixedDelayString = "${account.cluster.heartbeat-ms:1000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            long now = System.currentTimeMillis();
+            RMap<String, String> nodes = redissonClient.getMap(NODES_KEY, StringCodec.INSTANCE);
+            nodes.fastPut(nodeId, new NodeState(advertiseUrl, now, drainedEpoch()).format());
+
+            Map<String, String> liveMembers = new TreeMap<>();
+            for (Map.Entry<String, String> node : nodes.readAllMap().entrySet()) {
+                NodeState state = NodeState.parse(node.getValue());
+                if (state == null || now - state.heartbeatMillis > nodeTimeoutMillis) {
+                    // 그 사이에 heartbeat 를 다시 남겼으면 지우지 않음
+                    nodes.remove(node.getKey(), node.getValue());
+                    continue;
+                }
+                liveMembers.put(node.getKey(), state.url);
+            }
+
+            RBucket<String> bucket = redissonClient.getBucket(VIEW_KEY, StringCodec.INSTANCE);
+            String stored = bucket.get();
+            View storedView = View.parse(stored, virtualNodes);
+            if (!storedView.members.equals(liveMembers)) {
+                View next = new View(storedView.epoch + 1, liveMembers,
+                        storedView.members.keySet(), virtualNodes);
+                storedView = bucket.compareAndSet(stored, next.format())
+                        ? next
+                        : View.parse(bucket.get(), virtualNodes);
+            }
+
+            if (adopt(storedView)) {
+                // 새 epoch 를 받아들였음을 바로 알림
+                nodes.fastPut(nodeId, new NodeState(advertiseUrl, now, drainedEpoch()).format());
+            }
+            // 다른 노드가 제외하기 전에 멈추도록 제한 시간의 절반만 사용
+            leaseUntilMillis = now + nodeTimeoutMillis / 2;
+        } catch (Exception e) {
+            log.error("Cluster heartbeat failed", e);
+        }
+    }
+
+    // 전달받은 요청의 epoch 가 더 크면 Redis 의 view 를 다시 읽음
+    public void refreshIfBehind(long epoch) {
+        if (epoch > view.epoch) {
+            refresh();
+        }
+    }
+
+    public void refresh() {
+        try {
+            String stored = redissonClient.<String>getBucket(VIEW_KEY, StringCodec.INSTANCE).get();
+            adopt(View.parse(stored, virtualNodes));
+        } catch (Exception e) {
+            log.error("Failed to refresh cluster view", e);
+        }
+    }
+
+    // 요청 시작 : 현재 view 를 고정하고 그 epoch 의 처리 중 요청 수를 올림
+    public View enter() {
+        viewLock.readLock().lock();
+        try {
+            View current = view;
+            inFlight.computeIfAbsent(current.epoch, epoch -> new AtomicInteger())
+                    .incrementAndGet();
+            return current;
+        } finally {
+            viewLock.readLock().unlock();
+        }
+    }
+
+    public void exit(View entered) {
+        AtomicInteger count = inFlight.get(entered.epoch);
+        if (count != null) {
+            count.decrementAndGet();
+        }
+    }
+
+    /**
+     * 이 epoch 이전에 시작한 요청이 클러스터에 남아 있지 않을 때까지 대기
+     * 1. 직전 epoch 까지 모두 마쳤고 직전 epoch 에도 이 노드가 담당했으면 바로 처리
+     * 2. 그 밖에는 살아 있는 모든 노드가 이 epoch 이전 요청을 마쳐야 처리
+     *    (담당 노드가 A -> C -> D 로 바뀌어도 view 에 남지 않은 A 의 요청까지 확인)
+     * 3. heartbeat 가 만료된 노드는 lease 가 끝나 새 요청을 시작하지 않고,
+     *    이미 시작한 요청은 Account 의 @Version 으로 저장이 거절되므로 기다리지 않음
+     */
+    public void awaitHandoff(View entered, String accountNumber) {
+        long drained = clusterDrainedEpoch.get();
+        if (drained >= entered.epoch
+                || (drained >= entered.epoch - 1
+                && nodeId.equals(entered.previousRing.ownerOf(accountNumber)))) {
+            return;
+        }
+
+        long waitMillis = Math.min(handoffTimeoutMillis, RequestDeadline.remainingMillis());
+        long deadline = System.currentTimeMillis() + waitMillis;
+        RMap<String, String> nodes = redissonClient.getMap(NODES_KEY, StringCodec.INSTANCE);
+        while (true) {
+            String pending = findUndrainedNode(nodes.readAllMap(), entered.epoch);
+            if (pending == null) {
+                clusterDrainedEpoch.accumulateAndGet(entered.epoch, Math::max);
+                return;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("Handoff from {} is not finished. epoch : {}", pending, entered.epoch);
+                throw new AccountException(CLUSTER_OWNER_CHANGED);
+            }
+
+            try {
+                Thread.sleep(HANDOFF_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AccountException(CLUSTER_OWNER_CHANGED);
+            }
+        }
+    }
+
+    // 이 epoch 이전 요청이 남아 있는 살아 있는 노드 (없으면 null)
+    private String findUndrainedNode(Map<String, String> nodes, long epoch) {
+        if (drainedEpoch() < epoch) {
+            return nodeId;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, String> node : nodes.entrySet()) {
+            if (node.getKey().equals(nodeId)) {
+                continue;
+            }
+            NodeState state = NodeState.parse(node.getValue());
+            if (state == null || now - state.heartbeatMillis > nodeTimeoutMillis) {
+                continue;
+            }
+            if (state.drainedEpoch < epoch) {
+                return node.getKey();
+            }
+        }
+        return null;
+    }
+
+    // Lock 직전 확인 : 지금도 담당 노드이고 lease 가 남아 있어야 로컬 Lock 으로 처리
+    public void checkOwner(String accountNumber) {
+        if (!nodeId.equals(view.ring.ownerOf(accountNumber))
+                || System.currentTimeMillis() > leaseUntilMillis) {
+            throw new AccountException(CLUSTER_OWNER_CHANGED);
+        }
+    }
+
+    private boolean adopt(View stored) {
+        if (stored.epoch <= view.epoch) {
+            return false;
+        }
+
+        viewLock.writeLock().lock();
+        try {
+            if (stored.epoch <= view.epoch) {
+                return false;
+            }
+            view = stored;
+        } finally {
+            viewLock.writeLock().unlock();
+        }
+
+        log.info("Cluster view changed. epoch : {}, members : {}",
+                stored.epoch, stored.members.keySet());
+        return true;
+    }
+
+    // 이 epoch 이전에 시작한 요청이 남아 있지 않은 가장 큰 epoch
+    private long drainedEpoch() {
+        viewLock.writeLock().lock();
+        try {
+            long current = view.epoch;
+            long drained = current;
+            Iterator<Map.Entry<Long, AtomicInteger>> iterator = inFlight.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Long, AtomicInteger> entry = iterator.next();
+                if (entry.getKey() >= current) {
+                    continue;
+                }
+                if (entry.getValue().get() <= 0) {
+                    iterator.remove();
+                } else {
+                    drained = Math.min(drained, entry.getKey());
+                }
+            }
+            return drained;
+        } finally {
+            viewLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 노드 목록의 한 시점 (Redis 저장 형식 : epoch|id=url,id=url|이전 id,이전 id)
+     */
+    public static final class View {
+        static final View EMPTY = new View(0L, Collections.emptyMap(),
+                Collections.emptySet(), 1);
+
+        private final long epoch;
+        private final Map<String, String> members;
+        private final Set<String> previousMembers;
+        private final ConsistentHashRing ring;
+        private final ConsistentHashRing previousRing;
+
+        private View(long epoch, Map<String, String> members, Set<String> previousMembers,
+                     int virtualNodes) {
+            this.epoch = epoch;
+            this.members = new TreeMap<>(members);
+            this.previousMembers = new TreeSet<>(previousMembers);
+            this.ring = new ConsistentHashRing(members.keySet(), virtualNodes);
+            this.previousRing = new ConsistentHashRing(previousMembers, virtualNodes);
+        }
+
+        public long getEpoch() {
+            return epoch;
+        }
+
+        // 담당 노드가 없으면 null
+        public String ownerOf(String accountNumber) {
+            return ring.ownerOf(accountNumber);
+        }
+
+        public String urlOf(String nodeId) {
+            return members.get(nodeId);
+        }
+
+        private String format() {
+            StringJoiner joined = new StringJoiner(",");
+            members.forEach((id, url) -> joined.add(id + "=" + url));
+            return epoch + "|" + joined + "|" + String.join(",", previousMembers);
+        }
+
+        private static View parse(String value, int virtualNodes) {
+            if (value == null || value.isBlank()) {
+                return EMPTY;
+            }
+
+            String[] parts = value.split("\\|", -1);
+            Map<String, String> members = new TreeMap<>();
+            for (String member : parts[1].split(",")) {
+                int separator = member.indexOf('=');
+                if (separator > 0) {
+                    members.put(member.substring(0, separator), member.substring(separator + 1));
+                }
+            }
+            Set<String> previousMembers = new TreeSet<>();
+            for (String member : parts[2].split(",")) {
+                if (!member.isBlank()) {
+                    previousMembers.add(member);
+                }
+            }
+            return new View(Long.parseLong(parts[0]), members, previousMembers, virtualNodes);
+        }
+    }
+
+    // Redis 저장 형식 : url|heartbeat|drainedEpoch
+    private record NodeState(String url, long heartbeatMillis, long drainedEpoch) {
+
+        private String format() {
+            return url + "|" + heartbeatMillis + "|" + drainedEpoch;
+        }
+
+        private static NodeState parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            String[] parts = value.split("\\|");
+            if (parts.length != 3) {
+                return null;
+            }
+            try {
+                return new NodeState(parts[0], Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
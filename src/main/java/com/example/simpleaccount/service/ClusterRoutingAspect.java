@@ -0,0 +1,119 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.aop.AccountLockIdInterface;
+import com.example.simpleaccount.exception.AccountException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Objects;
+
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static com.example.simpleaccount.type.ErrorCode.TRANSFER_UNAVAILABLE;
+
+/**
+ * 클러스터 모드 : Lock 이 필요한 거래 요청을 계좌 담당 노드에서 처리
+ * 1. 다른 노드가 담당하면 담당 노드로 전달 (담당 노드가 바뀌었다고 응답하면 view 를 다시 읽고 한 번 더 시도)
+ * 2. 전달받은 요청을 담당하지 않으면 다시 전달하지 않고 거절
+ * 3. 담당 노드는 이전 담당 노드의 처리가 끝난 뒤 처리 (LockAopAspect 에서 로컬 Lock 사용)
+ * 4. 여러 계좌를 잡는 요청(이체)은 모든 계좌의 담당 노드가 같을 때만 처리
+ * 멱등성, 요청 제한 뒤, Lock 앞에서 실행
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(25)
+@RequiredArgsConstructor
+public class ClusterRoutingAspect {
+    private static final int MAX_FORWARD_ATTEMPTS = 2;
+
+    private final ClusterMembership clusterMembership;
+    private final ClusterForwarder clusterForwarder;
+
+    @Around("@annotation(com.example.simpleaccount.aop.AccountLock) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            AccountLockIdInterface request
+    ) throws Throwable {
+        if (!clusterMembership.isEnabled()) {
+            return pjp.proceed();
+        }
+
+        HttpServletRequest servletRequest = currentRequest();
+        Long forwardedEpoch = getForwardedEpoch(servletRequest);
+        if (forwardedEpoch != null) {
+            clusterMembership.refreshIfBehind(forwardedEpoch);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            ClusterMembership.View view = clusterMembership.enter();
+            String owner = view.ownerOf(request.getAccountNumber());
+            if (request.getLockAccountNumbers().stream()
+                    .anyMatch(accountNumber -> !Objects.equals(owner, view.ownerOf(accountNumber)))) {
+                // 담당 노드가 다른 계좌는 한 노드의 로컬 Lock 으로 함께 처리할 수 없음
+                clusterMembership.exit(view);
+                throw new AccountException(TRANSFER_UNAVAILABLE);
+            }
+            if (clusterMembership.getNodeId().equals(owner)) {
+                try {
+                    for (String accountNumber : request.getLockAccountNumbers()) {
+                        clusterMembership.awaitHandoff(view, accountNumber);
+                    }
+                    return pjp.proceed();
+                } finally {
+                    clusterMembership.exit(view);
+                }
+            }
+            clusterMembership.exit(view);
+
+            if (owner == null || forwardedEpoch != null || servletRequest == null) {
+                throw new AccountException(CLUSTER_OWNER_CHANGED);
+            }
+
+            try {
+                return clusterForwarder.forward(view.urlOf(owner),
+                        servletRequest.getRequestURI(), view.getEpoch(),
+                        servletRequest.getHeader(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER),
+                        request,
+                        ((MethodSignature) pjp.getSignature()).getReturnType());
+            } catch (AccountException e) {
+                if (e.getErrorCode() != CLUSTER_OWNER_CHANGED || attempt >= MAX_FORWARD_ATTEMPTS) {
+                    throw e;
+                }
+                log.debug("Owner of {} changed, retrying.", request.getAccountNumber());
+                clusterMembership.refresh();
+            }
+        }
+    }
+
+    static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                ? servletAttributes.getRequest()
+                : null;
+    }
+
+    // 다른 노드가 전달한 요청이면 전달한 노드의 epoch
+    static Long getForwardedEpoch(HttpServletRequest servletRequest) {
+        String epoch = servletRequest == null
+                ? null
+                : servletRequest.getHeader(ClusterForwarder.EPOCH_HEADER);
+        if (epoch == null || epoch.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(epoch.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
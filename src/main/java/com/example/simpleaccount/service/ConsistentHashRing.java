@@ -0,0 +1,52 @@
+package com.example.simpleaccount.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 계좌 번호 -> 담당 노드 consistent hash ring
+ * 노드마다 virtualNodes 개의 위치를 두어 노드가 추가/제거되어도 일부 계좌만 담당 노드가 바뀜
+ */
+final class ConsistentHashRing {
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        // 위치가 겹치면 정렬 순서로 정해지도록 같은 순서로 배치
+        for (String nodeId : nodeIds.stream().sorted().toList()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.putIfAbsent(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return ring.isEmpty();
+    }
+
+    // 노드가 없으면 null
+    String ownerOf(String key) {
+        if (ring.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    // FNV-1a 64 bit + 비트 섞기
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
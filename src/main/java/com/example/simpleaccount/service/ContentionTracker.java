@@ -0,0 +1,289 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.ContendedAccount;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock 시도, 대기, 실패가 많은 계좌 상위 집계 (Stream-Summary)
+ * 1. 계좌 번호로 stripe 를 나누고 stripe 마다 capacity / stripes 개 계좌만 추적 (stripe 별 Lock)
+ * 2. 가득 차면 시도 수가 가장 적은 계좌를 새 계좌로 바꾸면서 그 수를 물려줌
+ *    (stripe 안에서 실제 시도가 1/stripe 용량 보다 많은 계좌는 반드시 남음)
+ * 3. 같은 시도 수의 계좌를 bucket 으로 묶어 시도 수 증가, 최소 계좌 찾기가 O(1)
+ * 4. sample-rate 번 중 한 번만 기록하고 그 배수로 셈 (Lock 없이 먼저 거름)
+ * 5. decay-interval-ms 마다 상위 계좌를 지표로 내보내고 모든 값을 절반으로 줄임 (최근 경합 위주)
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentionTracker {
+    private final AccountMetrics accountMetrics;
+
+    private Stripe[] stripes;
+
+    @Value("${account.contention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${account.contention.capacity:256}")
+    private int capacity;
+
+    @Value("${account.contention.stripes:16}")
+    private int stripeCount;
+
+    @Value("${account.contention.sample-rate:8}")
+    private int sampleRate;
+
+    // 이 시간 이상 기다린 취득을 대기로 셈
+    @Value("${account.contention.wait-threshold-ms:5}")
+    private long waitThresholdMillis;
+
+    @Value("${account.contention.metric-top-n:10}")
+    private int metricTopN;
+
+    @PostConstruct
+    public void init() {
+        int count = Math.max(1, Math.min(stripeCount, capacity));
+        int stripeCapacity = Math.max(1, (capacity + count - 1) / count);
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(stripeCapacity);
+        }
+    }
+
+    public void record(String accountNumber, long waitNanos, boolean failed) {
+        if (!enabled) {
+            return;
+        }
+        int weight = Math.max(1, sampleRate);
+        if (weight > 1 && ThreadLocalRandom.current().nextInt(weight) != 0) {
+            return;
+        }
+
+        boolean waited = waitNanos >= TimeUnit.MILLISECONDS.toNanos(waitThresholdMillis);
+        stripes[Math.floorMod(accountNumber.hashCode(), stripes.length)]
+                .record(accountNumber, waitNanos, waited, failed);
+    }
+
+    // 시도 수가 많은 순서 (샘플링 배율을 곱한 값)
+    public List<ContendedAccount> top(int limit) {
+        long weight = Math.max(1, sampleRate);
+        List<ContendedAccount> accounts = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collect(accounts, weight);
+        }
+        accounts.sort(Comparator.comparingLong(ContendedAccount::getAttempts).reversed());
+        return accounts.subList(0, Math.min(Math.max(0, limit), accounts.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${account.contention.decay-interval-ms:60000}")
+    public void publishAndDecay() {
+        if (!enabled) {
+            return;
+        }
+        accountMetrics.updateContendedAccounts(top(metricTopN));
+        decay();
+    }
+
+    void decay() {
+        for (Stripe stripe : stripes) {
+            stripe.decay();
+        }
+    }
+
+    /**
+     * 계좌 capacity 개의 Stream-Summary
+     * bucket 은 시도 수 오름차순 연결 리스트, 같은 bucket 의 계좌는 들어온 순서의 연결 리스트
+     */
+    private static final class Stripe {
+        private final int capacity;
+        private final Map<String, Counter> counters = new HashMap<>();
+        private Bucket min;
+
+        private Stripe(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized void record(String accountNumber, long waitNanos, boolean waited,
+                                 boolean failed) {
+            Counter counter = counters.get(accountNumber);
+            if (counter == null) {
+                counter = admit(accountNumber);
+            }
+            increment(counter);
+            counter.waitNanos += waitNanos;
+            if (waited) {
+                counter.waits++;
+            }
+            if (failed) {
+                counter.lockFailures++;
+            }
+        }
+
+        synchronized void collect(List<ContendedAccount> accounts, long weight) {
+            for (Bucket bucket = min; bucket != null; bucket = bucket.next) {
+                for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                    accounts.add(ContendedAccount.builder()
+                            .accountNumber(counter.accountNumber)
+                            .attempts(bucket.hits * weight)
+                            .maxOverestimate(counter.overestimate * weight)
+                            .waits(counter.waits * weight)
+                            .waitMillis(counter.waitNanos * weight / 1_000_000.0)
+                            .lockFailures(counter.lockFailures * weight)
+                            .build());
+                }
+            }
+        }
+
+        // 절반으로 줄이면 순서가 유지되므로 bucket 을 그대로 두고 값만 줄인 뒤 같아진 bucket 을 합침
+        synchronized void decay() {
+            Bucket bucket = min;
+            while (bucket != null) {
+                Bucket next = bucket.next;
+                bucket.hits /= 2;
+                for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                    counter.overestimate /= 2;
+                    counter.waits /= 2;
+                    counter.waitNanos /= 2;
+                    counter.lockFailures /= 2;
+                }
+                if (bucket.hits == 0) {
+                    for (Counter counter = bucket.head; counter != null; counter = counter.next) {
+                        counters.remove(counter.accountNumber);
+                    }
+                    unlink(bucket);
+                } else if (bucket.prev != null && bucket.prev.hits == bucket.hits) {
+                    Bucket merged = bucket.prev;
+                    while (bucket.head != null) {
+                        Counter counter = bucket.head;
+                        bucket.remove(counter);
+                        merged.append(counter);
+                    }
+                    unlink(bucket);
+                }
+                bucket = next;
+            }
+        }
+
+        // 가득 찼으면 가장 오래된 최소 계좌를 내보내고 그 수를 과대 추정 오차로 물려받음
+        private Counter admit(String accountNumber) {
+            Counter counter = new Counter(accountNumber);
+            if (counters.size() >= capacity) {
+                Counter victim = min.head;
+                counters.remove(victim.accountNumber);
+                min.remove(victim);
+                counter.overestimate = min.hits;
+                min.append(counter);
+            } else {
+                if (min == null || min.hits != 0) {
+                    Bucket zero = new Bucket(0L);
+                    zero.next = min;
+                    if (min != null) {
+                        min.prev = zero;
+                    }
+                    min = zero;
+                }
+                min.append(counter);
+            }
+            counters.put(accountNumber, counter);
+            return counter;
+        }
+
+        // 한 칸 큰 bucket 으로 옮김 (없으면 바로 뒤에 만듦)
+        private void increment(Counter counter) {
+            Bucket bucket = counter.bucket;
+            long hits = bucket.hits + 1;
+            Bucket target = bucket.next;
+            if (target == null || target.hits != hits) {
+                target = new Bucket(hits);
+                target.prev = bucket;
+                target.next = bucket.next;
+                if (bucket.next != null) {
+                    bucket.next.prev = target;
+                }
+                bucket.next = target;
+            }
+            bucket.remove(counter);
+            target.append(counter);
+            if (bucket.head == null) {
+                unlink(bucket);
+            }
+        }
+
+        private void unlink(Bucket bucket) {
+            if (bucket.prev != null) {
+                bucket.prev.next = bucket.next;
+            } else {
+                min = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.prev = bucket.prev;
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private long hits;
+        private Bucket prev;
+        private Bucket next;
+        private Counter head;
+        private Counter tail;
+
+        private Bucket(long hits) {
+            this.hits = hits;
+        }
+
+        private void append(Counter counter) {
+            counter.bucket = this;
+            counter.prev = tail;
+            counter.next = null;
+            if (tail != null) {
+                tail.next = counter;
+            } else {
+                head = counter;
+            }
+            tail = counter;
+        }
+
+        private void remove(Counter counter) {
+            if (counter.prev != null) {
+                counter.prev.next = counter.next;
+            } else {
+                head = counter.next;
+            }
+            if (counter.next != null) {
+                counter.next.prev = counter.prev;
+            } else {
+                tail = counter.prev;
+            }
+            counter.prev = null;
+            counter.next = null;
+            counter.bucket = null;
+        }
+    }
+
+    // 시도 수는 속한 bucket 의 hits (샘플 단위)
+    private static final class Counter {
+        private final String accountNumber;
+        private Bucket bucket;
+        private Counter prev;
+        private Counter next;
+        private long overestimate;
+        private long waits;
+        private long waitNanos;
+        private long lockFailures;
+
+        private Counter(String accountNumber) {
+            this.accountNumber = accountNumber;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.repository.AccountRepository;
+import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.TransactionType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.example.simpleaccount.type.ErrorCode.*;
+import static com.example.simpleaccount.type.TransactionResultType.S;
+import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.USE;
+
+/**
+ * 거래가 몰리는 계좌(hot account)의 잔액을 Redis 에서 관리
+ * 1. 잔액 검사, 차감, 거래 기록(Stream 추가)을 Lua 스크립트 한 번으로 처리 (Lock 없음)
+ * 2. DB 반영은 HotBalanceWriter 가 Stream 을 읽어 배치로 저장
+ * 3. Redis 에 잔액이 없으면 DB 잔액으로 다시 적재
+ * 4. 해지도 Redis 잔액을 확인하고 상태를 바꾸는 스크립트로 처리 (해지 후 사용 스크립트가 거절)
+ * Redis Stream 을 사용하므로 Redis 5 이상이 필요
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotBalanceService {
+    private static final long NOT_LOADED = -1L;
+
+    // 반환값이 음수면 실패 사유 (잔액은 음수가 될 수 없음)
+    private static final String USE_SCRIPT =
+            "redis.replicate_commands() " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local info = redis.call('HMGET', KEYS[1], 'userId', 'status', 'balance') " +
+            "if info[1] ~= ARGV[1] then return -2 end " +
+            "if info[2] ~= 'ACTIVE' then return -3 end " +
+            "if tonumber(info[3]) < tonumber(ARGV[2]) then return -4 end " +
+            "local balance = redis.call('HINCRBY', KEYS[1], 'balance', -tonumber(ARGV[2])) " +
+            "redis.call('HSET', KEYS[3], ARGV[3], ARGV[2]) " +
+            "redis.call('XADD', KEYS[2], '*', 'transactionType', 'USE', " +
+            "  'accountNumber', ARGV[5], 'transactionId', ARGV[3], 'amount', ARGV[2], " +
+            "  'balanceSnapshot', balance, 'transactedAt', ARGV[4]) " +
+            "return balance";
+
+    // ARGV[6] == '1' 이면 아직 DB 에 저장되지 않은 사용 거래의 취소 (같은 거래를 두 번 취소하지 않도록 지움)
+    private static final String CANCEL_SCRIPT =
+            "redis.replicate_commands() " +
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "if ARGV[6] == '1' then " +
+            "  local used = redis.call('HGET', KEYS[3], ARGV[1]) " +
+            "  if not used then return -5 end " +
+            "  if used ~= ARGV[2] then return -6 end " +
+            "  redis.call('HDEL', KEYS[3], ARGV[1]) " +
+            "end " +
+            "local balance = redis.call('HINCRBY', KEYS[1], 'balance', tonumber(ARGV[2])) " +
+            "redis.call('XADD', KEYS[2], '*', 'transactionType', 'CANCEL', " +
+            "  'accountNumber', ARGV[5], 'transactionId', ARGV[3], 'amount', ARGV[2], " +
+            "  'balanceSnapshot', balance, 'transactedAt', ARGV[4]) " +
+            "return balance";
+
+    // 잔액이 남아 있으면 해지하지 않음
+    private static final String CLOSE_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "local info = redis.call('HMGET', KEYS[1], 'userId', 'status', 'balance') " +
+            "if info[1] ~= ARGV[1] then return -2 end " +
+            "if info[2] ~= 'ACTIVE' then return -3 end " +
+            "if tonumber(info[3]) > 0 then return -7 end " +
+            "redis.call('HSET', KEYS[1], 'status', 'CLOSED') " +
+            "return 0";
+
+    // DB 해지가 롤백되면 다시 사용할 수 있도록 되돌림
+    private static final String REOPEN_SCRIPT =
+            "if redis.call('HGET', KEYS[1], 'status') ~= 'CLOSED' then return 0 end " +
+            "redis.call('HSET', KEYS[1], 'status', 'ACTIVE') " +
+            "return 1";
+
+    // 이미 적재된 잔액은 덮어쓰지 않음 (Redis 잔액이 DB 보다 최신)
+    private static final String LOAD_SCRIPT =
+            "if redis.call('EXISTS', KEYS[1]) == 1 then return 0 end " +
+            "redis.call('HMSET', KEYS[1], 'userId', ARGV[1], 'status', ARGV[2], 'balance', ARGV[3]) " +
+            "return 1";
+
+    private final RedissonClient redissonClient;
+    private final AccountRepository accountRepository;
+
+    @Value("${account.hot-balance.accounts:}")
+    private Set<String> hotAccounts;
+
+    @Value("${account.hot-balance.stream-name:HOT_BALANCE_EVENTS}")
+    private String streamName;
+
+    public boolean isEnabled() {
+        return hotAccounts != null && !hotAccounts.isEmpty();
+    }
+
+    public boolean isHot(String accountNumber) {
+        return hotAccounts != null && hotAccounts.contains(accountNumber);
+    }
+
+    public Set<String> getHotAccounts() {
+        return hotAccounts;
+    }
+
+    public String getStreamName() {
+        return streamName;
+    }
+
+    public TransactionDto useBalance(Long userId, String accountNumber, Long amount) {
+        String transactionId = ShardContext.newTransactionId(accountNumber);
+        long now = System.currentTimeMillis();
+
+        long balance = evalWithLoad(USE_SCRIPT, accountNumber,
+                String.valueOf(userId), String.valueOf(amount), transactionId,
+                String.valueOf(now), accountNumber);
+
+        return toTransactionDto(USE, accountNumber, transactionId, amount, balance, now);
+    }
+
+    /**
+     * 사용 취소
+     * unsavedUse 가 true 면 원거래가 아직 Stream 에만 있는 경우로, Redis 에서 원거래를 검증
+     */
+    public TransactionDto cancelBalance(String originalTransactionId, String accountNumber,
+                                        Long amount, boolean unsavedUse) {
+        String transactionId = ShardContext.newTransactionId(accountNumber);
+        long now = System.currentTimeMillis();
+
+        long balance = evalWithLoad(CANCEL_SCRIPT, accountNumber,
+                originalTransactionId, String.valueOf(amount), transactionId,
+                String.valueOf(now), accountNumber, unsavedUse ? "1" : "0");
+
+        return toTransactionDto(CANCEL, accountNumber, transactionId, amount, balance, now);
+    }
+
+    /**
+     * 계좌 해지 (DB 잔액은 늦게 반영되므로 Redis 잔액으로 확인)
+     * DB 해지 트랜잭션이 롤백되면 Redis 상태도 되돌림
+     */
+    public void closeAccount(Long userId, String accountNumber) {
+        evalWithLoad(CLOSE_SCRIPT, accountNumber, String.valueOf(userId));
+        TransactionCallbacks.afterRollback(() -> reopenAccount(accountNumber));
+    }
+
+    private void reopenAccount(String accountNumber) {
+        try {
+            eval(REOPEN_SCRIPT, accountNumber);
+        } catch (Exception e) {
+            log.error("Failed to reopen hot account after rollback. accountNumber : {}",
+                    accountNumber, e);
+        }
+    }
+
+    // DB 잔액으로 적재 (이미 있으면 유지)
+    public boolean load(Account account) {
+        Long loaded = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, LOAD_SCRIPT, RScript.ReturnType.INTEGER,
+                List.of(getBalanceKey(account.getAccountNumber())),
+                String.valueOf(account.getAccountUser().getId()),
+                String.valueOf(account.getAccountStatus()),
+                String.valueOf(account.getBalance()));
+        return loaded != null && loaded == 1L;
+    }
+
+    public void loadAll() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        // hot 계좌는 여러 shard 에 있을 수 있으므로 계좌별로 조회
+        for (String accountNumber : hotAccounts) {
+            Optional<Account> account = ShardContext.call(ShardContext.bucketOf(accountNumber),
+                    () -> accountRepository.findByAccountNumber(accountNumber));
+            if (account.isPresent() && load(account.get())) {
+                log.info("Loaded hot balance from DB. accountNumber : {}", accountNumber);
+            }
+        }
+    }
+
+    // DB 에 저장된 사용 거래는 취소 검증에 더 이상 필요하지 않음
+    public void clearUnsavedUses(String accountNumber, Collection<String> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return;
+        }
+
+        redissonClient.<String, String>getMap(getUnsavedUseKey(accountNumber), StringCodec.INSTANCE)
+                .fastRemove(transactionIds.toArray(new String[0]));
+    }
+
+    private long evalWithLoad(String script, String accountNumber, String... args) {
+        long result = eval(script, accountNumber, args);
+
+        // Redis 에 잔액이 없으면 (재시작 등) DB 에서 적재 후 한 번 더 시도
+        if (result == NOT_LOADED) {
+            Account account = ShardContext.call(ShardContext.bucketOf(accountNumber),
+                            () -> accountRepository.findByAccountNumber(accountNumber))
+                    .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+            load(account);
+            result = eval(script, accountNumber, args);
+        }
+
+        if (result < 0) {
+            throw new AccountException(toErrorCode(result));
+        }
+        return result;
+    }
+
+    private long eval(String script, String accountNumber, String... args) {
+        Long result = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                RScript.Mode.READ_WRITE, script, RScript.ReturnType.INTEGER,
+                Arrays.asList(getBalanceKey(accountNumber), streamName,
+                        getUnsavedUseKey(accountNumber)),
+                (Object[]) args);
+        return result == null ? NOT_LOADED : result;
+    }
+
+    private static ErrorCode toErrorCode(long result) {
+        return switch ((int) result) {
+            case -1 -> ACCOUNT_NOT_FOUND;
+            case -2 -> USER_ACCOUNT_UN_MATCH;
+            case -3 -> ACCOUNT_ALREADY_CLOSED;
+            case -4 -> AMOUNT_EXCEED_BALANCE;
+            case -5 -> TRANSACTION_NOT_FOUND;
+            case -6 -> CANCEL_MUST_FULLY;
+            case -7 -> ACCOUNT_BALANCE_NOT_EMPTY;
+            default -> INTERVAL_SERVER_ERROR;
+        };
+    }
+
+    private static TransactionDto toTransactionDto(TransactionType transactionType,
+                                                   String accountNumber, String transactionId,
+                                                   Long amount, long balance,
+                                                   long transactedAtMillis) {
+        return TransactionDto.builder()
+                .accountNumber(accountNumber)
+                .transactionType(transactionType)
+                .transactionResult(S)
+                .amount(amount)
+                .balanceSnapshot(balance)
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.ofInstant(
+                        Instant.ofEpochMilli(transactedAtMillis), ZoneId.systemDefault()))
+                .build();
+    }
+
+    private static String getBalanceKey(String accountNumber) {
+        return "HOTB:" + accountNumber;
+    }
+
+    private static String getUnsavedUseKey(String accountNumber) {
+        return "HOTU:" + accountNumber;
+    }
+}
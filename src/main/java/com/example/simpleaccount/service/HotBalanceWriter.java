@@ -0,0 +1,149 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.HotBalanceEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RStream;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.example.simpleaccount.type.TransactionType.USE;
+
+/**
+ * hot account 거래를 Redis Stream 에서 읽어 DB 에 배치로 저장
+ * 1. consumer group 으로 읽고, DB 저장 후 ack (저장 전에 죽으면 다음 주기에 다시 저장)
+ * 2. 여러 노드 중 Redis Lock 을 잡은 노드만 저장
+ * 3. 시작 시 남은 거래를 먼저 저장한 뒤 Redis 에 없는 잔액을 DB 에서 적재
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotBalanceWriter {
+    private static final String GROUP_NAME = "db-writer";
+    private static final String CONSUMER_NAME = "writer";
+
+    private final HotBalanceService hotBalanceService;
+    private final TransactionService transactionService;
+    private final RedissonClient redissonClient;
+
+    @Value("${account.hot-balance.writer-batch-size:500}")
+    private int batchSize;
+
+    private volatile boolean groupCreated;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!hotBalanceService.isEnabled()) {
+            return;
+        }
+
+        flush();
+        hotBalanceService.loadAll();
+    }
+
+    @Scheduled(fixedDelayString = "${account.hot-balance.writer-interval-ms:100}")
+    public void flush() {
+        if (!hotBalanceService.isEnabled()) {
+            return;
+        }
+
+        RLock writerLock = redissonClient.getLock("HOT_BALANCE_WRITER");
+        try {
+            if (!writerLock.tryLock()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Hot balance writer lock failed", e);
+            return;
+        }
+
+        try {
+            RStream<String, String> stream = redissonClient.getStream(
+                    hotBalanceService.getStreamName(), StringCodec.INSTANCE);
+            createGroupIfAbsent(stream);
+
+            // 읽었지만 저장하지 못한 거래부터 저장
+            if (write(stream, StreamMessageId.ALL)) {
+                write(stream, StreamMessageId.NEVER_DELIVERED);
+            }
+        } catch (Exception e) {
+            log.error("Failed to write hot balance events.", e);
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    // 저장에 실패하면 false (다음 주기에 같은 거래부터 다시 저장)
+    private boolean write(RStream<String, String> stream, StreamMessageId from) {
+        while (true) {
+            Map<StreamMessageId, Map<String, String>> messages =
+                    stream.readGroup(GROUP_NAME, CONSUMER_NAME, batchSize, from);
+            if (messages == null || messages.isEmpty()) {
+                return true;
+            }
+
+            List<StreamMessageId> ids = messages.keySet().stream()
+                    .sorted(Comparator.comparingLong(StreamMessageId::getId0)
+                            .thenComparingLong(StreamMessageId::getId1))
+                    .collect(Collectors.toList());
+            List<HotBalanceEvent> events = new ArrayList<>(ids.size());
+            for (StreamMessageId id : ids) {
+                events.add(HotBalanceEvent.fromEntries(messages.get(id)));
+            }
+
+            try {
+                transactionService.saveAppliedTransactions(events);
+            } catch (Exception e) {
+                log.error("Failed to save {} hot balance events.", events.size(), e);
+                return false;
+            }
+
+            StreamMessageId[] written = ids.toArray(new StreamMessageId[0]);
+            stream.ack(GROUP_NAME, written);
+            stream.remove(written);
+            clearUnsavedUses(events);
+
+            if (messages.size() < batchSize) {
+                return true;
+            }
+        }
+    }
+
+    private void clearUnsavedUses(List<HotBalanceEvent> events) {
+        events.stream()
+                .filter(event -> event.getTransactionType() == USE)
+                .collect(Collectors.groupingBy(HotBalanceEvent::getAccountNumber,
+                        Collectors.mapping(HotBalanceEvent::getTransactionId,
+                                Collectors.toList())))
+                .forEach(hotBalanceService::clearUnsavedUses);
+    }
+
+    private void createGroupIfAbsent(RStream<String, String> stream) {
+        if (groupCreated) {
+            return;
+        }
+
+        try {
+            stream.createGroup(GROUP_NAME, StreamMessageId.ALL);
+        } catch (RuntimeException e) {
+            // 이미 만들어진 group 이 아니면 다음 주기에 다시 생성
+            if (!String.valueOf(e.getMessage()).contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+        groupCreated = true;
+    }
+}
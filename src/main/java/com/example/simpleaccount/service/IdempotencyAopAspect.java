@@ -0,0 +1,91 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.aop.Idempotent;
+import com.example.simpleaccount.dto.IdempotencyRecord;
+import com.example.simpleaccount.exception.AccountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Objects;
+
+import static com.example.simpleaccount.type.ErrorCode.*;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청의 재시도는 요청 제한, Lock, DB 를 거치지 않고
+ * 처음 처리한 응답을 그대로 반환
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(10)
+@RequiredArgsConstructor
+public class IdempotencyAopAspect {
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            Idempotent idempotent,
+            Object request
+    ) throws Throwable {
+        String idempotencyKey = getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return pjp.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new AccountException(INVALID_REQUEST);
+        }
+
+        String key = idempotent.value() + ":" + idempotencyKey;
+        String fingerprint = objectMapper.writeValueAsString(request);
+
+        IdempotencyRecord record = idempotencyStore.reserve(key, fingerprint);
+        if (record != null) {
+            return replay(record, fingerprint);
+        }
+
+        try {
+            Object response = pjp.proceed();
+            idempotencyStore.complete(key, fingerprint, response);
+            return response;
+        } catch (Throwable e) {
+            idempotencyStore.release(key);
+            throw e;
+        }
+    }
+
+    private static Object replay(IdempotencyRecord record, String fingerprint) {
+        if (!Objects.equals(record.getFingerprint(), fingerprint)) {
+            throw new AccountException(IDEMPOTENCY_KEY_REUSED);
+        }
+        if (!record.isCompleted()) {
+            throw new AccountException(IDEMPOTENT_REQUEST_IN_PROGRESS);
+        }
+
+        log.debug("Replaying idempotent response.");
+        return record.getResponse();
+    }
+
+    private static String getIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        String key = servletAttributes.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+        return key == null || key.isBlank() ? null : key.trim();
+    }
+}
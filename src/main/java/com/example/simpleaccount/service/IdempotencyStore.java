@@ -0,0 +1,124 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.IdempotencyRecord;
+import com.example.simpleaccount.type.StoreMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멱등성 키별 처리 결과 저장소
+ * 1. LOCAL : 최근 사용 순으로 크기가 제한된 노드 메모리 저장소
+ * 2. REDIS : TTL 이 있는 Redis 공유 저장소
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyStore {
+    private final RedissonClient redissonClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${account.idempotency.mode:LOCAL}")
+    private StoreMode mode;
+
+    @Value("${account.idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${account.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    private JsonJacksonCodec codec;
+    private Map<String, LocalEntry> localEntries;
+
+    @PostConstruct
+    public void init() {
+        codec = new JsonJacksonCodec(objectMapper);
+        localEntries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalEntry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 처리 중 상태로 키 선점
+     * 이미 선점된 키면 기존 기록을, 선점에 성공하면 null 을 반환
+     */
+    public IdempotencyRecord reserve(String key, String fingerprint) {
+        IdempotencyRecord inProgress = IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .completed(false)
+                .build();
+
+        if (mode == StoreMode.REDIS) {
+            RBucket<IdempotencyRecord> bucket = getBucket(key);
+            if (bucket.trySet(inProgress, ttlSeconds, TimeUnit.SECONDS)) {
+                return null;
+            }
+            IdempotencyRecord existing = bucket.get();
+            // 조회 사이에 만료되었으면 다시 선점
+            if (existing == null && bucket.trySet(inProgress, ttlSeconds, TimeUnit.SECONDS)) {
+                return null;
+            }
+            return existing != null ? existing : bucket.get();
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (localEntries) {
+            LocalEntry entry = localEntries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.record;
+            }
+            localEntries.put(key, new LocalEntry(inProgress, now + ttlSeconds * 1000L));
+            return null;
+        }
+    }
+
+    public void complete(String key, String fingerprint, Object response) {
+        IdempotencyRecord completed = IdempotencyRecord.builder()
+                .fingerprint(fingerprint)
+                .completed(true)
+                .response(response)
+                .build();
+
+        if (mode == StoreMode.REDIS) {
+            getBucket(key).set(completed, ttlSeconds, TimeUnit.SECONDS);
+            return;
+        }
+
+        synchronized (localEntries) {
+            localEntries.put(key, new LocalEntry(completed,
+                    System.currentTimeMillis() + ttlSeconds * 1000L));
+        }
+    }
+
+    // 실패한 요청은 결과를 남기지 않아 같은 키로 재시도 가능
+    public void release(String key) {
+        if (mode == StoreMode.REDIS) {
+            getBucket(key).delete();
+            return;
+        }
+
+        synchronized (localEntries) {
+            localEntries.remove(key);
+        }
+    }
+
+    private RBucket<IdempotencyRecord> getBucket(String key) {
+        return redissonClient.getBucket("IDEM:" + key, codec);
+    }
+
+    private record LocalEntry(IdempotencyRecord record, long expiresAt) {
+    }
+}
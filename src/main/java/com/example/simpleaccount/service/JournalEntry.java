@@ -0,0 +1,66 @@
+package com.example.simpleaccount.service;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 엔진 저널 레코드 (고정 길이 72 byte)
+ * [crc 4][type 1][padding 3][seq 8][account 8][amount 8][balance 8][userId 8]
+ * [transactionId 16][transactedAt 8]
+ * 쓰는 쪽은 Lock 안에서 하나의 인스턴스를 재사용
+ */
+final class JournalEntry {
+    static final int SIZE = 72;
+
+    static final byte USE = 1;
+    static final byte CANCEL = 2;
+    static final byte OPEN = 3;
+    static final byte CLOSE = 4;
+
+    byte type;
+    long seq;
+    long accountKey;
+    long amount;
+    long balance;
+    long userId;
+    long transactionIdHigh;
+    long transactionIdLow;
+    long transactedAt;
+
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.put(offset + 4, type);
+        buffer.putLong(offset + 8, seq);
+        buffer.putLong(offset + 16, accountKey);
+        buffer.putLong(offset + 24, amount);
+        buffer.putLong(offset + 32, balance);
+        buffer.putLong(offset + 40, userId);
+        buffer.putLong(offset + 48, transactionIdHigh);
+        buffer.putLong(offset + 56, transactionIdLow);
+        buffer.putLong(offset + 64, transactedAt);
+        buffer.putInt(offset, checksum(buffer, offset));
+    }
+
+    // 비어 있거나 끝까지 쓰이지 않은 레코드면 false
+    boolean readFrom(ByteBuffer buffer, int offset) {
+        type = buffer.get(offset + 4);
+        if (type == 0 || buffer.getInt(offset) != checksum(buffer, offset)) {
+            return false;
+        }
+
+        seq = buffer.getLong(offset + 8);
+        accountKey = buffer.getLong(offset + 16);
+        amount = buffer.getLong(offset + 24);
+        balance = buffer.getLong(offset + 32);
+        userId = buffer.getLong(offset + 40);
+        transactionIdHigh = buffer.getLong(offset + 48);
+        transactionIdLow = buffer.getLong(offset + 56);
+        transactedAt = buffer.getLong(offset + 64);
+        return true;
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + 4, SIZE - 4));
+        return (int) crc.getValue();
+    }
+}
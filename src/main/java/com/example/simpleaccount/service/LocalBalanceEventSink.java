@@ -0,0 +1,28 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.BalanceEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 같은 JVM 의 @EventListener(BalanceEvent) 로 전달
+ * 다른 sink 가 실패하면 같은 이벤트가 다시 오므로 리스너는 transactionId 로 중복을 걸러야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalBalanceEventSink implements BalanceEventSink {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public String getName() {
+        return "local";
+    }
+
+    @Override
+    public void publish(List<BalanceEvent> events) {
+        events.forEach(applicationEventPublisher::publishEvent);
+    }
+}
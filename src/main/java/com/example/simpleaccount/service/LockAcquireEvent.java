@@ -0,0 +1,41 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.type.LockOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR : 계좌 Lock 취득 대기 (기본 10ms 이상만 기록)
+ * 계좌 번호 대신 해시를 남김
+ */
+@Name("com.example.simpleaccount.LockAcquire")
+@Label("Account Lock Acquire")
+@Category({"SimpleAccount", "Lock"})
+@Description("계좌 Lock 취득까지 기다린 시간")
+@Threshold("10 ms")
+@StackTrace(false)
+final class LockAcquireEvent extends Event {
+    @Label("Account Hash")
+    int accountHash;
+
+    @Label("Lock Mode")
+    String mode;
+
+    @Label("Outcome")
+    String outcome;
+
+    void finish(String accountNumber, String mode, LockOutcome outcome) {
+        end();
+        if (shouldCommit()) {
+            this.accountHash = accountNumber.hashCode();
+            this.mode = mode;
+            this.outcome = outcome.name();
+            commit();
+        }
+    }
+}
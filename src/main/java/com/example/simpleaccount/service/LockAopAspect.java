@@ -1,32 +1,80 @@
 package com.example.simpleaccount.service;
 
 import com.example.simpleaccount.aop.AccountLockIdInterface;
+import com.example.simpleaccount.type.TimingPhase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
 @Aspect
 @Component
 @Slf4j
+@Order(30)
 @RequiredArgsConstructor
 public class LockAopAspect {
-    private final LockService lockService;
+    private final AccountLocker accountLocker;
+    private final HotBalanceService hotBalanceService;
+    private final BalanceEngine balanceEngine;
+    private final ClusterMembership clusterMembership;
 
+    /**
+     * 요청의 계좌들을 계좌 번호 순으로 Lock (여러 계좌를 잡는 요청끼리 교착되지 않도록)
+     * 해제는 잡은 순서의 반대로
+     * 대기열 입장, 경합 계좌 집계는 AccountLocker 에서 처리
+     */
     @Around("@annotation(com.example.simpleaccount.aop.AccountLock) && args(request)")
     public Object aroundMethod(
             ProceedingJoinPoint pjp,
             AccountLockIdInterface request
     ) throws Throwable {
-        // Lock 취득 시도
-        lockService.lock(request.getAccountNumber());
+        // 요청 기한이 지났으면 Lock 을 기다리지 않음
+        RequestDeadline.checkRemaining();
+
+        List<String> accountNumbers = request.getLockAccountNumbers().stream()
+                .distinct()
+                .sorted()
+                .toList();
+
+        // 잔액 엔진, hot account 는 각자 원자적으로 처리하므로 Lock 을 잡지 않음
+        if (balanceEngine.isEnabled()
+                || accountNumbers.stream().anyMatch(hotBalanceService::isHot)) {
+            return pjp.proceed();
+        }
+
+        // 클러스터 모드에서는 담당 노드만 처리하므로 JVM 안의 Lock 으로 충분
+        boolean local = clusterMembership.isEnabled();
+        if (local) {
+            accountNumbers.forEach(clusterMembership::checkOwner);
+        }
+
+        Deque<Runnable> releases = new ArrayDeque<>();
+        long lockStart = PhaseTimer.begin();
         try {
+            for (String accountNumber : accountNumbers) {
+                releases.push(accountLocker.lock(accountNumber, local));
+            }
+            PhaseTimer.end(TimingPhase.LOCK, lockStart);
+            lockStart = 0L;
+
             return pjp.proceed();
         } finally {
+            // Lock 을 얻지 못한 경우도 대기 시간으로 기록
+            PhaseTimer.end(TimingPhase.LOCK, lockStart);
+
             // Lock 해제
-            lockService.unlock(request.getAccountNumber());
+            long unlockStart = PhaseTimer.begin();
+            while (!releases.isEmpty()) {
+                releases.pop().run();
+            }
+            PhaseTimer.end(TimingPhase.UNLOCK, unlockStart);
         }
     }
 }
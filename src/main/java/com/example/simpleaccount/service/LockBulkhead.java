@@ -0,0 +1,74 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.simpleaccount.type.ErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * Lock 대기열 입장 제한
+ * 1. 계좌별 : Lock 보유자 + 대기자 수 제한 (초과 시 ACCOUNT_TRANSACTION_LOCK)
+ * 2. 전체 : Lock 구간에 동시에 들어올 수 있는 요청 수 제한 (초과 시 TOO_MANY_REQUESTS)
+ * 특정 계좌에 요청이 몰려도 다른 계좌 요청이 처리될 스레드를 남겨둠
+ */
+@Slf4j
+@Component
+public class LockBulkhead {
+    private final Map<String, Integer> inFlightByAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 0 이하면 제한하지 않음
+    @Value("${account.lock.max-waiters-per-account:0}")
+    private int maxWaitersPerAccount;
+
+    @Value("${account.lock.max-concurrent:0}")
+    private int maxConcurrent;
+
+    public void enter(String accountNumber) {
+        if (maxConcurrent > 0 && inFlight.incrementAndGet() > maxConcurrent) {
+            inFlight.decrementAndGet();
+            log.warn("Lock bulkhead is full.");
+            throw new AccountException(TOO_MANY_REQUESTS);
+        }
+
+        if (maxWaitersPerAccount > 0) {
+            int count = inFlightByAccount.merge(accountNumber, 1, Integer::sum);
+            // 보유자 1 + 대기자
+            if (count > maxWaitersPerAccount + 1) {
+                leaveAccount(accountNumber);
+                leaveGlobal();
+                log.warn("Too many lock waiters for accountNumber : {}", accountNumber);
+                throw new AccountException(ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    public void exit(String accountNumber) {
+        if (maxWaitersPerAccount > 0) {
+            leaveAccount(accountNumber);
+        }
+        leaveGlobal();
+    }
+
+    public int inFlight(String accountNumber) {
+        return inFlightByAccount.getOrDefault(accountNumber, 0);
+    }
+
+    private void leaveAccount(String accountNumber) {
+        inFlightByAccount.computeIfPresent(accountNumber,
+                (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private void leaveGlobal() {
+        if (maxConcurrent > 0) {
+            inFlight.decrementAndGet();
+        }
+    }
+}
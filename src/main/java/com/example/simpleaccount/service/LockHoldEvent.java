@@ -0,0 +1,33 @@
+package com.example.simpleaccount.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR : 계좌 Lock 보유 (취득 ~ 해제, 기본 50ms 이상만 기록)
+ */
+@Name("com.example.simpleaccount.LockHold")
+@Label("Account Lock Hold")
+@Category({"SimpleAccount", "Lock"})
+@Description("계좌 Lock 을 잡고 있던 시간")
+@Threshold("50 ms")
+@StackTrace(false)
+final class LockHoldEvent extends Event {
+    @Label("Account Hash")
+    int accountHash;
+
+    @Label("Lock Mode")
+    String mode;
+
+    void finish() {
+        end();
+        if (shouldCommit()) {
+            commit();
+        }
+    }
+}
@@ -1,41 +1,309 @@
 package com.example.simpleaccount.service;
 
+import com.example.simpleaccount.config.LockRedisClients;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.LockMode;
+import com.example.simpleaccount.type.LockOutcome;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 계좌 Lock
+ * 1. SINGLE : spring.redis 한 대의 Redisson Lock
+ * 2. QUORUM : 독립된 Redis N 대에 동시에(비동기) Lock 을 요청해서 과반수에서 얻으면 성공 (Redlock)
+ *    요청에 걸린 시간과 노드 간 시계 오차를 뺀 남은 유효 시간이 있어야 성공으로 보고,
+ *    실패하면 얻은 Lock 을 모두 풀고 잠시 뒤 다시 시도
+ *    유효 시간이 지난 뒤에는 커밋하지 않음 (QuorumLockFence 가 커밋 직전에 확인)
+ * 3. SHARDED : 계좌 번호로 N 대 중 한 대를 골라 Lock (과반수 없이 처리량만 나눔)
+ * 취득 대기와 보유 시간은 JFR 이벤트로도 남김 (기록 중일 때만 보유 구간을 추적)
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LockService {
+    public static final long DEFAULT_WAIT_MILLIS = 1000L;
+    private static final long LEASE_MILLIS = 15000L;
+    private static final long RETRY_DELAY_MILLIS = 50L;
+    private static final String LOCAL_MODE = "LOCAL";
+
     private final RedissonClient redissonClient;
+    private final LockRedisClients lockRedisClients;
+    private final AccountMetrics accountMetrics;
+
+    @Value("${account.lock.redis.mode:SINGLE}")
+    private LockMode mode;
+
+    // QUORUM : Redis 한 대의 응답을 기다리는 최대 시간 (Lock 유지 시간보다 충분히 짧게)
+    @Value("${account.lock.redis.response-timeout-ms:100}")
+    private long responseTimeoutMillis;
+
+    // QUORUM : 노드 간 시계 오차 비율 (유지 시간 x 비율 + 2ms 를 유효 시간에서 뺌)
+    @Value("${account.lock.redis.clock-drift-factor:0.01}")
+    private double clockDriftFactor;
+
+    // QUORUM : 이 스레드가 가진 계좌별 Lock 유효 시간 (System.nanoTime 기준, Redis Lock 도 스레드 단위)
+    private final ThreadLocal<Map<String, Long>> quorumValidUntil = ThreadLocal.withInitial(HashMap::new);
+
+    // 클러스터 모드의 담당 노드용 JVM 안의 계좌별 Lock (같은 스레드는 재진입 가능)
+    // 계좌 번호 순으로 잡는 순서가 그대로 지켜지도록 계좌끼리 Lock 을 나눠 쓰지 않고, 쓰는 요청이 없으면 제거
+    private final Map<String, LocalLock> localLocks = new ConcurrentHashMap<>();
+
+    // JFR 기록 중일 때만 계좌별 Lock 보유 이벤트를 보관
+    private final Map<String, LockHoldEvent> lockHolds = new ConcurrentHashMap<>();
 
     public void lock(String accountNumber) {
-        RLock lock = redissonClient.getLock(getLockKey(accountNumber));
+        lock(accountNumber, DEFAULT_WAIT_MILLIS);
+    }
+
+    // 취득 시간을 결과별로 기록 (얻지 못해 예외가 나면 TIMEOUT)
+    public void lock(String accountNumber, long waitMillis) {
+        long startedAt = System.nanoTime();
+        LockAcquireEvent event = new LockAcquireEvent();
+        event.begin();
+        LockOutcome outcome = LockOutcome.TIMEOUT;
+        try {
+            outcome = mode == LockMode.QUORUM
+                    ? lockQuorum(accountNumber, waitMillis)
+                    : lockSingle(accountNumber, waitMillis);
+        } finally {
+            accountMetrics.recordLockAcquire(outcome, System.nanoTime() - startedAt);
+            event.finish(accountNumber, String.valueOf(mode), outcome);
+        }
+        if (outcome == LockOutcome.ACQUIRED) {
+            beginHold(accountNumber, String.valueOf(mode));
+        }
+    }
+
+    private LockOutcome lockSingle(String accountNumber, long waitMillis) {
+        RLock lock = redisOf(accountNumber).getLock(getLockKey(accountNumber));
         log.debug("Trying lock for accountNumber : {}", accountNumber);
 
         try {
-            boolean isLock = lock.tryLock(1, 15, TimeUnit.SECONDS);
+            boolean isLock = lock.tryLock(waitMillis, LEASE_MILLIS, TimeUnit.MILLISECONDS);
             if (!isLock) {
                 log.error("======Lock acquisition failed=====");
                 throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
             }
+            return LockOutcome.ACQUIRED;
         } catch (AccountException e) {
             throw e;
         } catch (Exception e) {
             log.error("Redis lock failed", e);
+            return LockOutcome.ERROR;
         }
     }
 
     public void unlock(String accountNumber) {
         log.debug("Trying unlock for accountNumber : {}", accountNumber);
-        redissonClient.getLock(getLockKey(accountNumber)).unlock();
+        endHold(accountNumber);
+        if (mode == LockMode.QUORUM) {
+            unlockQuorum(accountNumber);
+            return;
+        }
+        redisOf(accountNumber).getLock(getLockKey(accountNumber)).unlock();
+    }
+
+    private RedissonClient redisOf(String accountNumber) {
+        return mode == LockMode.SHARDED
+                ? lockRedisClients.clientOf(accountNumber)
+                : redissonClient;
+    }
+
+    private LockOutcome lockQuorum(String accountNumber, long waitMillis) {
+        List<RedissonClient> clients = lockRedisClients.getClients();
+        int quorum = clients.size() / 2 + 1;
+        String lockKey = getLockKey(accountNumber);
+        long threadId = Thread.currentThread().getId();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+        log.debug("Trying quorum lock for accountNumber : {}", accountNumber);
+
+        while (true) {
+            long startedAt = System.nanoTime();
+            List<Future<Boolean>> attempts = new ArrayList<>(clients.size());
+            for (RedissonClient client : clients) {
+                attempts.add(client.getLock(lockKey)
+                        .tryLockAsync(0L, LEASE_MILLIS, TimeUnit.MILLISECONDS, threadId));
+            }
+
+            int acquired = 0;
+            long responseDeadline = startedAt + TimeUnit.MILLISECONDS.toNanos(responseTimeoutMillis);
+            for (Future<Boolean> attempt : attempts) {
+                if (awaitResult(attempt, responseDeadline)) {
+                    acquired++;
+                }
+            }
+
+            long now = System.nanoTime();
+            long validityMillis = validityMillis(LEASE_MILLIS,
+                    TimeUnit.NANOSECONDS.toMillis(now - startedAt), clockDriftFactor);
+            if (acquired >= quorum && validityMillis > 0) {
+                quorumValidUntil.get().put(accountNumber,
+                        now + TimeUnit.MILLISECONDS.toNanos(validityMillis));
+                return LockOutcome.ACQUIRED;
+            }
+
+            // 일부 노드에서 얻은 Lock 이 남아 다른 요청이 과반수를 얻지 못하는 일이 없도록 모두 해제
+            releaseQuorum(clients, lockKey, threadId);
+
+            long delayMillis = ThreadLocalRandom.current().nextLong(RETRY_DELAY_MILLIS / 2, RETRY_DELAY_MILLIS);
+            if (Thread.currentThread().isInterrupted()
+                    || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) >= deadline) {
+                log.error("======Quorum lock acquisition failed===== acquired : {}/{}",
+                        acquired, clients.size());
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    private void unlockQuorum(String accountNumber) {
+        Long validUntil = quorumValidUntil.get().remove(accountNumber);
+        if (validUntil != null && System.nanoTime() - validUntil > 0) {
+            log.warn("Quorum lock expired before unlock. accountNumber : {}", accountNumber);
+        }
+        releaseQuorum(lockRedisClients.getClients(), getLockKey(accountNumber),
+                Thread.currentThread().getId());
+    }
+
+    // QUORUM : 이 스레드가 가진 Lock 중 유효 시간이 지난 것이 있으면 실패 (다른 요청이 같은 계좌의 Lock 을 얻었을 수 있음)
+    public void checkQuorumValidity() {
+        Map<String, Long> validUntil = quorumValidUntil.get();
+        if (validUntil.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<String, Long> entry : validUntil.entrySet()) {
+            if (now - entry.getValue() > 0) {
+                log.error("Quorum lock expired before commit. accountNumber : {}", entry.getKey());
+                throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+            }
+        }
+    }
+
+    // 응답이 없거나 Lock 을 얻지 못한 노드에도 해제를 보냄 (늦게 얻었을 수 있음)
+    private void releaseQuorum(List<RedissonClient> clients, String lockKey, long threadId) {
+        List<Future<Void>> releases = new ArrayList<>(clients.size());
+        for (RedissonClient client : clients) {
+            try {
+                releases.add(client.getLock(lockKey).unlockAsync(threadId));
+            } catch (Exception e) {
+                log.warn("Quorum unlock failed. key : {}", lockKey, e);
+            }
+        }
+
+        long responseDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(responseTimeoutMillis);
+        releases.forEach(release -> awaitResult(release, responseDeadline));
+    }
+
+    // 제한 시간 안에 성공 응답을 받았는지 (보유하지 않은 Lock 해제 같은 실패는 무시)
+    private static boolean awaitResult(Future<?> future, long deadlineNanos) {
+        try {
+            Object result = future.get(Math.max(0L, deadlineNanos - System.nanoTime()),
+                    TimeUnit.NANOSECONDS);
+            return result == null || Boolean.TRUE.equals(result);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+
+    // 유지 시간에서 요청에 걸린 시간과 시계 오차를 뺀 남은 유효 시간
+    static long validityMillis(long leaseMillis, long elapsedMillis, double clockDriftFactor) {
+        long driftMillis = (long) (leaseMillis * clockDriftFactor) + 2L;
+        return leaseMillis - elapsedMillis - driftMillis;
+    }
+
+    public void lockLocal(String accountNumber, long waitMillis) {
+        long startedAt = System.nanoTime();
+        LockAcquireEvent event = new LockAcquireEvent();
+        event.begin();
+        LocalLock localLock = localLocks.compute(accountNumber, (key, current) -> {
+            LocalLock lock = current == null ? new LocalLock() : current;
+            lock.users++;
+            return lock;
+        });
+        boolean isLock;
+        try {
+            isLock = localLock.lock.tryLock(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isLock = false;
+        }
+        if (!isLock) {
+            releaseLocalLock(accountNumber);
+        }
+
+        LockOutcome outcome = isLock ? LockOutcome.ACQUIRED : LockOutcome.TIMEOUT;
+        accountMetrics.recordLockAcquire(outcome, System.nanoTime() - startedAt);
+        event.finish(accountNumber, LOCAL_MODE, outcome);
+        if (!isLock) {
+            log.error("======Local lock acquisition failed=====");
+            throw new AccountException(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        }
+        beginHold(accountNumber, LOCAL_MODE);
+    }
+
+    public void unlockLocal(String accountNumber) {
+        endHold(accountNumber);
+        localLocks.get(accountNumber).lock.unlock();
+        releaseLocalLock(accountNumber);
+    }
+
+    private void releaseLocalLock(String accountNumber) {
+        localLocks.computeIfPresent(accountNumber,
+                (key, lock) -> --lock.users == 0 ? null : lock);
+    }
+
+    // 재진입한 경우 처음 취득한 시점부터 첫 해제까지로 기록
+    private void beginHold(String accountNumber, String lockMode) {
+        LockHoldEvent event = new LockHoldEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.accountHash = accountNumber.hashCode();
+        event.mode = lockMode;
+        event.begin();
+        lockHolds.putIfAbsent(accountNumber, event);
+    }
+
+    private void endHold(String accountNumber) {
+        if (lockHolds.isEmpty()) {
+            return;
+        }
+        LockHoldEvent event = lockHolds.remove(accountNumber);
+        if (event != null) {
+            event.finish();
+        }
+    }
+
+    // 기다리거나 가진 요청 수 (재진입 포함, localLocks 의 compute 안에서만 변경)
+    private static final class LocalLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users;
     }
 
     private static String getLockKey(String accountNumber) {
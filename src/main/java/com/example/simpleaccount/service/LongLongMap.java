@@ -0,0 +1,145 @@
+package com.example.simpleaccount.service;
+
+import java.util.Arrays;
+
+/**
+ * long -> long 해시 테이블 (boxing 없음)
+ * 선형 탐색(open addressing), 삭제 시 뒤의 항목을 당겨 빈 칸을 메움
+ * 동기화하지 않으므로 호출하는 쪽에서 보호
+ */
+final class LongLongMap {
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeAt;
+
+    LongLongMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    long get(long key, long missingValue) {
+        int index = indexOf(key);
+        return index < 0 ? missingValue : values[index];
+    }
+
+    void put(long key, long value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Reserved key : " + key);
+        }
+
+        int index = slot(key);
+        while (keys[index] != FREE) {
+            if (keys[index] == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        keys[index] = key;
+        values[index] = value;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    boolean remove(long key) {
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return false;
+        }
+
+        // 빈 칸 뒤에서 원래 자리가 빈 칸 이전인 항목을 당겨옴
+        int index = gap;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == FREE) {
+                break;
+            }
+
+            int home = slot(keys[index]);
+            boolean between = gap <= index
+                    ? home > gap && home <= index
+                    : home > gap || home <= index;
+            if (!between) {
+                keys[gap] = keys[index];
+                values[gap] = values[index];
+                gap = index;
+            }
+        }
+
+        keys[gap] = FREE;
+        size--;
+        return true;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    LongLongMap copy() {
+        LongLongMap copy = new LongLongMap(16);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.mask = mask;
+        copy.size = size;
+        copy.resizeAt = resizeAt;
+        return copy;
+    }
+
+    private int indexOf(long key) {
+        int index = slot(key);
+        while (keys[index] != FREE) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+        resizeAt = capacity / 2;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    interface Visitor {
+        void visit(long key, long value);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.simpleaccount.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노드 메모리 캐시 (CacheInvalidationBus 가 무효화)
+ * 1. 항목은 ttl 이 지나면 만료 (무효화 메시지를 놓쳐도 오래된 값이 남지 않도록)
+ * 2. 무효화된 키는 tombstone 시간 동안 다시 저장하지 않음
+ *    (무효화 전에 시작한 조회나 replica 지연으로 읽은 이전 값이 다시 들어가지 않도록)
+ * 3. 가득 차면 만료된 항목을 정리하고, 그래도 가득 차면 저장하지 않음
+ */
+final class NearCache {
+    private final long ttlMillis;
+    private final long tombstoneMillis;
+    private final int maxEntries;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Long> tombstones = new ConcurrentHashMap<>();
+    private volatile long flushedUntilMillis;
+
+    NearCache(long ttlMillis, long tombstoneMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.tombstoneMillis = tombstoneMillis;
+        this.maxEntries = maxEntries;
+    }
+
+    // 없거나 만료되었으면 null
+    Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    void put(String key, Object value) {
+        long now = System.currentTimeMillis();
+        Long tombstone = tombstones.get(key);
+        if (now < flushedUntilMillis || (tombstone != null && now < tombstone)) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, new Entry(value, now + ttlMillis));
+    }
+
+    void invalidate(String key) {
+        tombstones.put(key, System.currentTimeMillis() + tombstoneMillis);
+        entries.remove(key);
+    }
+
+    // 놓친 무효화가 있을 수 있으면 전부 비우고 tombstone 시간 동안 저장하지 않음
+    void flush() {
+        flushedUntilMillis = System.currentTimeMillis() + tombstoneMillis;
+        entries.clear();
+        tombstones.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void evictExpired() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis <= now);
+        tombstones.values().removeIf(until -> until <= now);
+    }
+
+    private record Entry(Object value, long expiresAtMillis) {
+    }
+}
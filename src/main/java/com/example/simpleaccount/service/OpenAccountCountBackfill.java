@@ -0,0 +1,64 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.repository.AccountRepository;
+import com.example.simpleaccount.repository.AccountUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
+
+/**
+ * 시작 시 사용자별 해지되지 않은 계좌 수(openAccountCount) 보정
+ * openAccountCount 가 추가되기 전에 만든 사용자는 0 으로 남아 최대 계좌 수 검사를 통과하므로
+ * 모든 shard 의 ACTIVE 계좌 수를 세고, 저장된 값이 더 작으면 센 값으로 올림
+ * (동시에 만들어지는 계좌가 있어도 줄이지는 않음)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OpenAccountCountBackfill {
+    private static final int USER_SHARD = 0;
+
+    private final AccountRepository accountRepository;
+    private final AccountUserRepository accountUserRepository;
+    private final ShardRouter shardRouter;
+
+    @Value("${account.open-account-count.backfill-on-start:true}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (List<Object[]> rows : shardRouter.fanOut(
+                shard -> accountRepository.countByStatusGroupByUser(ACTIVE))) {
+            for (Object[] row : rows) {
+                counts.merge((Long) row[0], (Long) row[1], Long::sum);
+            }
+        }
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        int updated = shardRouter.inNewTransaction(USER_SHARD, () -> {
+            int count = 0;
+            for (Map.Entry<Long, Long> entry : counts.entrySet()) {
+                count += accountUserRepository.raiseOpenAccountCount(
+                        entry.getKey(), entry.getValue().intValue());
+            }
+            return count;
+        });
+        log.info("Backfilled open account count of {} users.", updated);
+    }
+}
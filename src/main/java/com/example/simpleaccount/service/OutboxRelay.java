@@ -0,0 +1,98 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.OutboxEvent;
+import com.example.simpleaccount.dto.BalanceEvent;
+import com.example.simpleaccount.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox 이벤트를 배치로 읽어 등록된 sink 로 전달
+ * 1. 아이디 순으로 읽은 배치를 모든 sink 에 전달한 뒤 그 이벤트들만 아이디로 삭제 (최소 한 번 전달)
+ *    아이디는 커밋 순서가 아니므로(시퀀스 블록 할당) 위치(offset) 대신 남아 있는 행이 곧 전달할 이벤트
+ * 2. 한 sink 라도 실패하면 삭제하지 않고 다음 주기에 모든 sink 에 다시 전달 (sink 는 transactionId 로 중복을 거름)
+ * 3. 여러 노드 중 Redis Lock 을 잡은 노드만 전달
+ * 4. shard 마다 outbox 가 따로 있으므로 shard 별로 전달
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<BalanceEventSink> sinks;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+
+    @Value("${account.outbox.batch-size:500}")
+    private int batchSize;
+
+    // 막 저장된 이벤트는 다음 주기에 전달 (먼저 커밋된 이벤트가 먼저 전달되도록, 유실과는 무관)
+    @Value("${account.outbox.settle-millis:1000}")
+    private long settleMillis;
+
+    @Scheduled(fixedDelayString = "${account.outbox.relay-interval-ms:500}")
+    public void relay() {
+        RLock relayLock = redissonClient.getLock("OUTBOX_RELAY");
+        try {
+            if (!relayLock.tryLock()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay lock failed", e);
+            return;
+        }
+
+        try {
+            for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+                ShardContext.run(shard, this::relayShard);
+            }
+        } finally {
+            relayLock.unlock();
+        }
+    }
+
+    private void relayShard() {
+        while (true) {
+            List<OutboxEvent> events =
+                    outboxEventRepository.findByCreatedAtBeforeOrderByIdAsc(
+                            LocalDateTime.now().minusNanos(settleMillis * 1_000_000L),
+                            PageRequest.of(0, batchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+
+            List<BalanceEvent> balanceEvents = events.stream()
+                    .map(BalanceEvent::fromEntity)
+                    .collect(Collectors.toList());
+            for (BalanceEventSink sink : sinks) {
+                try {
+                    sink.publish(balanceEvents);
+                } catch (Exception e) {
+                    // 다음 주기에 같은 이벤트부터 다시 전달
+                    log.error("Failed to publish outbox events to {}", sink.getName(), e);
+                    return;
+                }
+            }
+
+            // 전달한 행만 삭제 (그 사이에 커밋된 더 작은 아이디의 이벤트는 남음)
+            int deleted = outboxEventRepository.deleteByIdIn(events.stream()
+                    .map(OutboxEvent::getId)
+                    .collect(Collectors.toList()));
+            log.debug("Purged {} delivered outbox events.", deleted);
+
+            if (events.size() < batchSize) {
+                return;
+            }
+        }
+    }
+}
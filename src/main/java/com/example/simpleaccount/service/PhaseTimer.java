@@ -0,0 +1,146 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.PhaseTiming;
+import com.example.simpleaccount.type.TimingPhase;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 요청 처리 구간별 소요 시간 측정
+ * 1. 꺼져 있으면 begin 은 0 을 반환하고 end 는 바로 반환 (시간 조회, 할당 없음)
+ * 2. 켜져 있으면 구간마다 히스토그램에 기록
+ * 3. 요청 기록을 시작한 스레드는 구간별 합계를 모아서 Server-Timing 헤더로 응답
+ */
+public final class PhaseTimer {
+    private static final TimingPhase[] PHASES = TimingPhase.values();
+    private static final PhaseHistogram[] HISTOGRAMS = new PhaseHistogram[PHASES.length];
+    private static final ThreadLocal<long[]> REQUEST_NANOS = new ThreadLocal<>();
+
+    private static volatile boolean enabled;
+
+    static {
+        for (int i = 0; i < PHASES.length; i++) {
+            HISTOGRAMS[i] = new PhaseHistogram();
+        }
+    }
+
+    private PhaseTimer() {
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // 꺼져 있으면 0
+    public static long begin() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public static void end(TimingPhase phase, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+
+        long elapsed = System.nanoTime() - startNanos;
+        HISTOGRAMS[phase.ordinal()].record(elapsed);
+
+        long[] request = REQUEST_NANOS.get();
+        if (request != null) {
+            request[phase.ordinal()] += elapsed;
+        }
+    }
+
+    /**
+     * 커밋 직전에 flush 하고 flush, commit(DB 커밋) 시간을 따로 기록
+     * 꺼져 있거나 트랜잭션 밖이면 아무것도 하지 않음 (커밋할 때 평소처럼 flush)
+     */
+    public static void timeFlushAndCommit(Runnable flush) {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    private long commitStart;
+
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        long flushStart = begin();
+                        flush.run();
+                        end(TimingPhase.FLUSH, flushStart);
+                        commitStart = begin();
+                    }
+
+                    @Override
+                    public void afterCommit() {
+                        end(TimingPhase.COMMIT, commitStart);
+                    }
+                });
+    }
+
+    // 요청 시작 시 호출 (꺼져 있으면 기록하지 않음)
+    public static void startRequest() {
+        if (enabled) {
+            REQUEST_NANOS.set(new long[PHASES.length]);
+        }
+    }
+
+    public static void clearRequest() {
+        REQUEST_NANOS.remove();
+    }
+
+    // 예) lock;dur=1.204, user;dur=0.310 (기록 중인 요청이 없거나 측정된 구간이 없으면 null)
+    public static String serverTiming() {
+        long[] request = REQUEST_NANOS.get();
+        if (request == null) {
+            return null;
+        }
+
+        StringBuilder header = new StringBuilder();
+        for (int i = 0; i < PHASES.length; i++) {
+            if (request[i] == 0L) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(PHASES[i].getMetricName())
+                    .append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", toMillis(request[i])));
+        }
+        return header.isEmpty() ? null : header.toString();
+    }
+
+    public static PhaseHistogram histogram(TimingPhase phase) {
+        return HISTOGRAMS[phase.ordinal()];
+    }
+
+    public static List<PhaseTiming> snapshot() {
+        return Arrays.stream(PHASES)
+                .map(phase -> {
+                    PhaseHistogram histogram = histogram(phase);
+                    return PhaseTiming.builder()
+                            .phase(phase.getMetricName())
+                            .count(histogram.getCount())
+                            .totalMillis(toMillis(histogram.getTotalNanos()))
+                            .maxMillis(toMillis(histogram.getMaxNanos()))
+                            .p50Millis(toMillis(histogram.percentileNanos(0.5)))
+                            .p90Millis(toMillis(histogram.percentileNanos(0.9)))
+                            .p99Millis(toMillis(histogram.percentileNanos(0.99)))
+                            .build();
+                })
+                .toList();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.simpleaccount.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * QUORUM Lock 유효 시간 확인
+ * 1. 트랜잭션이 커밋되기 직전에 이 스레드가 가진 Lock 의 유효 시간을 확인
+ * 2. 지났으면 ACCOUNT_TRANSACTION_LOCK 으로 실패시켜 롤백 (Lock 을 잃은 뒤의 변경은 반영하지 않음)
+ * 트랜잭션 매니저에 자동으로 등록됨 (TransactionExecutionListener 빈)
+ */
+@Component
+@RequiredArgsConstructor
+public class QuorumLockFence implements TransactionExecutionListener {
+    private final LockService lockService;
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        lockService.checkQuorumValidity();
+    }
+}
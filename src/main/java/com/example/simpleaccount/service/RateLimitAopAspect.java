@@ -0,0 +1,54 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.aop.AccountLockIdInterface;
+import com.example.simpleaccount.aop.RateLimit;
+import com.example.simpleaccount.aop.RateLimitUserIdInterface;
+import com.example.simpleaccount.type.RateLimitType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청 제한은 Lock 취득, DB 조회 전에 수행
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(20)
+@RequiredArgsConstructor
+public class RateLimitAopAspect {
+    private final RateLimitService rateLimitService;
+
+    @Around("@annotation(rateLimit) && args(request)")
+    public Object aroundMethod(
+            ProceedingJoinPoint pjp,
+            RateLimit rateLimit,
+            Object request
+    ) throws Throwable {
+        for (RateLimitType type : rateLimit.value()) {
+            String id = getLimitId(type, request);
+            if (id != null) {
+                rateLimitService.acquire(type, id);
+            }
+        }
+
+        return pjp.proceed();
+    }
+
+    private static String getLimitId(RateLimitType type, Object request) {
+        if (type == RateLimitType.USER
+                && request instanceof RateLimitUserIdInterface userIdRequest
+                && userIdRequest.getUserId() != null) {
+            return String.valueOf(userIdRequest.getUserId());
+        }
+        if (type == RateLimitType.ACCOUNT
+                && request instanceof AccountLockIdInterface accountRequest) {
+            return accountRequest.getAccountNumber();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.type.RateLimitType;
+import com.example.simpleaccount.type.StoreMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.simpleaccount.type.ErrorCode.TOO_MANY_REQUESTS;
+
+/**
+ * 사용자/계좌별 토큰 버킷 요청 제한
+ * 1. LOCAL : 노드 메모리 토큰 버킷
+ * 2. REDIS : Lua 스크립트로 원자적으로 갱신되는 공유 토큰 버킷
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RateLimitService {
+    private static final String ACQUIRE_SCRIPT =
+            "local capacity = tonumber(ARGV[1]) " +
+            "local now = tonumber(ARGV[3]) " +
+            "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') " +
+            "local tokens = tonumber(state[1]) or capacity " +
+            "local ts = tonumber(state[2]) or now " +
+            "if now > ts then " +
+            "  tokens = math.min(capacity, tokens + (now - ts) * tonumber(ARGV[2])) " +
+            "  ts = now " +
+            "end " +
+            "local allowed = 0 " +
+            "if tokens >= 1 then " +
+            "  tokens = tokens - 1 " +
+            "  allowed = 1 " +
+            "end " +
+            "redis.call('HMSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "return allowed";
+
+    private final RedissonClient redissonClient;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    @Value("${account.rate-limit.mode:LOCAL}")
+    private StoreMode mode;
+
+    @Value("${account.rate-limit.user.permits-per-second:0}")
+    private double userPermitsPerSecond;
+
+    @Value("${account.rate-limit.user.burst:0}")
+    private double userBurst;
+
+    @Value("${account.rate-limit.account.permits-per-second:0}")
+    private double accountPermitsPerSecond;
+
+    @Value("${account.rate-limit.account.burst:0}")
+    private double accountBurst;
+
+    public void acquire(RateLimitType type, String id) {
+        double permitsPerSecond = permitsPerSecond(type);
+        if (permitsPerSecond <= 0) {
+            return;
+        }
+
+        double capacity = Math.max(1, type == RateLimitType.USER ? userBurst : accountBurst);
+        String key = getBucketKey(type, id);
+
+        if (!tryAcquire(key, permitsPerSecond, capacity)) {
+            log.warn("Rate limit exceeded for {} : {}", type, id);
+            throw new AccountException(TOO_MANY_REQUESTS);
+        }
+    }
+
+    private boolean tryAcquire(String key, double permitsPerSecond, double capacity) {
+        if (mode == StoreMode.REDIS) {
+            try {
+                Long allowed = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                        RScript.Mode.READ_WRITE, ACQUIRE_SCRIPT, RScript.ReturnType.INTEGER,
+                        Collections.singletonList(key),
+                        String.valueOf(capacity),
+                        String.valueOf(permitsPerSecond / 1000d),
+                        String.valueOf(System.currentTimeMillis()),
+                        String.valueOf(refillMillis(permitsPerSecond, capacity)));
+                return allowed == null || allowed == 1L;
+            } catch (Exception e) {
+                // 제한 저장소 장애로 거래 전체를 막지 않음
+                log.error("Redis rate limit failed", e);
+                return true;
+            }
+        }
+
+        long now = System.nanoTime();
+        return buckets.computeIfAbsent(key,
+                        k -> new TokenBucket(permitsPerSecond, capacity, now))
+                .tryAcquire(now);
+    }
+
+    // 가득 찬 로컬 버킷 정리
+    @Scheduled(fixedDelayString = "${account.rate-limit.evict-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key,
+                    (k, bucket) -> bucket.isFull(now) ? null : bucket);
+        }
+    }
+
+    private double permitsPerSecond(RateLimitType type) {
+        return type == RateLimitType.USER ? userPermitsPerSecond : accountPermitsPerSecond;
+    }
+
+    // 비어 있던 버킷이 가득 찰 때까지의 시간 (이후 키가 없어도 동작이 같음)
+    private static long refillMillis(double permitsPerSecond, double capacity) {
+        return (long) Math.ceil(capacity / permitsPerSecond * 1000d) + 1000L;
+    }
+
+    private static String getBucketKey(RateLimitType type, String id) {
+        return "RTLM:" + type + ":" + id;
+    }
+}
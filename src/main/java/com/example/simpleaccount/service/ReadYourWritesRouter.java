@@ -0,0 +1,141 @@
+package com.example.simpleaccount.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 방금 쓴 데이터를 읽는 요청은 replica 지연과 관계없이 primary 에서 조회
+ * 1. 쓰기가 커밋되면 사용자, 거래 키를 replica 최대 지연 시간 동안 기록
+ * 2. 기록된 키의 조회는 primary 로, 그 외는 replica 로
+ * 3. replica 에 없는 거래는 아직 복제되지 않았을 수 있으므로 primary 에서 한 번 더 조회
+ * 기록은 노드별로 관리하므로 다른 노드의 쓰기는 3 으로 보완
+ */
+@Component
+public class ReadYourWritesRouter {
+    private final TransactionTemplate readOnly;
+    private final Map<String, Long> writtenUntil = new ConcurrentHashMap<>();
+
+    @Value("${account.datasource.replica.enabled:false}")
+    private boolean replicaEnabled;
+
+    @Value("${account.datasource.replica.max-lag-ms:1000}")
+    private long maxLagMillis;
+
+    // 여러 키 조회 시 IN 쿼리 하나의 최대 키 수 (0 이하면 나누지 않음)
+    @Value("${account.query.in-chunk-size:500}")
+    private int inChunkSize;
+
+    public ReadYourWritesRouter(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    public static String userKey(Long userId) {
+        return "USER:" + userId;
+    }
+
+    public static String transactionKey(String transactionId) {
+        return "TX:" + transactionId;
+    }
+
+    public static String accountKey(String accountNumber) {
+        return "ACCOUNT:" + accountNumber;
+    }
+
+    public void markWritten(String key) {
+        if (!replicaEnabled) {
+            return;
+        }
+        TransactionCallbacks.afterCommit(() ->
+                writtenUntil.put(key, System.currentTimeMillis() + maxLagMillis));
+    }
+
+    public boolean isRecentlyWritten(String key) {
+        Long until = writtenUntil.get(key);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    // 읽기 전용 트랜잭션 안에서 첫 조회 전에 호출
+    public void usePrimaryIfRecentlyWritten(String key) {
+        if (replicaEnabled && isRecentlyWritten(key)) {
+            ReplicaRouting.usePrimary();
+        }
+    }
+
+    /**
+     * 읽기 전용 트랜잭션으로 조회
+     * replica 에서 찾지 못하면 primary 에서 다시 조회
+     */
+    public <T> Optional<T> read(String key, Supplier<Optional<T>> query) {
+        boolean primary = !replicaEnabled || isRecentlyWritten(key);
+        Optional<T> result = readOnly.execute(status -> {
+            if (primary) {
+                ReplicaRouting.usePrimary();
+            }
+            return query.get();
+        });
+
+        if ((result == null || result.isEmpty()) && !primary) {
+            result = readOnly.execute(status -> {
+                ReplicaRouting.usePrimary();
+                return query.get();
+            });
+        }
+        return result == null ? Optional.empty() : result;
+    }
+
+    /**
+     * 여러 키를 읽기 전용 트랜잭션 하나로 조회 (IN 쿼리는 inChunkSize 개씩 나눠서 실행)
+     * 방금 쓴 키가 하나라도 있으면 primary 에서 조회
+     * replica 에서 찾지 못한 키만 primary 에서 다시 조회
+     */
+    public <K, T> Map<K, T> readAll(List<K> ids, Function<K, String> keyOf,
+                                    Function<List<K>, Map<K, T>> query) {
+        boolean primary = !replicaEnabled
+                || ids.stream().map(keyOf).anyMatch(this::isRecentlyWritten);
+        Map<K, T> found = readChunks(ids, query, primary);
+
+        if (!primary && found.size() < ids.size()) {
+            List<K> missing = ids.stream()
+                    .filter(id -> !found.containsKey(id))
+                    .toList();
+            found.putAll(readChunks(missing, query, true));
+        }
+        return found;
+    }
+
+    private <K, T> Map<K, T> readChunks(List<K> ids, Function<List<K>, Map<K, T>> query,
+                                        boolean primary) {
+        Map<K, T> found = readOnly.execute(status -> {
+            if (primary) {
+                ReplicaRouting.usePrimary();
+            }
+
+            Map<K, T> result = new HashMap<>();
+            int chunkSize = inChunkSize > 0 ? inChunkSize : ids.size();
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                result.putAll(query.apply(
+                        ids.subList(from, Math.min(from + chunkSize, ids.size()))));
+            }
+            return result;
+        });
+        return found == null ? new HashMap<>() : found;
+    }
+
+    @Scheduled(fixedDelayString = "${account.datasource.replica.evict-interval-ms:60000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        writtenUntil.values().removeIf(until -> until <= now);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.domain.Transaction;
+import com.example.simpleaccount.dto.ReconciliationReport;
+import com.example.simpleaccount.dto.ReconciliationReport.Discrepancy;
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.repository.AccountRepository;
+import com.example.simpleaccount.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static com.example.simpleaccount.type.DiscrepancyType.BALANCE_MISMATCH;
+import static com.example.simpleaccount.type.DiscrepancyType.REPLAY_MISMATCH;
+import static com.example.simpleaccount.type.ErrorCode.RECONCILIATION_IN_PROGRESS;
+import static com.example.simpleaccount.type.TransactionResultType.S;
+
+/**
+ * 계좌 잔액 대사
+ * 1. 계좌 잔액 = 마지막 성공 거래의 잔액
+ * 2. 성공 거래를 거래 일시 순서로 재생했을 때 각 거래의 잔액이 이어짐
+ *    (아이디는 노드별 시퀀스 블록, 비동기 저장 때문에 거래 순서가 아님)
+ * 계좌 아이디를 chunk 단위로 읽어 fork-join pool 에서 chunk 별 읽기 전용 트랜잭션으로 검사
+ * shard 마다 계좌 아이디가 따로 발급되므로 shard 별로 차례로 읽음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReconciliationService {
+    private static final Comparator<Transaction> REPLAY_ORDER = Comparator
+            .comparing(Transaction::getTransactedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Transaction::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final RedissonClient redissonClient;
+    private final ShardRouter shardRouter;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ReconciliationReport lastReport;
+
+    @Value("${account.reconciliation.chunk-size:1000}")
+    private int chunkSize;
+
+    // 0 이하면 CPU 코어 수
+    @Value("${account.reconciliation.parallelism:0}")
+    private int parallelism;
+
+    @Value("${account.reconciliation.max-reported:100}")
+    private int maxReported;
+
+    // 여러 노드 중 Redis Lock 을 잡은 노드만 실행
+    @Scheduled(cron = "${account.reconciliation.cron:0 0 4 * * *}")
+    public void scheduledReconcile() {
+        RLock reconciliationLock = redissonClient.getLock("RECONCILIATION");
+        try {
+            if (!reconciliationLock.tryLock()) {
+                return;
+            }
+        } catch (Exception e) {
+            log.error("Reconciliation lock failed", e);
+            return;
+        }
+
+        try {
+            reconcile();
+        } catch (AccountException e) {
+            log.warn("Reconciliation is already running on this node.");
+        } finally {
+            reconciliationLock.unlock();
+        }
+    }
+
+    public ReconciliationReport getLastReport() {
+        return lastReport;
+    }
+
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new AccountException(RECONCILIATION_IN_PROGRESS);
+        }
+
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            ReconciliationReport report = run(pool, threads);
+            lastReport = report;
+            return report;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    private ReconciliationReport run(ForkJoinPool pool, int threads) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long startedNanos = System.nanoTime();
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        Totals totals = new Totals(maxReported);
+
+        // 진행 중인 chunk 수를 제한해 계좌 아이디를 모두 메모리에 올리지 않음
+        Deque<ForkJoinTask<?>> inFlight = new ArrayDeque<>();
+        for (int shard = 0; shard < shardRouter.getShardCount(); shard++) {
+            int target = shard;
+            long lastId = 0L;
+            while (true) {
+                long afterId = lastId;
+                List<Long> accountIds = ShardContext.call(target, () -> readOnly.execute(status ->
+                        accountRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize))));
+                if (accountIds == null || accountIds.isEmpty()) {
+                    break;
+                }
+                lastId = accountIds.get(accountIds.size() - 1);
+
+                if (inFlight.size() >= threads * 2) {
+                    inFlight.poll().join();
+                }
+                inFlight.add(pool.submit(() -> ShardContext.run(target,
+                        () -> reconcileChunk(accountIds, readOnly, totals))));
+            }
+        }
+        inFlight.forEach(ForkJoinTask::join);
+
+        double seconds = Math.max(1e-3, (System.nanoTime() - startedNanos) / 1e9);
+        ReconciliationReport report = ReconciliationReport.builder()
+                .startedAt(startedAt)
+                .finishedAt(LocalDateTime.now())
+                .accountCount(totals.accounts.sum())
+                .transactionCount(totals.transactions.sum())
+                .discrepancyCount(totals.discrepancyCount.sum())
+                .accountsPerSecond(totals.accounts.sum() / seconds)
+                .discrepancies(totals.reported())
+                .build();
+
+        log.info("Reconciled {} accounts, {} transactions in {} s ({} accounts/s), {} discrepancies.",
+                report.getAccountCount(), report.getTransactionCount(),
+                String.format("%.1f", seconds), String.format("%.0f", report.getAccountsPerSecond()),
+                report.getDiscrepancyCount());
+        return report;
+    }
+
+    private void reconcileChunk(List<Long> accountIds, TransactionTemplate readOnly, Totals totals) {
+        try {
+            List<Discrepancy> found = readOnly.execute(status -> check(accountIds, totals));
+            if (found == null || found.isEmpty()) {
+                return;
+            }
+
+            // 검사 중에 처리된 거래 때문일 수 있으므로 해당 계좌만 다시 확인
+            Set<String> suspects = found.stream()
+                    .map(Discrepancy::getAccountNumber)
+                    .collect(Collectors.toSet());
+            List<Long> suspectIds = readOnly.execute(status ->
+                    accountRepository.findByAccountNumberIn(suspects).stream()
+                            .map(Account::getId)
+                            .collect(Collectors.toList()));
+            List<Discrepancy> confirmed = readOnly.execute(status -> check(suspectIds, null));
+
+            if (confirmed != null) {
+                confirmed.forEach(totals::report);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile accounts {} ~ {}",
+                    accountIds.get(0), accountIds.get(accountIds.size() - 1), e);
+        }
+    }
+
+    // totals 가 null 이면 건수를 세지 않음 (재확인)
+    private List<Discrepancy> check(List<Long> accountIds, Totals totals) {
+        List<Account> accounts = accountRepository.findAllById(accountIds);
+        if (accounts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, List<Transaction>> transactions =
+                transactionRepository.findByAccountInAndTransactionResultOrderByTransactedAtAscIdAsc(
+                                accounts, S)
+                        .stream()
+                        .collect(Collectors.groupingBy(
+                                transaction -> transaction.getAccount().getId()));
+
+        if (totals != null) {
+            totals.accounts.add(accounts.size());
+            totals.transactions.add(transactions.values().stream().mapToLong(List::size).sum());
+        }
+
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        for (Account account : accounts) {
+            discrepancies.addAll(checkAccount(account,
+                    transactions.getOrDefault(account.getId(), Collections.emptyList())));
+        }
+        return discrepancies;
+    }
+
+    // DB 에서 같은 순서로 읽으므로 보통은 이미 정렬되어 있음
+    static List<Discrepancy> checkAccount(Account account, List<Transaction> transactions) {
+        List<Discrepancy> discrepancies = new ArrayList<>();
+
+        List<Transaction> ordered = new ArrayList<>(transactions);
+        ordered.sort(REPLAY_ORDER);
+
+        Transaction previous = null;
+        for (Transaction transaction : ordered) {
+            Long expected = previous == null ? null : replay(previous, transaction);
+            if (expected != null && !expected.equals(transaction.getBalanceSnapshot())) {
+                discrepancies.add(Discrepancy.builder()
+                        .type(REPLAY_MISMATCH)
+                        .accountNumber(account.getAccountNumber())
+                        .transactionId(transaction.getTransactionId())
+                        .expected(expected)
+                        .actual(transaction.getBalanceSnapshot())
+                        .build());
+            }
+            previous = transaction;
+        }
+
+        if (previous != null && !Objects.equals(previous.getBalanceSnapshot(), account.getBalance())) {
+            discrepancies.add(Discrepancy.builder()
+                    .type(BALANCE_MISMATCH)
+                    .accountNumber(account.getAccountNumber())
+                    .transactionId(previous.getTransactionId())
+                    .expected(previous.getBalanceSnapshot())
+                    .actual(account.getBalance())
+                    .build());
+        }
+        return discrepancies;
+    }
+
+    // 이전 거래 잔액에 거래 금액을 반영한 잔액 (알 수 없는 거래 종류면 null)
+    private static Long replay(Transaction previous, Transaction transaction) {
+        return switch (transaction.getTransactionType()) {
+            case USE, TRANSFER_OUT -> previous.getBalanceSnapshot() - transaction.getAmount();
+            case CANCEL, TRANSFER_IN -> previous.getBalanceSnapshot() + transaction.getAmount();
+            default -> null;
+        };
+    }
+
+    private static class Totals {
+        private final LongAdder accounts = new LongAdder();
+        private final LongAdder transactions = new LongAdder();
+        private final LongAdder discrepancyCount = new LongAdder();
+        private final List<Discrepancy> discrepancies = new ArrayList<>();
+        private final int maxReported;
+
+        private Totals(int maxReported) {
+            this.maxReported = maxReported;
+        }
+
+        private void report(Discrepancy discrepancy) {
+            discrepancyCount.increment();
+            synchronized (discrepancies) {
+                if (discrepancies.size() < maxReported) {
+                    discrepancies.add(discrepancy);
+                }
+            }
+            log.warn("Balance discrepancy {} accountNumber : {}, transactionId : {}, expected : {}, actual : {}",
+                    discrepancy.getType(), discrepancy.getAccountNumber(),
+                    discrepancy.getTransactionId(), discrepancy.getExpected(), discrepancy.getActual());
+        }
+
+        private List<Discrepancy> reported() {
+            synchronized (discrepancies) {
+                return new ArrayList<>(discrepancies);
+            }
+        }
+    }
+}
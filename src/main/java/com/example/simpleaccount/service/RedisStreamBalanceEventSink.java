@@ -0,0 +1,66 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.BalanceEvent;
+import lombok.RequiredArgsConstructor;
+import org.redisson.api.RBatch;
+import org.redisson.api.RStreamAsync;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis Stream 으로 전달 (배치 하나당 Redis 왕복 1회)
+ * 소비자는 consumer group 으로 자신의 읽은 위치를 관리
+ * 다시 전달된 배치는 새 stream 항목으로 추가되므로 소비자는 transactionId 로 중복을 걸러야 함
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "account.outbox.redis-stream.enabled", havingValue = "true")
+public class RedisStreamBalanceEventSink implements BalanceEventSink {
+    private final RedissonClient redissonClient;
+
+    @Value("${account.outbox.redis-stream.name:BALANCE_EVENTS}")
+    private String streamName;
+
+    @Value("${account.outbox.redis-stream.max-length:100000}")
+    private int maxLength;
+
+    @Override
+    public String getName() {
+        return "redis-stream";
+    }
+
+    @Override
+    public void publish(List<BalanceEvent> events) {
+        RBatch batch = redissonClient.createBatch();
+        RStreamAsync<String, String> stream = batch.getStream(streamName, StringCodec.INSTANCE);
+
+        for (BalanceEvent event : events) {
+            stream.addAsync(StreamAddArgs.entries(toEntries(event))
+                    .trimNonStrict().maxLen(maxLength).noLimit());
+        }
+
+        batch.execute();
+    }
+
+    private static Map<String, String> toEntries(BalanceEvent event) {
+        Map<String, String> entries = new HashMap<>();
+        entries.put("eventId", String.valueOf(event.getEventId()));
+        entries.put("transactionType", String.valueOf(event.getTransactionType()));
+        entries.put("transactionResult", String.valueOf(event.getTransactionResult()));
+        entries.put("userId", String.valueOf(event.getUserId()));
+        entries.put("accountNumber", event.getAccountNumber());
+        entries.put("amount", String.valueOf(event.getAmount()));
+        entries.put("balanceSnapshot", String.valueOf(event.getBalanceSnapshot()));
+        entries.put("transactionId", event.getTransactionId());
+        entries.put("transactedAt", String.valueOf(event.getTransactedAt()));
+        return entries;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.simpleaccount.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 현재 읽기 전용 트랜잭션의 조회를 replica 대신 primary 로 보냄
+ * 트랜잭션이 끝나면 해제되며, 첫 쿼리 전에 호출해야 적용됨
+ */
+public final class ReplicaRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void usePrimary() {
+        // 트랜잭션 밖에서는 항상 primary 를 사용하므로 표시하지 않음
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || isPrimaryForced()) {
+            return;
+        }
+
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        PRIMARY_FORCED.remove();
+                    }
+                });
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
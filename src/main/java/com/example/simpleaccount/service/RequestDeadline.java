@@ -0,0 +1,44 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+
+import static com.example.simpleaccount.type.ErrorCode.REQUEST_TIMEOUT;
+
+/**
+ * 요청 스레드의 처리 기한
+ * 클라이언트가 보낸 타임아웃으로 시작되어 Lock 대기, DB 쿼리 시간 예산으로 사용됨
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long timeoutMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + timeoutMillis * 1_000_000L);
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    public static boolean isSet() {
+        return DEADLINE_NANOS.get() != null;
+    }
+
+    // 기한이 없으면 Long.MAX_VALUE
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return (deadline - System.nanoTime()) / 1_000_000L;
+    }
+
+    // 기한이 지난 요청은 더 이상 처리하지 않음
+    public static void checkRemaining() {
+        if (remainingMillis() <= 0) {
+            throw new AccountException(REQUEST_TIMEOUT);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.simpleaccount.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 shard 버킷
+ * 1. 계좌 번호를 256 개 버킷으로 나누고, 버킷 % shard 수 로 shard 를 정함
+ * 2. 거래 아이디 앞 2자리(16진수)에 계좌의 버킷을 넣어서 거래 아이디만으로 shard 를 찾음
+ * 3. 버킷이 없으면 0 번 shard
+ * 트랜잭션은 첫 쿼리에서 커넥션을 얻으므로 트랜잭션 시작 전(또는 첫 쿼리 전)에 정해야 함
+ */
+public final class ShardContext {
+    public static final int BUCKETS = 256;
+
+    private static final ThreadLocal<Integer> BUCKET = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return BUCKET.get();
+    }
+
+    public static void set(Integer bucket) {
+        if (bucket == null) {
+            BUCKET.remove();
+        } else {
+            BUCKET.set(bucket);
+        }
+    }
+
+    public static <T> T call(int bucket, Supplier<T> task) {
+        Integer previous = current();
+        set(bucket);
+        try {
+            return task.get();
+        } finally {
+            set(previous);
+        }
+    }
+
+    public static void run(int bucket, Runnable task) {
+        call(bucket, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    // 현재 트랜잭션이 끝날 때까지 사용 (트랜잭션 밖에서는 무시)
+    public static void bindToTransaction(int bucket) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        Integer previous = current();
+        set(bucket);
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        set(previous);
+                    }
+                });
+    }
+
+    public static int bucketOf(String accountNumber) {
+        return accountNumber == null ? 0 : Math.floorMod(accountNumber.hashCode(), BUCKETS);
+    }
+
+    // 형식이 다른 거래 아이디는 0 번 버킷
+    public static int bucketOfTransaction(String transactionId) {
+        if (transactionId == null || transactionId.length() < 2) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(transactionId.substring(0, 2), 16);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // 랜덤 UUID 의 상위 8 bit 를 계좌 버킷으로 바꿈
+    public static UUID newTransactionUuid(String accountNumber) {
+        UUID random = UUID.randomUUID();
+        long high = (random.getMostSignificantBits() & 0x00FFFFFFFFFFFFFFL)
+                | ((long) bucketOf(accountNumber) << 56);
+        return new UUID(high, random.getLeastSignificantBits());
+    }
+
+    public static String newTransactionId(String accountNumber) {
+        return newTransactionUuid(accountNumber).toString().replace("-", "");
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.simpleaccount.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 계좌 shard 선택과 여러 shard 에 걸친 처리
+ * 1. fanOut : 모든 shard 에 같은 조회를 병렬로 실행 (shard 별 읽기 전용 트랜잭션)
+ * 2. inTransactionPerShard : 여러 계좌의 일괄 저장을 shard 별 트랜잭션으로 나눠서 실행
+ * 3. inNewTransaction : 다른 shard 의 트랜잭션 중에도 해당 shard 의 새 트랜잭션으로 실행
+ * shard 가 하나면 호출한 스레드에서 바로 실행
+ */
+@Component
+public class ShardRouter {
+    private final int shardCount;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate readWrite;
+    private final TransactionTemplate requiresNew;
+    private final ExecutorService executor;
+
+    public ShardRouter(PlatformTransactionManager transactionManager,
+                       @Value("${account.sharding.shard-count:1}") int shardCount) {
+        if (shardCount < 1 || shardCount > ShardContext.BUCKETS) {
+            throw new IllegalStateException("Shard count must be 1 ~ "
+                    + ShardContext.BUCKETS + " : " + shardCount);
+        }
+
+        this.shardCount = shardCount;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.executor = shardCount == 1 ? null : Executors.newFixedThreadPool(shardCount, runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardOf(String accountNumber) {
+        return ShardContext.bucketOf(accountNumber) % shardCount;
+    }
+
+    public int shardOfTransaction(String transactionId) {
+        return ShardContext.bucketOfTransaction(transactionId) % shardCount;
+    }
+
+    public int currentShard() {
+        Integer bucket = ShardContext.current();
+        return bucket == null ? 0 : bucket % shardCount;
+    }
+
+    public int randomShard() {
+        return shardCount == 1 ? 0 : ThreadLocalRandom.current().nextInt(shardCount);
+    }
+
+    // shard 순서대로 결과 반환
+    public <T> List<T> fanOut(IntFunction<T> query) {
+        if (shardCount == 1) {
+            return Collections.singletonList(ShardContext.call(0, () ->
+                    readOnly.execute(status -> query.apply(0))));
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.call(target, () ->
+                    readOnly.execute(status -> query.apply(target))), executor));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    // 실패한 shard 가 있어도 앞의 shard 는 커밋됨 (다시 저장해도 되는 작업에만 사용)
+    public <T> void inTransactionPerShard(Collection<T> items,
+                                          Function<T, String> accountNumberOf,
+                                          Consumer<List<T>> action) {
+        if (items.isEmpty()) {
+            return;
+        }
+        if (shardCount == 1) {
+            ShardContext.run(0, () -> readWrite.executeWithoutResult(
+                    status -> action.accept(new ArrayList<>(items))));
+            return;
+        }
+
+        Map<Integer, List<T>> itemsByShard = items.stream()
+                .collect(Collectors.groupingBy(
+                        item -> shardOf(accountNumberOf.apply(item)),
+                        TreeMap::new, Collectors.toList()));
+        itemsByShard.forEach((shard, shardItems) -> ShardContext.run(shard, () ->
+                readWrite.executeWithoutResult(status -> action.accept(shardItems))));
+    }
+
+    public <T> T inNewTransaction(int shard, Supplier<T> action) {
+        return ShardContext.call(shard, () -> requiresNew.execute(status -> action.get()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.aop.ShardKey;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+
+import static com.example.simpleaccount.type.ShardKeyType.TRANSACTION_ID;
+
+/**
+ * @ShardKey 파라미터(계좌 번호, 거래 아이디)로 메소드 실행 동안의 shard 를 정함
+ * 트랜잭션보다 먼저 실행되어야 하므로 @Transactional 보다 바깥에서 실행
+ */
+@Aspect
+@Component
+@Order(40)
+public class ShardRoutingAspect {
+
+    @Around("execution(* com.example.simpleaccount.service..*(.., @com.example.simpleaccount.aop.ShardKey (*), ..))")
+    public Object aroundMethod(ProceedingJoinPoint pjp) throws Throwable {
+        Integer bucket = findBucket(pjp);
+        if (bucket == null) {
+            return pjp.proceed();
+        }
+
+        Integer previous = ShardContext.current();
+        ShardContext.set(bucket);
+        try {
+            return pjp.proceed();
+        } finally {
+            ShardContext.set(previous);
+        }
+    }
+
+    private static Integer findBucket(ProceedingJoinPoint pjp) {
+        Annotation[][] parameterAnnotations =
+                ((MethodSignature) pjp.getSignature()).getMethod().getParameterAnnotations();
+        Object[] args = pjp.getArgs();
+
+        for (int i = 0; i < parameterAnnotations.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof ShardKey shardKey && args[i] instanceof String key) {
+                    return shardKey.value() == TRANSACTION_ID
+                            ? ShardContext.bucketOfTransaction(key)
+                            : ShardContext.bucketOf(key);
+                }
+            }
+        }
+        return null;
+    }
+}
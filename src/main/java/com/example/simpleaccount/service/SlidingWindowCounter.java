@@ -0,0 +1,66 @@
+package com.example.simpleaccount.service;
+
+/**
+ * 고정 개수 버킷으로 나눈 슬라이딩 윈도우 합계 카운터
+ * 버킷 수가 고정이라 합계/갱신 비용이 거래 건수와 무관함
+ */
+class SlidingWindowCounter {
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final long[] amounts;
+
+    SlidingWindowCounter(int bucketCount, long bucketMillis) {
+        this.bucketMillis = bucketMillis;
+        this.bucketIds = new long[bucketCount];
+        this.amounts = new long[bucketCount];
+    }
+
+    synchronized long sum(long nowMillis) {
+        long oldest = oldestBucketId(nowMillis);
+        long total = 0;
+
+        for (int i = 0; i < bucketIds.length; i++) {
+            if (bucketIds[i] >= oldest) {
+                total += amounts[i];
+            }
+        }
+
+        return total;
+    }
+
+    synchronized void add(long atMillis, long nowMillis, long delta) {
+        long bucketId = atMillis / bucketMillis;
+        // 윈도우를 벗어난 시점의 증감은 합계에 영향이 없음
+        if (bucketId < oldestBucketId(nowMillis)) {
+            return;
+        }
+
+        int index = (int) Math.floorMod(bucketId, (long) bucketIds.length);
+        if (bucketIds[index] != bucketId) {
+            if (bucketIds[index] > bucketId) {
+                return;
+            }
+            bucketIds[index] = bucketId;
+            amounts[index] = 0;
+        }
+
+        amounts[index] = Math.max(0, amounts[index] + delta);
+    }
+
+    // 합계에 더해도 limit 이하일 때만 현재 버킷에 더함
+    synchronized boolean tryAdd(long nowMillis, long amount, long limit) {
+        if (sum(nowMillis) + amount > limit) {
+            return false;
+        }
+        add(nowMillis, nowMillis, amount);
+        return true;
+    }
+
+    synchronized boolean isIdle(long nowMillis) {
+        return sum(nowMillis) == 0;
+    }
+
+    private long oldestBucketId(long nowMillis) {
+        return nowMillis / bucketMillis - bucketIds.length + 1;
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.type.StoreMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.simpleaccount.type.ErrorCode.DAILY_SPENDING_LIMIT_EXCEEDED;
+
+/**
+ * 계좌별 기간 사용 한도
+ * 거래 테이블을 합산하지 않고 버킷 단위 슬라이딩 윈도우 카운터로 관리
+ * 1. LOCAL : 노드 메모리 카운터
+ * 2. REDIS : Lua 스크립트로 원자적으로 갱신되는 공유 카운터
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SpendingLimitService {
+    // 윈도우를 벗어난 버킷은 정리하면서 합계 계산
+    private static final String SUM_SCRIPT =
+            "local total = 0 " +
+            "local entries = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #entries, 2 do " +
+            "  if tonumber(entries[i]) < tonumber(ARGV[1]) then " +
+            "    redis.call('HDEL', KEYS[1], entries[i]) " +
+            "  else " +
+            "    total = total + tonumber(entries[i + 1]) " +
+            "  end " +
+            "end " +
+            "return total";
+
+    private static final String ADD_SCRIPT =
+            "if tonumber(ARGV[1]) < tonumber(ARGV[3]) then return 0 end " +
+            "local value = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if value <= 0 then redis.call('HDEL', KEYS[1], ARGV[1]) end " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "return value";
+
+    // 합계 확인과 추가를 한 번에 (한도를 넘으면 -1)
+    private static final String RESERVE_SCRIPT =
+            "local total = 0 " +
+            "local entries = redis.call('HGETALL', KEYS[1]) " +
+            "for i = 1, #entries, 2 do " +
+            "  if tonumber(entries[i]) < tonumber(ARGV[3]) then " +
+            "    redis.call('HDEL', KEYS[1], entries[i]) " +
+            "  else " +
+            "    total = total + tonumber(entries[i + 1]) " +
+            "  end " +
+            "end " +
+            "if total + tonumber(ARGV[2]) > tonumber(ARGV[5]) then return -1 end " +
+            "redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "return total + tonumber(ARGV[2])";
+
+    private final RedissonClient redissonClient;
+
+    private final Map<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+
+    @Value("${account.spending-limit.amount:0}")
+    private long limitAmount;
+
+    @Value("${account.spending-limit.window-minutes:1440}")
+    private long windowMinutes;
+
+    @Value("${account.spending-limit.bucket-minutes:60}")
+    private long bucketMinutes;
+
+    @Value("${account.spending-limit.mode:LOCAL}")
+    private StoreMode mode;
+
+    public void validate(String accountNumber, Long amount) {
+        validate(accountNumber, amount, 0L);
+    }
+
+    // pendingAmount : 같은 트랜잭션에서 먼저 사용했지만 커밋 전이라 카운터에 없는 금액 (일괄 처리)
+    public void validate(String accountNumber, Long amount, long pendingAmount) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        if (spentAmount(accountNumber) + pendingAmount + amount > limitAmount) {
+            throw new AccountException(DAILY_SPENDING_LIMIT_EXCEEDED);
+        }
+    }
+
+    // 사용 성공 (커밋 이후 반영)
+    public void recordUse(String accountNumber, Long amount) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        TransactionCallbacks.afterCommit(() -> add(accountNumber, now, amount));
+    }
+
+    /**
+     * 검증과 반영을 한 번에 (Lock 없이 처리하는 잔액 엔진, hot 계좌용)
+     * validate, recordUse 로 나누면 동시에 들어온 요청이 모두 검증을 통과함
+     * 반영한 시각을 반환하고, 사용이 실패하면 그 시각으로 release
+     */
+    public long reserve(String accountNumber, Long amount) {
+        long now = System.currentTimeMillis();
+        if (!isEnabled()) {
+            return now;
+        }
+
+        boolean reserved;
+        if (mode == StoreMode.REDIS) {
+            Long total = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, RESERVE_SCRIPT, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(getCounterKey(accountNumber)),
+                    String.valueOf(now / bucketMillis()),
+                    String.valueOf(amount),
+                    String.valueOf(oldestBucketId(now)),
+                    String.valueOf(windowMinutes * 60_000L),
+                    String.valueOf(limitAmount));
+            reserved = total == null || total >= 0;
+        } else {
+            boolean[] added = new boolean[1];
+            counters.compute(accountNumber, (key, counter) -> {
+                if (counter == null) {
+                    counter = new SlidingWindowCounter(bucketCount(), bucketMillis());
+                }
+                added[0] = counter.tryAdd(now, amount, limitAmount);
+                return counter;
+            });
+            reserved = added[0];
+        }
+
+        if (!reserved) {
+            throw new AccountException(DAILY_SPENDING_LIMIT_EXCEEDED);
+        }
+        return now;
+    }
+
+    // reserve 후 사용이 실패하면 되돌림
+    public void release(String accountNumber, Long amount, long reservedAtMillis) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        add(accountNumber, reservedAtMillis, -amount);
+    }
+
+    // 사용 취소 시 원거래가 속한 버킷에서 차감 (커밋 이후 반영)
+    public void recordCancel(String accountNumber, Long amount, LocalDateTime usedAt) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        long usedAtMillis = usedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        TransactionCallbacks.afterCommit(() -> add(accountNumber, usedAtMillis, -amount));
+    }
+
+    public long spentAmount(String accountNumber) {
+        long now = System.currentTimeMillis();
+
+        if (mode == StoreMode.REDIS) {
+            Long total = redissonClient.getScript(StringCodec.INSTANCE).eval(
+                    RScript.Mode.READ_WRITE, SUM_SCRIPT, RScript.ReturnType.INTEGER,
+                    Collections.singletonList(getCounterKey(accountNumber)),
+                    String.valueOf(oldestBucketId(now)));
+            return total == null ? 0 : total;
+        }
+
+        SlidingWindowCounter counter = counters.get(accountNumber);
+        return counter == null ? 0 : counter.sum(now);
+    }
+
+    private void add(String accountNumber, long atMillis, long delta) {
+        long now = System.currentTimeMillis();
+
+        try {
+            if (mode == StoreMode.REDIS) {
+                redissonClient.getScript(StringCodec.INSTANCE).eval(
+                        RScript.Mode.READ_WRITE, ADD_SCRIPT, RScript.ReturnType.INTEGER,
+                        Collections.singletonList(getCounterKey(accountNumber)),
+                        String.valueOf(atMillis / bucketMillis()),
+                        String.valueOf(delta),
+                        String.valueOf(oldestBucketId(now)),
+                        String.valueOf(windowMinutes * 60_000L));
+                return;
+            }
+
+            counters.compute(accountNumber, (key, counter) -> {
+                if (counter == null) {
+                    counter = new SlidingWindowCounter(bucketCount(), bucketMillis());
+                }
+                counter.add(atMillis, now, delta);
+                return counter;
+            });
+        } catch (Exception e) {
+            // 이미 커밋된 거래이므로 카운터 갱신 실패가 거래를 실패시키지 않음
+            log.error("Failed to update spending counter for accountNumber : {}", accountNumber, e);
+        }
+    }
+
+    // 윈도우를 벗어난 로컬 카운터 정리
+    @Scheduled(fixedDelayString = "${account.spending-limit.evict-interval-ms:600000}")
+    public void evictIdleCounters() {
+        long now = System.currentTimeMillis();
+        for (String accountNumber : counters.keySet()) {
+            counters.computeIfPresent(accountNumber,
+                    (key, counter) -> counter.isIdle(now) ? null : counter);
+        }
+    }
+
+    private boolean isEnabled() {
+        return limitAmount > 0;
+    }
+
+    private int bucketCount() {
+        return (int) Math.max(1, windowMinutes / bucketMinutes);
+    }
+
+    private long bucketMillis() {
+        return bucketMinutes * 60_000L;
+    }
+
+    private long oldestBucketId(long nowMillis) {
+        return nowMillis / bucketMillis() - bucketCount() + 1;
+    }
+
+    private static String getCounterKey(String accountNumber) {
+        return "SPLM:" + accountNumber;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.simpleaccount.service;
+
+/**
+ * 로컬 토큰 버킷
+ * 호출 시점에 경과 시간만큼 토큰을 채우고 1개씩 소비
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double refillPerNanos;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double permitsPerSecond, double capacity, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNanos = permitsPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized boolean tryAcquire(long nowNanos) {
+        refill(nowNanos);
+
+        if (tokens < 1) {
+            return false;
+        }
+
+        tokens -= 1;
+        return true;
+    }
+
+    // 가득 찬 버킷은 없어도 동작이 같으므로 정리 대상
+    synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNanos);
+            lastRefillNanos = nowNanos;
+        }
+    }
+}
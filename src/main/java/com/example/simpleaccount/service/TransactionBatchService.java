@@ -0,0 +1,155 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.UseBalanceBatch;
+import com.example.simpleaccount.exception.AccountException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static com.example.simpleaccount.type.TransactionType.USE;
+
+/**
+ * 잔액 사용 일괄 처리 (정산)
+ * 1. 항목을 계좌 번호로 묶고 계좌 번호 순으로 처리 (한 번에 한 계좌의 Lock 만 보유)
+ * 2. 계좌마다 Lock 을 한 번 잡고 한 DB 트랜잭션에서 처리 (TransactionService.useBalanceGroup)
+ *    Lock 대기열 제한, 경합 계좌 집계는 단건 요청과 같이 AccountLocker 로 적용
+ * 3. 잔액 엔진, hot 계좌는 Lock 없이 항목별로 처리
+ * 4. 클러스터 모드에서 다른 노드가 담당하는 계좌는 그 계좌의 항목만 담당 노드로 전달
+ * 한 계좌의 처리가 실패하면(Lock, 요청 기한 등) 그 계좌의 항목만 실패로 응답
+ * 실패한 항목은 실패 거래로 기록 (담당 노드로 전달한 항목은 담당 노드가 기록)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionBatchService {
+    public static final String USE_BATCH_PATH = "/transaction/use/batch";
+
+    private final TransactionService transactionService;
+    private final AccountLocker accountLocker;
+    private final HotBalanceService hotBalanceService;
+    private final BalanceEngine balanceEngine;
+    private final ClusterMembership clusterMembership;
+    private final ClusterForwarder clusterForwarder;
+    private final TransactionFailureLedger transactionFailureLedger;
+
+    public List<UseBalanceBatch.Result> useBalanceBatch(List<UseBalance.Request> requests) {
+        Map<String, List<Integer>> groups = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            groups.computeIfAbsent(requests.get(i).getAccountNumber(), key -> new ArrayList<>())
+                    .add(i);
+        }
+
+        UseBalanceBatch.Result[] results = new UseBalanceBatch.Result[requests.size()];
+        for (Map.Entry<String, List<Integer>> group : groups.entrySet()) {
+            List<UseBalance.Request> items = group.getValue().stream()
+                    .map(requests::get)
+                    .toList();
+
+            List<UseBalanceBatch.Result> groupResults;
+            try {
+                groupResults = useBalanceGroup(group.getKey(), items);
+            } catch (AccountException e) {
+                log.warn("Failed to use balance of {} items. accountNumber : {}, errorCode : {}",
+                        items.size(), group.getKey(), e.getErrorCode());
+                groupResults = items.stream()
+                        .map(item -> UseBalanceBatch.Result.failure(item, e.getErrorCode()))
+                        .toList();
+                recordFailures(groupResults);
+            }
+
+            for (int i = 0; i < items.size(); i++) {
+                results[group.getValue().get(i)] = groupResults.get(i);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<UseBalanceBatch.Result> useBalanceGroup(String accountNumber,
+                                                         List<UseBalance.Request> items) {
+        RequestDeadline.checkRemaining();
+
+        // 잔액 엔진, hot account 는 각자 원자적으로 처리하므로 Lock 을 잡지 않음
+        if (balanceEngine.isEnabled() || hotBalanceService.isHot(accountNumber)) {
+            return items.stream()
+                    .map(this::useBalanceOutsideDb)
+                    .toList();
+        }
+
+        if (clusterMembership.isEnabled()) {
+            return useBalanceGroupOnOwner(accountNumber, items);
+        }
+
+        Runnable unlock = accountLocker.lock(accountNumber, false);
+        try {
+            return recordFailures(transactionService.useBalanceGroup(accountNumber, items));
+        } finally {
+            unlock.run();
+        }
+    }
+
+    private UseBalanceBatch.Result useBalanceOutsideDb(UseBalance.Request item) {
+        try {
+            return UseBalanceBatch.Result.success(transactionService.useBalance(
+                    item.getUserId(), item.getAccountNumber(), item.getAmount()));
+        } catch (AccountException e) {
+            transactionFailureLedger.record(USE, item.getAccountNumber(), item.getAmount());
+            return UseBalanceBatch.Result.failure(item, e.getErrorCode());
+        }
+    }
+
+    // 클러스터 모드 : 담당 노드면 로컬 Lock 으로 처리하고, 아니면 담당 노드로 전달
+    private List<UseBalanceBatch.Result> useBalanceGroupOnOwner(String accountNumber,
+                                                                List<UseBalance.Request> items) {
+        HttpServletRequest servletRequest = ClusterRoutingAspect.currentRequest();
+        Long forwardedEpoch = ClusterRoutingAspect.getForwardedEpoch(servletRequest);
+        if (forwardedEpoch != null) {
+            clusterMembership.refreshIfBehind(forwardedEpoch);
+        }
+
+        ClusterMembership.View view = clusterMembership.enter();
+        String owner = view.ownerOf(accountNumber);
+        if (clusterMembership.getNodeId().equals(owner)) {
+            try {
+                clusterMembership.awaitHandoff(view, accountNumber);
+                clusterMembership.checkOwner(accountNumber);
+
+                Runnable unlock = accountLocker.lock(accountNumber, true);
+                try {
+                    return recordFailures(transactionService.useBalanceGroup(accountNumber, items));
+                } finally {
+                    unlock.run();
+                }
+            } finally {
+                clusterMembership.exit(view);
+            }
+        }
+        clusterMembership.exit(view);
+
+        // 전달받은 요청은 다시 전달하지 않음
+        if (owner == null || forwardedEpoch != null || servletRequest == null) {
+            throw new AccountException(CLUSTER_OWNER_CHANGED);
+        }
+
+        // 멱등성 키가 있으면 계좌별 키로 전달 (전달 재시도 시 중복 처리 방지)
+        String idempotencyKey = servletRequest.getHeader(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER);
+        UseBalanceBatch.Response response = clusterForwarder.forward(view.urlOf(owner),
+                USE_BATCH_PATH, view.getEpoch(),
+                idempotencyKey == null ? null : idempotencyKey + ":" + accountNumber,
+                new UseBalanceBatch.Request(items), UseBalanceBatch.Response.class);
+        return response.getResults();
+    }
+
+    private List<UseBalanceBatch.Result> recordFailures(List<UseBalanceBatch.Result> results) {
+        for (UseBalanceBatch.Result result : results) {
+            if (result.isFailed()) {
+                transactionFailureLedger.record(USE, result.getAccountNumber(), result.getAmount());
+            }
+        }
+        return results;
+    }
+}
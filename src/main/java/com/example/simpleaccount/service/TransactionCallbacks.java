@@ -0,0 +1,63 @@
+package com.example.simpleaccount.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/**
+ * 트랜잭션 커밋 이후에 실행할 작업 등록
+ * 트랜잭션 밖에서 호출되면 즉시 실행
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    public static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        task.run();
+                    }
+                });
+    }
+
+    // 트랜잭션이 끝나면 커밋 여부와 함께 실행 (트랜잭션 밖에서는 무시)
+    public static void afterCompletion(Consumer<Boolean> task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        task.accept(status == STATUS_COMMITTED);
+                    }
+                });
+    }
+
+    // 트랜잭션이 롤백되면 실행 (트랜잭션 밖에서는 무시)
+    public static void afterRollback(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status == STATUS_ROLLED_BACK) {
+                            task.run();
+                        }
+                    }
+                });
+    }
+}
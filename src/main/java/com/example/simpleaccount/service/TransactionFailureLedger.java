@@ -0,0 +1,88 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.FailedTransactionEvent;
+import com.example.simpleaccount.type.TransactionType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 실패 거래 기록 (비동기)
+ * 요청 스레드는 크기가 제한된 큐에 넣기만 하고, 백그라운드에서 모아서 한 번에 저장
+ * 큐가 가득 차면 가장 오래된 기록을 버려 응답 지연이나 실패를 만들지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionFailureLedger {
+    private final TransactionService transactionService;
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    @Value("${account.failure-ledger.capacity:10000}")
+    private int capacity;
+
+    @Value("${account.failure-ledger.batch-size:500}")
+    private int batchSize;
+
+    private BlockingQueue<FailedTransactionEvent> queue;
+
+    @PostConstruct
+    public void init() {
+        queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    public void record(TransactionType transactionType, String accountNumber, Long amount) {
+        try {
+            FailedTransactionEvent event = FailedTransactionEvent.builder()
+                    .transactionType(transactionType)
+                    .accountNumber(accountNumber)
+                    .amount(amount)
+                    .failedAt(LocalDateTime.now())
+                    .build();
+
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) {
+                    droppedCount.incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to enqueue failed transaction.", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${account.failure-ledger.flush-interval-ms:200}")
+    public void flush() {
+        List<FailedTransactionEvent> batch = new ArrayList<>(batchSize);
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                transactionService.saveFailedTransactions(batch);
+            } catch (Exception e) {
+                log.error("Failed to save {} failed transactions.", batch.size(), e);
+            }
+            batch.clear();
+        }
+
+        long dropped = droppedCount.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("{} failed transactions were dropped because the ledger was full.", dropped);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.config.StatementCountInspector;
+import com.example.simpleaccount.type.TransactionType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR : 거래 처리 (시작 ~ 커밋/롤백, 기본 50ms 이상만 기록)
+ * 처리 중 이 스레드에서 준비한 SQL 문 수를 함께 남김
+ */
+@Name("com.example.simpleaccount.TransactionOperation")
+@Label("Transaction Operation")
+@Category({"SimpleAccount", "Transaction"})
+@Description("거래 처리부터 커밋/롤백까지 걸린 시간")
+@Threshold("50 ms")
+@StackTrace(false)
+final class TransactionOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Transaction Type")
+    String transactionType;
+
+    @Label("Result")
+    String result;
+
+    @Label("Statement Count")
+    long statementCount;
+
+    // 이벤트 필드가 아니라 시작 시점의 SQL 문 수
+    private transient long statementsAtStart;
+
+    static TransactionOperationEvent start(String operation, TransactionType transactionType) {
+        TransactionOperationEvent event = new TransactionOperationEvent();
+        event.operation = operation;
+        event.transactionType = transactionType.name();
+        if (event.isEnabled()) {
+            event.statementsAtStart = StatementCountInspector.count();
+        }
+        event.begin();
+        return event;
+    }
+
+    void finish(boolean committed) {
+        end();
+        if (shouldCommit()) {
+            this.result = committed ? "S" : "F";
+            this.statementCount = StatementCountInspector.count() - statementsAtStart;
+            commit();
+        }
+    }
+}
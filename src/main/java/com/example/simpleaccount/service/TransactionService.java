@@ -1,31 +1,55 @@
 package com.example.simpleaccount.service;
 
+import com.example.simpleaccount.aop.ShardKey;
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.AccountUser;
+import com.example.simpleaccount.domain.OutboxEvent;
 import com.example.simpleaccount.domain.Transaction;
+import com.example.simpleaccount.dto.FailedTransactionEvent;
+import com.example.simpleaccount.dto.HotBalanceEvent;
 import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.UseBalanceBatch;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.repository.AccountRepository;
 import com.example.simpleaccount.repository.AccountUserRepository;
+import com.example.simpleaccount.repository.OutboxEventRepository;
 import com.example.simpleaccount.repository.TransactionRepository;
 import com.example.simpleaccount.type.AccountStatus;
 import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.TimingPhase;
 import com.example.simpleaccount.type.TransactionResultType;
 import com.example.simpleaccount.type.TransactionType;
-import jakarta.transaction.Transactional;
 import jakarta.validation.constraints.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
+import static com.example.simpleaccount.type.CacheType.TRANSACTION;
+import static com.example.simpleaccount.type.CacheType.USER_ACCOUNTS;
 import static com.example.simpleaccount.type.ErrorCode.*;
+import static com.example.simpleaccount.type.ShardKeyType.TRANSACTION_ID;
 import static com.example.simpleaccount.type.TransactionResultType.F;
 import static com.example.simpleaccount.type.TransactionResultType.S;
 import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_IN;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_OUT;
 import static com.example.simpleaccount.type.TransactionType.USE;
 
 @Slf4j
@@ -35,26 +59,149 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final AccountUserRepository accountUserRepository;
     private final AccountRepository accountRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final SpendingLimitService spendingLimitService;
+    private final TransactionTimeoutApplier transactionTimeoutApplier;
+    private final BalanceChangePublisher balanceChangePublisher;
+    private final HotBalanceService hotBalanceService;
+    private final BalanceEngine balanceEngine;
+    private final ReadYourWritesRouter readYourWritesRouter;
+    private final ShardRouter shardRouter;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final AccountMetrics accountMetrics;
 
     @Transactional
-    public TransactionDto useBalance(Long userId, String accountNumber,
+    public TransactionDto useBalance(Long userId, @ShardKey String accountNumber,
                                      Long amount) {
+        recordOnCompletion("useBalance", USE);
+
+        if (balanceEngine.isEnabled()) {
+            return useOutsideDb(accountNumber, amount,
+                    () -> balanceEngine.useBalance(userId, accountNumber, amount));
+        }
+        if (hotBalanceService.isHot(accountNumber)) {
+            return useOutsideDb(accountNumber, amount,
+                    () -> hotBalanceService.useBalance(userId, accountNumber, amount));
+        }
+
+        transactionTimeoutApplier.applyRemainingDeadline();
+        PhaseTimer.timeFlushAndCommit(transactionRepository::flush);
+
+        long phaseStart = PhaseTimer.begin();
         AccountUser accountUser = accountUserRepository.findById(userId)
                 .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+        PhaseTimer.end(TimingPhase.USER_LOOKUP, phaseStart);
 
+        phaseStart = PhaseTimer.begin();
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        PhaseTimer.end(TimingPhase.ACCOUNT_LOOKUP, phaseStart);
 
         validateUseBalance(accountUser, account, amount);
 
+        // 요청 기한이 지났으면 쓰기 전에 중단
+        RequestDeadline.checkRemaining();
+
         account.useBalance(amount);
 
+        phaseStart = PhaseTimer.begin();
         Transaction transaction = saveAndGetTransaction(S, USE, account, amount);
+        PhaseTimer.end(TimingPhase.SAVE, phaseStart);
+
+        spendingLimitService.recordUse(accountNumber, amount);
+        balanceChangePublisher.publish(account);
+        markWritten(account, transaction);
 
         return TransactionDto.fromEntity(transaction);
     }
 
+    /**
+     * 한 계좌의 여러 잔액 사용을 한 DB 트랜잭션에서 처리 (Lock 은 TransactionBatchService 가 잡음)
+     * 1. 계좌와 사용자는 한 번씩만 조회
+     * 2. 항목마다 잔액 사용과 같은 검증을 하고, 실패한 항목은 건너뛰고 나머지는 처리
+     * 3. 성공한 거래는 모아서 saveAll (JDBC batch insert)
+     * 요청 순서대로 결과 반환
+     */
+    @Transactional
+    public List<UseBalanceBatch.Result> useBalanceGroup(@ShardKey String accountNumber,
+                                                        List<UseBalance.Request> requests) {
+        traceOnCompletion("useBalanceGroup", USE);
+        transactionTimeoutApplier.applyRemainingDeadline();
+
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+
+        Map<Long, AccountUser> accountUsers = accountUserRepository.findAllById(
+                        requests.stream()
+                                .map(UseBalance.Request::getUserId)
+                                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(AccountUser::getId, Function.identity()));
+
+        List<UseBalanceBatch.Result> results = new ArrayList<>(requests.size());
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        // 사용 한도 카운터는 커밋 이후 반영되므로 앞 항목의 사용 금액을 더해서 검증
+        long pendingAmount = 0L;
+        for (UseBalance.Request request : requests) {
+            try {
+                AccountUser accountUser = accountUsers.get(request.getUserId());
+                if (accountUser == null) {
+                    throw new AccountException(ErrorCode.USER_NOT_FOUND);
+                }
+                validateUseBalance(accountUser, account, request.getAmount(), pendingAmount);
+
+                account.useBalance(request.getAmount());
+                spendingLimitService.recordUse(accountNumber, request.getAmount());
+                pendingAmount += request.getAmount();
+
+                Transaction transaction = newTransaction(S, USE, account, request.getAmount(),
+                        ShardContext.newTransactionId(accountNumber), null);
+                transactions.add(transaction);
+                results.add(UseBalanceBatch.Result.success(TransactionDto.fromEntity(transaction)));
+            } catch (AccountException e) {
+                results.add(UseBalanceBatch.Result.failure(request, e.getErrorCode()));
+            }
+        }
+
+        // 요청 기한이 지났으면 쓰기 전에 중단
+        RequestDeadline.checkRemaining();
+
+        if (!transactions.isEmpty()) {
+            outboxEventRepository.saveAll(transactions.stream()
+                    .map(OutboxEvent::from)
+                    .collect(Collectors.toList()));
+            transactionRepository.saveAll(transactions);
+
+            balanceChangePublisher.publish(account);
+            transactions.forEach(transaction -> markWritten(account, transaction));
+        }
+
+        return results;
+    }
+
+    /**
+     * 잔액 엔진, hot account : 잔액 검증과 차감을 DB 밖에서 처리
+     * 거래 내역은 BalanceEngineProjector, HotBalanceWriter 가 비동기로 저장
+     * Lock 이 없으므로 사용 한도는 검증과 반영을 한 번에 하고(reserve), 사용이 실패하면 되돌림
+     */
+    private TransactionDto useOutsideDb(String accountNumber, Long amount,
+                                        Supplier<TransactionDto> use) {
+        long reservedAt = spendingLimitService.reserve(accountNumber, amount);
+        try {
+            RequestDeadline.checkRemaining();
+            return use.get();
+        } catch (RuntimeException e) {
+            spendingLimitService.release(accountNumber, amount, reservedAt);
+            throw e;
+        }
+    }
+
     private void validateUseBalance(AccountUser accountUser, Account account, Long amount) {
+        validateUseBalance(accountUser, account, amount, 0L);
+    }
+
+    private void validateUseBalance(AccountUser accountUser, Account account, Long amount,
+                                    long pendingAmount) {
         if (!Objects.equals(accountUser.getId(), account.getAccountUser().getId())) {
             throw new AccountException(USER_ACCOUNT_UN_MATCH);
         }
@@ -64,36 +211,120 @@ public class TransactionService {
         if (account.getBalance() < amount) {
             throw new AccountException(AMOUNT_EXCEED_BALANCE);
         }
+
+        spendingLimitService.validate(account.getAccountNumber(), amount, pendingAmount);
     }
 
+    private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
+                                              TransactionType transactionType,
+                                              Account account, Long amount) {
+
+        Transaction transaction = newTransaction(transactionResultType, transactionType,
+                account, amount, ShardContext.newTransactionId(account.getAccountNumber()), null);
+
+        // 같은 DB 트랜잭션에서 outbox 기록 (커밋되면 relay 가 전달)
+        outboxEventRepository.save(OutboxEvent.from(transaction));
+
+        return transactionRepository.save(transaction);
+    }
+
+    private static Transaction newTransaction(TransactionResultType transactionResultType,
+                                              TransactionType transactionType,
+                                              Account account, Long amount,
+                                              String transactionId,
+                                              String linkedTransactionId) {
+        return Transaction.builder()
+                .transactionType(transactionType)
+                .transactionResult(transactionResultType)
+                .account(account)
+                .amount(amount)
+                .balanceSnapshot(account.getBalance())
+                .transactionId(transactionId)
+                .transactedAt(LocalDateTime.now())
+                .linkedTransactionId(linkedTransactionId)
+                .build();
+    }
+
+    /**
+     * 이체 : 출금과 입금을 한 DB 트랜잭션에서 처리 (두 계좌의 Lock 은 LockAopAspect 가 계좌 번호 순으로 잡음)
+     * 1. 출금 계좌는 잔액 사용과 같은 검증 (소유주, 상태, 잔액, 사용 한도)
+     * 2. 입금 계좌는 사용 중인 계좌만 가능
+     * 3. 출금, 입금 거래는 서로의 거래 아이디로 연결
+     * 한 DB 트랜잭션이어야 하므로 같은 shard 의 계좌 사이에서만 가능하고,
+     * 잔액을 DB 밖에서 관리하는 잔액 엔진, hot 계좌는 지원하지 않음
+     */
     @Transactional
-    public void saveFailedUseTransaction(String accountNumber,Long amount) {
+    public TransactionDto transferBalance(Long userId, @ShardKey String accountNumber,
+                                          String targetAccountNumber, Long amount) {
+        recordOnCompletion("transferBalance", TRANSFER_OUT);
+
+        if (Objects.equals(accountNumber, targetAccountNumber)) {
+            throw new AccountException(TRANSFER_SAME_ACCOUNT);
+        }
+        if (balanceEngine.isEnabled()
+                || hotBalanceService.isHot(accountNumber)
+                || hotBalanceService.isHot(targetAccountNumber)
+                || shardRouter.shardOf(accountNumber) != shardRouter.shardOf(targetAccountNumber)) {
+            throw new AccountException(TRANSFER_UNAVAILABLE);
+        }
+
+        transactionTimeoutApplier.applyRemainingDeadline();
+
+        AccountUser accountUser = accountUserRepository.findById(userId)
+                .orElseThrow(() -> new AccountException(ErrorCode.USER_NOT_FOUND));
+
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+        Account targetAccount = accountRepository.findByAccountNumber(targetAccountNumber)
+                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
 
-        saveAndGetTransaction(F, USE, account, amount);
-    }
+        validateUseBalance(accountUser, account, amount);
+        if (targetAccount.getAccountStatus() != AccountStatus.ACTIVE) {
+            throw new AccountException(ACCOUNT_ALREADY_CLOSED);
+        }
 
-    private Transaction saveAndGetTransaction(TransactionResultType transactionResultType,
-                                              TransactionType transactionType,
-                                              Account account, Long amount) {
+        // 요청 기한이 지났으면 쓰기 전에 중단
+        RequestDeadline.checkRemaining();
+
+        account.useBalance(amount);
+        targetAccount.cancelBalance(amount);
+
+        String transactionId = ShardContext.newTransactionId(accountNumber);
+        String targetTransactionId = ShardContext.newTransactionId(targetAccountNumber);
+        Transaction transaction = newTransaction(S, TRANSFER_OUT, account, amount,
+                transactionId, targetTransactionId);
+        Transaction targetTransaction = newTransaction(S, TRANSFER_IN, targetAccount, amount,
+                targetTransactionId, transactionId);
+
+        // 같은 DB 트랜잭션에서 outbox 기록 (커밋되면 relay 가 전달)
+        outboxEventRepository.saveAll(List.of(
+                OutboxEvent.from(transaction), OutboxEvent.from(targetTransaction)));
+        transactionRepository.saveAll(List.of(transaction, targetTransaction));
+
+        spendingLimitService.recordUse(accountNumber, amount);
+        balanceChangePublisher.publish(account);
+        balanceChangePublisher.publish(targetAccount);
+        markWritten(account, transaction);
+        markWritten(targetAccount, targetTransaction);
 
-        return transactionRepository.save(
-                Transaction.builder()
-                        .transactionType(transactionType)
-                        .transactionResult(transactionResultType)
-                        .account(account)
-                        .amount(amount)
-                        .balanceSnapshot(account.getBalance())
-                        .transactionId(UUID.randomUUID().toString().replace("-", ""))
-                        .transactedAt(LocalDateTime.now())
-                        .build()
-        );
+        return TransactionDto.fromEntity(transaction);
     }
 
     @Transactional
     public TransactionDto cancelBalance(String transactionId,
-                                        String accountNumber,Long amount) {
+                                        @ShardKey String accountNumber, Long amount) {
+        recordOnCompletion("cancelBalance", CANCEL);
+
+        if (balanceEngine.isEnabled()) {
+            return cancelOutsideDb(transactionId, accountNumber, amount,
+                    balanceEngine::cancelBalance);
+        }
+        if (hotBalanceService.isHot(accountNumber)) {
+            return cancelOutsideDb(transactionId, accountNumber, amount,
+                    hotBalanceService::cancelBalance);
+        }
+
+        transactionTimeoutApplier.applyRemainingDeadline();
 
         Transaction transaction = transactionRepository.findByTransactionId(transactionId)
                 .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
@@ -103,17 +334,82 @@ public class TransactionService {
 
         validateCancelBalance(transaction, account, amount);
 
+        // 요청 기한이 지났으면 쓰기 전에 중단
+        RequestDeadline.checkRemaining();
+
         account.cancelBalance(amount);
 
-        return TransactionDto.fromEntity(
-                saveAndGetTransaction(S, CANCEL, account, amount)
-        );
+        Transaction cancelTransaction = saveAndGetTransaction(S, CANCEL, account, amount);
+        balanceChangePublisher.publish(account);
+        markWritten(account, cancelTransaction);
+
+        if (transaction.getTransactionType() == USE) {
+            spendingLimitService.recordCancel(accountNumber, amount,
+                    transaction.getTransactedAt());
+        }
+
+        return TransactionDto.fromEntity(cancelTransaction);
+    }
+
+    private TransactionDto cancelOutsideDb(String transactionId,
+                                           String accountNumber, Long amount,
+                                           CancelOperation cancel) {
+        Optional<Transaction> transaction =
+                transactionRepository.findByTransactionId(transactionId);
+
+        if (transaction.isEmpty()) {
+            // 아직 DB 에 저장되지 않은 사용 거래는 엔진, Redis 에서 검증
+            RequestDeadline.checkRemaining();
+            try {
+                TransactionDto cancelTransaction =
+                        cancel.cancel(transactionId, accountNumber, amount, true);
+                // 저장 전의 원거래는 방금 발생한 거래이므로 현재 시각의 버킷에서 차감
+                spendingLimitService.recordCancel(accountNumber, amount, LocalDateTime.now());
+                return cancelTransaction;
+            } catch (AccountException e) {
+                if (e.getErrorCode() != TRANSACTION_NOT_FOUND) {
+                    throw e;
+                }
+                // 검증 사이에 DB 에 저장되었으면 DB 의 원거래로 검증
+                transaction = transactionRepository.findByTransactionId(transactionId);
+                if (transaction.isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+
+        Transaction original = transaction.get();
+        if (!Objects.equals(original.getAccount().getAccountNumber(), accountNumber)) {
+            throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
+        }
+        validateCancelAmountAndAge(original, amount);
+
+        RequestDeadline.checkRemaining();
+
+        TransactionDto cancelTransaction =
+                cancel.cancel(transactionId, accountNumber, amount, false);
+
+        if (original.getTransactionType() == USE) {
+            spendingLimitService.recordCancel(accountNumber, amount,
+                    original.getTransactedAt());
+        }
+
+        return cancelTransaction;
     }
 
     private void validateCancelBalance(Transaction transaction, Account account, Long amount) {
         if (!Objects.equals(transaction.getAccount().getId(), account.getId())) {
             throw new AccountException(TRANSACTION_ACCOUNT_UN_MATCH);
         }
+        validateCancelAmountAndAge(transaction, amount);
+    }
+
+    private void validateCancelAmountAndAge(Transaction transaction, Long amount) {
+        // 이체는 출금, 입금을 함께 되돌려야 하므로 한쪽만 취소할 수 없음
+        if (transaction.getTransactionType() == TRANSFER_OUT
+                || transaction.getTransactionType() == TRANSFER_IN) {
+            throw new AccountException(TRANSFER_CANNOT_CANCEL);
+        }
         if (!Objects.equals(transaction.getAmount(), amount)) {
             throw new AccountException(CANCEL_MUST_FULLY);
         }
@@ -122,18 +418,204 @@ public class TransactionService {
         }
     }
 
-    @Transactional
-    public void saveFailedCancelTransaction(String accountNumber, Long amount) {
-        Account account = accountRepository.findByAccountNumber(accountNumber)
-                .orElseThrow(() -> new AccountException(ACCOUNT_NOT_FOUND));
+    /**
+     * 실패 거래 일괄 저장
+     * 계좌는 한 번에 조회하고, 없는 계좌의 실패는 기록하지 않음
+     * 계좌의 shard 별로 나눠서 shard 마다 하나의 트랜잭션으로 저장
+     */
+    public void saveFailedTransactions(List<FailedTransactionEvent> events) {
+        shardRouter.inTransactionPerShard(events, FailedTransactionEvent::getAccountNumber,
+                this::saveFailedTransactionsOnShard);
+    }
 
-        saveAndGetTransaction(F, CANCEL, account, amount);
+    private void saveFailedTransactionsOnShard(List<FailedTransactionEvent> events) {
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        events.stream()
+                                .map(FailedTransactionEvent::getAccountNumber)
+                                .distinct()
+                                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(events.size());
+        for (FailedTransactionEvent event : events) {
+            Account account = accounts.get(event.getAccountNumber());
+            if (account == null) {
+                continue;
+            }
+
+            transactions.add(Transaction.builder()
+                    .transactionType(event.getTransactionType())
+                    .transactionResult(F)
+                    .account(account)
+                    .amount(event.getAmount())
+                    .balanceSnapshot(account.getBalance())
+                    .transactionId(ShardContext.newTransactionId(account.getAccountNumber()))
+                    .transactedAt(event.getFailedAt())
+                    .build());
+        }
+
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(OutboxEvent::from)
+                .collect(Collectors.toList()));
+        transactionRepository.saveAll(transactions);
     }
 
-    public TransactionDto queryTransaction(String transactionId) {
-        Transaction transaction = transactionRepository.findByTransactionId(transactionId)
+    /**
+     * DB 밖에서 처리된 거래 일괄 저장 (HotBalanceWriter, BalanceEngineProjector)
+     * 다시 전달된 거래는 건너뛰고, 계좌 잔액은 마지막 거래의 잔액으로 맞춤
+     * 계좌의 shard 별로 나눠서 shard 마다 하나의 트랜잭션으로 저장
+     */
+    public void saveAppliedTransactions(List<HotBalanceEvent> events) {
+        shardRouter.inTransactionPerShard(events, HotBalanceEvent::getAccountNumber,
+                this::saveAppliedTransactionsOnShard);
+    }
+
+    private void saveAppliedTransactionsOnShard(List<HotBalanceEvent> events) {
+        Set<String> savedTransactionIds = transactionRepository.findByTransactionIdIn(
+                        events.stream()
+                                .map(HotBalanceEvent::getTransactionId)
+                                .collect(Collectors.toList()))
+                .stream()
+                .map(Transaction::getTransactionId)
+                .collect(Collectors.toSet());
+
+        Map<String, Account> accounts = accountRepository.findByAccountNumberIn(
+                        events.stream()
+                                .map(HotBalanceEvent::getAccountNumber)
+                                .distinct()
+                                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, Function.identity()));
+
+        List<Transaction> transactions = new ArrayList<>(events.size());
+        for (HotBalanceEvent event : events) {
+            Account account = accounts.get(event.getAccountNumber());
+            if (account == null) {
+                log.error("Account of applied transaction not found. accountNumber : {}",
+                        event.getAccountNumber());
+                continue;
+            }
+
+            account.setBalance(event.getBalanceSnapshot());
+            if (savedTransactionIds.contains(event.getTransactionId())) {
+                continue;
+            }
+
+            transactions.add(Transaction.builder()
+                    .transactionType(event.getTransactionType())
+                    .transactionResult(S)
+                    .account(account)
+                    .amount(event.getAmount())
+                    .balanceSnapshot(event.getBalanceSnapshot())
+                    .transactionId(event.getTransactionId())
+                    .transactedAt(event.getTransactedAt())
+                    .build());
+        }
+
+        outboxEventRepository.saveAll(transactions.stream()
+                .map(OutboxEvent::from)
+                .collect(Collectors.toList()));
+        transactionRepository.saveAll(transactions);
+
+        accounts.values().forEach(account -> {
+            balanceChangePublisher.publish(account);
+            cacheInvalidationBus.invalidate(USER_ACCOUNTS,
+                    String.valueOf(account.getAccountUser().getId()));
+        });
+    }
+
+    /**
+     * 조회 직후 polling 하는 거래는 replica 에 아직 없을 수 있으므로 primary 에서 다시 조회
+     * 저장된 거래는 바뀌지 않으므로 찾은 거래만 near cache 에 저장
+     */
+    public TransactionDto queryTransaction(@ShardKey(TRANSACTION_ID) String transactionId) {
+        TransactionDto cached = cacheInvalidationBus.get(TRANSACTION, transactionId);
+        if (cached != null) {
+            return cached;
+        }
+
+        TransactionDto transactionDto = readYourWritesRouter.read(
+                        ReadYourWritesRouter.transactionKey(transactionId),
+                        () -> transactionRepository.findByTransactionId(transactionId)
+                                .map(TransactionDto::fromEntity))
                 .orElseThrow(() -> new AccountException(TRANSACTION_NOT_FOUND));
 
-        return TransactionDto.fromEntity(transaction);
+        cacheInvalidationBus.put(TRANSACTION, transactionId, transactionDto);
+        return transactionDto;
+    }
+
+    /**
+     * 여러 거래를 한 번에 조회 (없는 거래 아이디는 결과에 없음)
+     * near cache 에 없는 거래만 shard 별로 IN 쿼리로 조회하고, 찾은 거래는 near cache 에 저장
+     */
+    public Map<String, TransactionDto> queryTransactions(Collection<String> transactionIds) {
+        Map<String, TransactionDto> transactionDtos = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String transactionId : new LinkedHashSet<>(transactionIds)) {
+            TransactionDto cached = cacheInvalidationBus.get(TRANSACTION, transactionId);
+            if (cached != null) {
+                transactionDtos.put(transactionId, cached);
+            } else {
+                misses.add(transactionId);
+            }
+        }
+
+        misses.stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOfTransaction,
+                        TreeMap::new, Collectors.toList()))
+                .forEach((shard, shardTransactionIds) -> ShardContext.call(shard, () ->
+                                readYourWritesRouter.readAll(shardTransactionIds,
+                                        ReadYourWritesRouter::transactionKey,
+                                        ids -> transactionRepository
+                                                .findWithAccountByTransactionIdIn(ids).stream()
+                                                .collect(Collectors.toMap(
+                                                        Transaction::getTransactionId,
+                                                        TransactionDto::fromEntity))))
+                        .forEach((transactionId, transactionDto) -> {
+                            cacheInvalidationBus.put(TRANSACTION, transactionId, transactionDto);
+                            transactionDtos.put(transactionId, transactionDto);
+                        }));
+
+        return transactionDtos;
+    }
+
+    /**
+     * 커밋 후 잠시 동안 이 거래와 사용자의 조회는 primary 에서 처리
+     * 모든 노드의 캐시에서 사용자의 계좌 목록(잔액)을 지움
+     */
+    private void markWritten(Account account, Transaction transaction) {
+        readYourWritesRouter.markWritten(
+                ReadYourWritesRouter.transactionKey(transaction.getTransactionId()));
+        readYourWritesRouter.markWritten(
+                ReadYourWritesRouter.userKey(account.getAccountUser().getId()));
+        readYourWritesRouter.markWritten(
+                ReadYourWritesRouter.accountKey(account.getAccountNumber()));
+        cacheInvalidationBus.invalidate(USER_ACCOUNTS,
+                String.valueOf(account.getAccountUser().getId()));
+    }
+
+    // 커밋/롤백까지 포함한 처리 시간을 거래 종류, 결과(커밋 S, 롤백 F)별로 기록 (JFR 이벤트 포함)
+    private void recordOnCompletion(String operation, TransactionType transactionType) {
+        long startedAt = System.nanoTime();
+        TransactionOperationEvent event = TransactionOperationEvent.start(operation, transactionType);
+        TransactionCallbacks.afterCompletion(committed -> {
+            accountMetrics.recordTransaction(transactionType, committed ? S : F,
+                    System.nanoTime() - startedAt);
+            event.finish(committed);
+        });
+    }
+
+    // JFR 이벤트만 기록 (기록 중이 아니면 등록하지 않음)
+    private void traceOnCompletion(String operation, TransactionType transactionType) {
+        TransactionOperationEvent event = TransactionOperationEvent.start(operation, transactionType);
+        if (event.isEnabled()) {
+            TransactionCallbacks.afterCompletion(event::finish);
+        }
+    }
+
+    private interface CancelOperation {
+        TransactionDto cancel(String originalTransactionId, String accountNumber,
+                              Long amount, boolean unsavedUse);
     }
 }
@@ -0,0 +1,45 @@
+package com.example.simpleaccount.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 요청 기한의 남은 시간을 현재 트랜잭션의 타임아웃으로 적용
+ * 1. Spring 트랜잭션 기한 : JPQL 쿼리 타임아웃 힌트, 기한 초과 시 TransactionTimedOutException
+ * 2. Hibernate JDBC 타임아웃 : 조회/INSERT/UPDATE 모든 statement 의 query timeout
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionTimeoutApplier {
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public void applyRemainingDeadline() {
+        if (!RequestDeadline.isSet()) {
+            return;
+        }
+
+        RequestDeadline.checkRemaining();
+        long remainingMillis = RequestDeadline.remainingMillis();
+
+        EntityManagerHolder holder = (EntityManagerHolder)
+                TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (holder != null) {
+            holder.setTimeoutInMillis(remainingMillis);
+        }
+
+        // JDBC query timeout 은 초 단위
+        int remainingSeconds = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        entityManager.unwrap(SessionImplementor.class)
+                .getJdbcCoordinator()
+                .setTransactionTimeOut(remainingSeconds);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.simpleaccount.type;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * 노드별 near cache 종류
+ * code 는 무효화 메시지에 들어가는 한 글자
+ */
+@Getter
+@AllArgsConstructor
+public enum CacheType {
+    // 사용자 아이디별 계좌 목록 (잔액 포함)
+    USER_ACCOUNTS('U'),
+    // 거래 아이디별 거래 (저장 후 바뀌지 않음)
+    TRANSACTION('T');
+
+    private final char code;
+
+    // 모르는 code 면 null
+    public static CacheType fromCode(char code) {
+        return Arrays.stream(values())
+                .filter(type -> type.code == code)
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.simpleaccount.type;
+
+public enum DiscrepancyType {
+    // 계좌 잔액과 마지막 성공 거래의 잔액이 다름
+    BALANCE_MISMATCH,
+    // 이전 거래 잔액에 거래 금액을 반영한 값과 거래 잔액이 다름
+    REPLAY_MISMATCH
+}
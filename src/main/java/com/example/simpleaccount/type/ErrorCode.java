@@ -10,6 +10,7 @@ public enum ErrorCode {
     INVALID_REQUEST("잘못된 요청입니다."),
     USER_NOT_FOUND("사용자가 없습니다."),
     ACCOUNT_NOT_FOUND("계좌가 없습니다."),
+    ACCOUNT_ID_LOOKUP_UNAVAILABLE("shard 가 여러 개면 계좌 아이디로 조회할 수 없습니다. 계좌 번호로 조회해주세요."),
     ACCOUNT_TRANSACTION_LOCK("해당 계좌는 사용 중입니다."),
     TRANSACTION_NOT_FOUND("해당 거래가 없습니다."),
     AMOUNT_EXCEED_BALANCE("거래 금액이 계좌 잔액보다 큽니다."),
@@ -19,7 +20,18 @@ public enum ErrorCode {
     TOO_OLD_ORDER_TO_CANCEL("1년이 지난 거래는 취소가 불가능합니다."),
     ACCOUNT_ALREADY_CLOSED("계좌가 이미 해지되었습니다."),
     ACCOUNT_BALANCE_NOT_EMPTY("잔액이 있는 계좌는 해지할 수 없습니다."),
-    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다.");
+    MAX_ACCOUNT_PER_USER_10("사용자 최대 계좌는 10개 입니다."),
+    DAILY_SPENDING_LIMIT_EXCEEDED("계좌의 일일 사용 한도를 초과했습니다."),
+    TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+    REQUEST_TIMEOUT("요청 처리 기한이 지났습니다."),
+    IDEMPOTENCY_KEY_REUSED("같은 멱등성 키로 다른 요청을 보낼 수 없습니다."),
+    IDEMPOTENT_REQUEST_IN_PROGRESS("같은 멱등성 키의 요청이 처리 중입니다."),
+    RECONCILIATION_IN_PROGRESS("잔액 대사 작업이 이미 진행 중입니다."),
+    CLUSTER_OWNER_CHANGED("계좌 담당 노드가 변경되는 중입니다. 잠시 후 다시 시도해주세요."),
+    CLUSTER_FORWARD_FAILED("계좌 담당 노드에 요청을 전달하지 못했습니다."),
+    TRANSFER_SAME_ACCOUNT("같은 계좌로 이체할 수 없습니다."),
+    TRANSFER_UNAVAILABLE("이 계좌 사이에서는 이체할 수 없습니다."),
+    TRANSFER_CANNOT_CANCEL("이체 거래는 취소할 수 없습니다.");
 
     private final String description;
 }
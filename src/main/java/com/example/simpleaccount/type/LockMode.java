@@ -0,0 +1,10 @@
+package com.example.simpleaccount.type;
+
+public enum LockMode {
+    // spring.redis 한 대에서 Lock
+    SINGLE,
+    // Lock 용 Redis 과반수에서 Lock (Redlock)
+    QUORUM,
+    // 계좌 번호로 Lock 용 Redis 한 대를 골라 Lock
+    SHARDED
+}
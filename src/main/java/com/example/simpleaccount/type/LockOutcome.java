@@ -0,0 +1,12 @@
+package com.example.simpleaccount.type;
+
+/**
+ * 계좌 Lock 취득 결과 (지표 태그)
+ */
+public enum LockOutcome {
+    ACQUIRED,
+    // 대기 시간 안에 얻지 못함 (ACCOUNT_TRANSACTION_LOCK)
+    TIMEOUT,
+    // Redis 오류 (Lock 없이 진행)
+    ERROR
+}
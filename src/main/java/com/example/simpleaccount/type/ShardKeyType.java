@@ -0,0 +1,6 @@
+package com.example.simpleaccount.type;
+
+public enum ShardKeyType {
+    ACCOUNT_NUMBER,
+    TRANSACTION_ID
+}
@@ -0,0 +1,6 @@
+package com.example.simpleaccount.type;
+
+public enum StoreMode {
+    LOCAL,
+    REDIS
+}
@@ -0,0 +1,24 @@
+package com.example.simpleaccount.type;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 요청 처리 구간
+ * metricName 은 Server-Timing 헤더와 구간별 히스토그램 이름
+ */
+@Getter
+@AllArgsConstructor
+public enum TimingPhase {
+    // 계좌 Lock 대기 (대기열 입장 포함)
+    LOCK("lock"),
+    USER_LOOKUP("user"),
+    ACCOUNT_LOOKUP("account"),
+    // 거래, outbox 이벤트 저장 (insert 는 flush 때 실행)
+    SAVE("save"),
+    FLUSH("flush"),
+    COMMIT("commit"),
+    UNLOCK("unlock");
+
+    private final String metricName;
+}
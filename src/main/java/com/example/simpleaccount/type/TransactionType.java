@@ -1,5 +1,7 @@
 package com.example.simpleaccount.type;
 
 public enum TransactionType {
-    USE, CANCEL
+    USE, CANCEL,
+    // 이체 출금, 입금 (한 DB 트랜잭션에서 함께 저장되고 linkedTransactionId 로 서로 연결)
+    TRANSFER_OUT, TRANSFER_IN
 }
@@ -2,9 +2,12 @@ package com.example.simpleaccount.controller;
 
 import com.example.simpleaccount.dto.AccountDto;
 import com.example.simpleaccount.dto.CreateAccount;
+import com.example.simpleaccount.dto.CreateAccountBatch;
 import com.example.simpleaccount.dto.DeleteAccount;
 import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.service.AccountMetrics;
 import com.example.simpleaccount.service.AccountService;
+import com.example.simpleaccount.service.BalanceSubscriptionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +22,8 @@ import java.util.Arrays;
 import java.util.List;
 
 import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.simpleaccount.type.ErrorCode.USER_NOT_FOUND;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -29,9 +34,15 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(AccountController.class)
 class AccountControllerTest {
 
+    @MockBean
+    private AccountMetrics accountMetrics;
+
     @MockBean
     private AccountService accountService;
 
+    @MockBean
+    private BalanceSubscriptionService balanceSubscriptionService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -61,6 +72,32 @@ class AccountControllerTest {
                 .andDo(print());
     }
 
+    @Test
+    void create_account_batch_success() throws Exception {
+        // given
+        given(accountService.createAccounts(anyList()))
+                .willReturn(List.of(
+                        CreateAccountBatch.Result.success(AccountDto.builder()
+                                .userId(1L)
+                                .accountNumber("1234567890")
+                                .registeredAt(LocalDateTime.now())
+                                .build()),
+                        CreateAccountBatch.Result.failure(2L, USER_NOT_FOUND)));
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/account/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateAccountBatch.Request(List.of(
+                                        new CreateAccount.Request(1L, 100L),
+                                        new CreateAccount.Request(2L, 100L)))
+                        )))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].accountNumber").value("1234567890"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("USER_NOT_FOUND"))
+                .andDo(print());
+    }
+
     @Test
     void delete_account_success() throws Exception {
         // given
@@ -3,7 +3,12 @@ package com.example.simpleaccount.controller;
 import com.example.simpleaccount.dto.AccountDto;
 import com.example.simpleaccount.dto.TransactionDto;
 import com.example.simpleaccount.dto.CancelBalance;
+import com.example.simpleaccount.dto.QueryTransactions;
 import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.UseBalanceBatch;
+import com.example.simpleaccount.service.AccountMetrics;
+import com.example.simpleaccount.service.TransactionBatchService;
+import com.example.simpleaccount.service.TransactionFailureLedger;
 import com.example.simpleaccount.service.TransactionService;
 import com.example.simpleaccount.type.TransactionType;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -19,9 +24,12 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static com.example.simpleaccount.type.TransactionResultType.S;
 import static com.example.simpleaccount.type.TransactionType.USE;
+import static com.example.simpleaccount.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -31,9 +39,18 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(TransactionController.class)
 class TransactionControllerTest {
+    @MockBean
+    private AccountMetrics accountMetrics;
+
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionFailureLedger transactionFailureLedger;
+
+    @MockBean
+    private TransactionBatchService transactionBatchService;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -96,6 +113,40 @@ class TransactionControllerTest {
 
     }
 
+    @Test
+    @DisplayName("잔액 사용 일괄 처리 - 항목별 결과를 요청 순서대로 응답")
+    void use_balance_batch() throws Exception {
+        // given
+        UseBalance.Request first = new UseBalance.Request(1L, "2222222222", 1000L);
+        UseBalance.Request second = new UseBalance.Request(1L, "1111111111", 99999L);
+
+        given(transactionBatchService.useBalanceBatch(anyList()))
+                .willReturn(List.of(
+                        UseBalanceBatch.Result.success(TransactionDto.builder()
+                                .accountNumber("2222222222")
+                                .transactedAt(LocalDateTime.now())
+                                .amount(1000L)
+                                .transactionId("transactionId")
+                                .transactionResult(S)
+                                .build()),
+                        UseBalanceBatch.Result.failure(second, AMOUNT_EXCEED_BALANCE)));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/transaction/use/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new UseBalanceBatch.Request(List.of(first, second))
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].transactionId").value("transactionId"))
+                .andExpect(jsonPath("$.results[0].transactionResult").value("S"))
+                .andExpect(jsonPath("$.results[1].accountNumber").value("1111111111"))
+                .andExpect(jsonPath("$.results[1].transactionResult").value("F"))
+                .andExpect(jsonPath("$.results[1].errorCode").value("AMOUNT_EXCEED_BALANCE"));
+    }
+
     @Test
     @DisplayName("거래 확인 성공")
     void get_query_transaction() throws Exception {
@@ -120,4 +171,32 @@ class TransactionControllerTest {
                 .andExpect(jsonPath("$.transactionId").value("transactionIdForCancel"))
                 .andExpect(jsonPath("$.amount").value("11111"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("여러 거래 확인 - 요청 순서대로, 없는 거래는 오류 코드")
+    void query_transactions() throws Exception {
+        // given
+        given(transactionService.queryTransactions(anyList()))
+                .willReturn(Map.of("found", TransactionDto.builder()
+                        .accountNumber("1111111111")
+                        .transactionType(USE)
+                        .transactionResult(S)
+                        .transactionId("found")
+                        .amount(1000L)
+                        .build()));
+
+        // when
+        // then
+        mockMvc.perform(MockMvcRequestBuilders.post("/transaction/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new QueryTransactions.Request(List.of("missing", "found"))
+                        ))
+                ).andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].transactionId").value("missing"))
+                .andExpect(jsonPath("$.results[0].errorCode").value("TRANSACTION_NOT_FOUND"))
+                .andExpect(jsonPath("$.results[1].transactionId").value("found"))
+                .andExpect(jsonPath("$.results[1].accountNumber").value("1111111111"));
+    }
+}
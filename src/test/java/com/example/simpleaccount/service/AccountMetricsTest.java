@@ -0,0 +1,99 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.ContendedAccount;
+import com.example.simpleaccount.type.CacheType;
+import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.LockOutcome;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.simpleaccount.type.TransactionResultType.F;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AccountMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AccountMetrics accountMetrics = new AccountMetrics(meterRegistry);
+
+    @Test
+    @DisplayName("Lock 취득 시간은 결과별로, 거절은 오류 코드별로 기록")
+    void record_lock_and_rejection() {
+        // given
+        // when
+        accountMetrics.recordLockAcquire(LockOutcome.TIMEOUT, 1_000_000L);
+        accountMetrics.recordRejection(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+        accountMetrics.recordRejection(ErrorCode.ACCOUNT_TRANSACTION_LOCK);
+
+        // then
+        assertEquals(1L, meterRegistry.get("account.lock.acquire")
+                .tag("outcome", "TIMEOUT").timer().count());
+        assertEquals(0L, meterRegistry.get("account.lock.acquire")
+                .tag("outcome", "ACQUIRED").timer().count());
+        assertEquals(2.0, meterRegistry.get("account.rejections")
+                .tag("error_code", "ACCOUNT_TRANSACTION_LOCK").counter().count());
+    }
+
+    @Test
+    @DisplayName("거래 처리 시간은 거래 종류, 결과별로 기록")
+    void record_transaction() {
+        // given
+        // when
+        accountMetrics.recordTransaction(USE, F, 2_000_000L);
+
+        // then
+        assertEquals(1L, meterRegistry.get("account.transactions")
+                .tag("type", "USE").tag("result", "F").timer().count());
+    }
+
+    @Test
+    @DisplayName("near cache 조회는 hit/miss 로 나눠서 기록")
+    void record_cache_lookup() {
+        // given
+        accountMetrics.gaugeCacheSize(CacheType.TRANSACTION, () -> 3);
+
+        // when
+        accountMetrics.recordCacheLookup(CacheType.TRANSACTION, true);
+        accountMetrics.recordCacheLookup(CacheType.TRANSACTION, false);
+        accountMetrics.recordCacheLookup(CacheType.TRANSACTION, false);
+
+        // then
+        assertEquals(1.0, meterRegistry.get("account.cache.lookups")
+                .tag("cache", "TRANSACTION").tag("result", "hit").counter().count());
+        assertEquals(2.0, meterRegistry.get("account.cache.lookups")
+                .tag("cache", "TRANSACTION").tag("result", "miss").counter().count());
+        assertEquals(3.0, meterRegistry.get("account.cache.size")
+                .tag("cache", "TRANSACTION").gauge().value());
+    }
+
+    @Test
+    @DisplayName("경합 상위 계좌 지표는 갱신할 때 빠진 계좌를 지움")
+    void update_contended_accounts() {
+        // given
+        accountMetrics.updateContendedAccounts(List.of(
+                contendedAccount("1111111111", 10L),
+                contendedAccount("2222222222", 5L)));
+
+        // when
+        accountMetrics.updateContendedAccounts(List.of(
+                contendedAccount("2222222222", 7L)));
+
+        // then
+        assertEquals(7.0, meterRegistry.get("account.contention.attempts")
+                .tag("account", "2222222222").gauge().value());
+        assertNull(meterRegistry.find("account.contention.attempts")
+                .tag("account", "1111111111").gauge());
+    }
+
+    private static ContendedAccount contendedAccount(String accountNumber, long attempts) {
+        return ContendedAccount.builder()
+                .accountNumber(accountNumber)
+                .attempts(attempts)
+                .build();
+    }
+}
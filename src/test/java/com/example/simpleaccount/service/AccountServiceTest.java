@@ -4,6 +4,8 @@ package com.example.simpleaccount.service;
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.AccountUser;
 import com.example.simpleaccount.dto.AccountDto;
+import com.example.simpleaccount.dto.CreateAccount;
+import com.example.simpleaccount.dto.CreateAccountBatch;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.repository.AccountRepository;
 import com.example.simpleaccount.repository.AccountUserRepository;
@@ -15,16 +17,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
+import static com.example.simpleaccount.type.CacheType.USER_ACCOUNTS;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -38,6 +46,25 @@ class AccountServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private BalanceChangePublisher balanceChangePublisher;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private HotBalanceService hotBalanceService;
+
+    @Mock
+    private ReadYourWritesRouter readYourWritesRouter;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Spy
+    private ShardRouter shardRouter =
+            new ShardRouter(mock(PlatformTransactionManager.class), 1);
+
     @InjectMocks
     private AccountService accountService;
 
@@ -50,6 +77,8 @@ class AccountServiceTest {
         accountUser.setId(1L);
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
+        given(accountUserRepository.incrementOpenAccountCount(1L, 1, 10))
+                .willReturn(1);
 
         String accountNumber = accountService.uniqueAccountNumber();
 
@@ -68,6 +97,7 @@ class AccountServiceTest {
         verify(accountRepository, times(1)).save(captor.capture());
         assertEquals(1L, accountDto.getUserId());
         assertNotEquals(accountNumber, captor.getValue().getAccountNumber());
+        verify(cacheInvalidationBus, times(1)).invalidate(USER_ACCOUNTS, "1");
     }
 
     @Test
@@ -97,8 +127,9 @@ class AccountServiceTest {
         given(accountUserRepository.findById(anyLong()))
                 .willReturn(Optional.of(accountUser));
 
-        given(accountRepository.countByAccountUser(any()))
-                .willReturn(10);
+        // 이미 10개라서 조건부 update 가 0 건
+        given(accountUserRepository.incrementOpenAccountCount(1L, 1, 10))
+                .willReturn(0);
 
         // when
         AccountException exception = assertThrows(AccountException.class,
@@ -106,6 +137,71 @@ class AccountServiceTest {
 
         // then
         assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_10, exception.getErrorCode());
+        verify(accountRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("계좌 일괄 생성 - 항목별 결과, 한 번의 saveAll")
+    void create_accounts_in_bulk() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+        accountUser.setId(1L);
+        accountUser.setOpenAccountCount(9);
+
+        given(accountUserRepository.findAllById(any()))
+                .willReturn(List.of(accountUser));
+        given(accountUserRepository.incrementOpenAccountCount(1L, 1, 10))
+                .willReturn(1);
+
+        ArgumentCaptor<List<Account>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        List<CreateAccountBatch.Result> results = accountService.createAccounts(List.of(
+                new CreateAccount.Request(1L, 100L),
+                new CreateAccount.Request(1L, 200L),
+                new CreateAccount.Request(2L, 300L)));
+
+        // then
+        verify(accountRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(100L, captor.getValue().get(0).getBalance());
+
+        assertEquals(3, results.size());
+        assertNull(results.get(0).getErrorCode());
+        assertEquals(captor.getValue().get(0).getAccountNumber(),
+                results.get(0).getAccountNumber());
+        assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_10, results.get(1).getErrorCode());
+        assertEquals(ErrorCode.USER_NOT_FOUND, results.get(2).getErrorCode());
+        verify(cacheInvalidationBus, times(1)).invalidate(USER_ACCOUNTS, "1");
+    }
+
+    @Test
+    @DisplayName("계좌 일괄 생성 - 다른 요청이 먼저 계좌 수를 늘렸으면 줄여서 다시 시도")
+    void create_accounts_in_bulk_reserve_retry() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+        accountUser.setId(1L);
+        accountUser.setOpenAccountCount(7);
+
+        given(accountUserRepository.findAllById(any()))
+                .willReturn(List.of(accountUser));
+        given(accountUserRepository.incrementOpenAccountCount(1L, 3, 10))
+                .willReturn(0);
+        given(accountUserRepository.incrementOpenAccountCount(1L, 2, 10))
+                .willReturn(1);
+
+        // when
+        List<CreateAccountBatch.Result> results = accountService.createAccounts(List.of(
+                new CreateAccount.Request(1L, 100L),
+                new CreateAccount.Request(1L, 200L),
+                new CreateAccount.Request(1L, 300L)));
+
+        // then
+        assertNull(results.get(0).getErrorCode());
+        assertNull(results.get(1).getErrorCode());
+        assertEquals(ErrorCode.MAX_ACCOUNT_PER_USER_10, results.get(2).getErrorCode());
     }
 
     @Test
@@ -139,6 +235,68 @@ class AccountServiceTest {
         assertEquals(1L, accountDto.getUserId());
         assertEquals(accountNumber, captor.getValue().getAccountNumber());
         assertEquals(AccountStatus.CLOSED, captor.getValue().getAccountStatus());
+        verify(accountUserRepository, times(1)).decrementOpenAccountCount(1L, 1);
+    }
+
+    @Test
+    @DisplayName("hot 계좌 해지 - DB 잔액 대신 Redis 잔액을 확인하고 Redis 에서도 해지")
+    void delete_hot_account() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+
+        accountUser.setId(1L);
+
+        given(accountUserRepository.findById(anyLong()))
+                .willReturn(Optional.of(accountUser));
+
+        String accountNumber = accountService.uniqueAccountNumber();
+
+        // DB 잔액은 Redis 잔액보다 늦게 반영됨
+        given(accountRepository.findByAccountNumber(accountNumber))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(accountUser)
+                        .accountNumber(accountNumber)
+                        .balance(5000L)
+                        .build()));
+        given(hotBalanceService.isHot(accountNumber)).willReturn(true);
+
+        // when
+        AccountDto accountDto = accountService.deleteAccount(1L, accountNumber);
+
+        // then
+        verify(hotBalanceService, times(1)).closeAccount(1L, accountNumber);
+        assertEquals(accountNumber, accountDto.getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("계좌 아이디로 조회 실패 - 없는 계좌")
+    void get_account_not_found() {
+        // given
+        given(accountRepository.findById(anyLong()))
+                .willReturn(Optional.empty());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.getAccount(1L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_NOT_FOUND, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("계좌 아이디로 조회 실패 - shard 가 여러 개면 아이디가 겹치므로 조회하지 않음")
+    void get_account_with_multiple_shards() {
+        // given
+        willReturn(2).given(shardRouter).getShardCount();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> accountService.getAccount(1L));
+
+        // then
+        assertEquals(ErrorCode.ACCOUNT_ID_LOOKUP_UNAVAILABLE, exception.getErrorCode());
+        verify(accountRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -321,6 +479,27 @@ class AccountServiceTest {
         assertEquals(300L, accountDtos.get(2).getBalance());
     }
 
+    @Test
+    @DisplayName("계좌 확인 - near cache 에 있으면 DB 를 조회하지 않음")
+    void get_accounts_from_cache() {
+        // given
+        List<AccountDto> cached = List.of(AccountDto.builder()
+                .accountNumber("1111111111")
+                .balance(100L)
+                .build());
+
+        given(cacheInvalidationBus.get(USER_ACCOUNTS, "1"))
+                .willReturn(cached);
+
+        // when
+        List<AccountDto> accountDtos =
+                accountService.getAccountsByUserId(1L);
+
+        // then
+        assertSame(cached, accountDtos);
+        verify(accountUserRepository, never()).findById(anyLong());
+    }
+
     @Test
     @DisplayName("계좌 확인 실패 - 사용자 없는 경우")
     void get_account_fail() {
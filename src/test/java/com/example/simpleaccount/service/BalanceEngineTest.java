@@ -0,0 +1,162 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.domain.AccountUser;
+import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.repository.AccountRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
+import static com.example.simpleaccount.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.simpleaccount.type.ErrorCode.TRANSACTION_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceEngineTest {
+    private static final String ACCOUNT_NUMBER = "0123456789";
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재시작하면 저널을 재생해서 잔액 복구")
+    void recover_balance_after_restart() throws IOException {
+        // given
+        givenAccount(10000L);
+        BalanceEngine engine = startEngine();
+        engine.useBalance(1L, ACCOUNT_NUMBER, 1000L);
+        engine.useBalance(1L, ACCOUNT_NUMBER, 2000L);
+        engine.stop();
+
+        // when
+        BalanceEngine restarted = startEngine();
+        TransactionDto transactionDto = restarted.useBalance(1L, ACCOUNT_NUMBER, 3000L);
+
+        // then
+        assertEquals(4000L, transactionDto.getBalanceSnapshot());
+        verify(accountRepository, times(1)).findByAccountNumber(ACCOUNT_NUMBER);
+        restarted.stop();
+    }
+
+    @Test
+    @DisplayName("잔액보다 큰 금액은 저널에 기록하지 않고 거절")
+    void use_balance_amount_exceed() throws IOException {
+        // given
+        givenAccount(1000L);
+        BalanceEngine engine = startEngine();
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> engine.useBalance(1L, ACCOUNT_NUMBER, 1001L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("DB 에 반영된 사용 거래는 엔진에서 취소 검증하지 않음")
+    void cancel_unprojected_use_only() throws IOException {
+        // given
+        givenAccount(10000L);
+        BalanceEngine engine = startEngine();
+        TransactionDto use = engine.useBalance(1L, ACCOUNT_NUMBER, 1000L);
+
+        // when
+        engine.projected(Long.MAX_VALUE);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> engine.cancelBalance(use.getTransactionId(), ACCOUNT_NUMBER, 1000L, true));
+
+        // then
+        assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("DB 에 반영되지 않은 사용 거래도 한 번만 취소")
+    void cancel_unprojected_use_once() throws IOException {
+        // given
+        givenAccount(10000L);
+        BalanceEngine engine = startEngine();
+        TransactionDto use = engine.useBalance(1L, ACCOUNT_NUMBER, 1000L);
+        TransactionDto cancel = engine.cancelBalance(
+                use.getTransactionId(), ACCOUNT_NUMBER, 1000L, true);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> engine.cancelBalance(use.getTransactionId(), ACCOUNT_NUMBER, 1000L, true));
+
+        // then
+        assertEquals(10000L, cancel.getBalanceSnapshot());
+        assertEquals(TRANSACTION_NOT_FOUND, exception.getErrorCode());
+        engine.stop();
+    }
+
+    @Test
+    @DisplayName("DB 해지가 롤백되면 엔진의 해지도 되돌리고 재시작 후에도 유지")
+    void reopen_account_when_close_rolls_back() throws IOException {
+        // given
+        givenAccount(0L);
+        BalanceEngine engine = startEngine();
+
+        // when
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            engine.closeAccount(1L, ACCOUNT_NUMBER);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        engine.stop();
+        BalanceEngine restarted = startEngine();
+
+        // then
+        assertDoesNotThrow(() -> restarted.closeAccount(1L, ACCOUNT_NUMBER));
+        restarted.stop();
+    }
+
+    private BalanceEngine startEngine() throws IOException {
+        BalanceEngine engine = new BalanceEngine(accountRepository);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "directory", directory.toString());
+        ReflectionTestUtils.setField(engine, "segmentSizeMb", 1L);
+        engine.start();
+        return engine;
+    }
+
+    private void givenAccount(Long balance) {
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+        accountUser.setId(1L);
+
+        given(accountRepository.findByAccountNumber(ACCOUNT_NUMBER))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(accountUser)
+                        .accountStatus(ACTIVE)
+                        .accountNumber(ACCOUNT_NUMBER)
+                        .balance(balance)
+                        .build()));
+    }
+}
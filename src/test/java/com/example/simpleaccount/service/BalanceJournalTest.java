@@ -0,0 +1,122 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceJournalTest {
+    // 세그먼트 하나에 레코드 4개
+    private static final long SEGMENT_SIZE = JournalEntry.SIZE * 4L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("다시 열면 기록한 레코드를 순서대로 재생")
+    void replay_after_reopen() throws IOException {
+        // given
+        BalanceJournal journal = BalanceJournal.open(directory, SEGMENT_SIZE, 0L, entry -> {
+        });
+        for (long i = 1; i <= 10; i++) {
+            journal.awaitDurable(journal.append(entry(i * 100)));
+        }
+        journal.close();
+
+        // when
+        List<Long> balances = new ArrayList<>();
+        BalanceJournal reopened = BalanceJournal.open(directory, SEGMENT_SIZE, 3L,
+                entry -> balances.add(entry.balance));
+
+        // then
+        assertEquals(List.of(400L, 500L, 600L, 700L, 800L, 900L, 1000L), balances);
+        assertEquals(10L, reopened.lastSeq());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("온전하지 않은 마지막 레코드는 버리고 그 자리부터 이어서 기록")
+    void discard_torn_record() throws IOException {
+        // given
+        BalanceJournal journal = BalanceJournal.open(directory, SEGMENT_SIZE, 0L, entry -> {
+        });
+        for (long i = 1; i <= 3; i++) {
+            journal.awaitDurable(journal.append(entry(i * 100)));
+        }
+        journal.close();
+        corrupt(lastSegment(), JournalEntry.SIZE * 2L + 40);
+
+        // when
+        List<Long> balances = new ArrayList<>();
+        BalanceJournal reopened = BalanceJournal.open(directory, SEGMENT_SIZE, 0L,
+                entry -> balances.add(entry.balance));
+        long seq = reopened.append(entry(999L));
+        reopened.awaitDurable(seq);
+
+        // then
+        assertEquals(List.of(100L, 200L), balances);
+        assertEquals(3L, seq);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("여러 세그먼트에 걸친 레코드를 읽고, 읽은 세그먼트는 삭제")
+    void read_across_segments_and_purge() throws IOException {
+        // given
+        BalanceJournal journal = BalanceJournal.open(directory, SEGMENT_SIZE, 0L, entry -> {
+        });
+        for (long i = 1; i <= 10; i++) {
+            journal.awaitDurable(journal.append(entry(i * 100)));
+        }
+
+        // when
+        List<Long> seqs = new ArrayList<>();
+        long lastSeq = journal.read(2L, 5, entry -> seqs.add(entry.seq));
+        journal.purge(6L);
+
+        // then
+        assertEquals(List.of(3L, 4L, 5L, 6L, 7L), seqs);
+        assertEquals(7L, lastSeq);
+        assertEquals(2, segmentFiles().size());
+        journal.close();
+    }
+
+    private static JournalEntry entry(long balance) {
+        JournalEntry entry = new JournalEntry();
+        entry.type = JournalEntry.USE;
+        entry.accountKey = 1000000000L;
+        entry.amount = 100L;
+        entry.balance = balance;
+        entry.userId = 1L;
+        entry.transactedAt = System.currentTimeMillis();
+        return entry;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        List<Path> files = segmentFiles();
+        return files.get(files.size() - 1);
+    }
+
+    private static void corrupt(Path file, long position) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(position);
+            raf.writeLong(-1L);
+        }
+    }
+}
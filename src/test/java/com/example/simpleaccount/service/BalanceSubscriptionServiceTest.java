@@ -0,0 +1,84 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.*;
+
+class BalanceSubscriptionServiceTest {
+
+    private BalanceSubscriptionService balanceSubscriptionService;
+
+    private final CountDownLatch sendStarted = new CountDownLatch(1);
+
+    private final CountDownLatch releaseSend = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        balanceSubscriptionService = new BalanceSubscriptionService();
+        ReflectionTestUtils.setField(balanceSubscriptionService, "bufferSize", 8);
+        ReflectionTestUtils.setField(balanceSubscriptionService, "senderThreads", 1);
+        ReflectionTestUtils.setField(balanceSubscriptionService, "sendTimeoutMillis", 20L);
+        ReflectionTestUtils.setField(balanceSubscriptionService, "maxStalledSenders", 4);
+        balanceSubscriptionService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSend.countDown();
+        balanceSubscriptionService.shutdown();
+    }
+
+    @Test
+    @DisplayName("전송이 막힌 구독자는 끊고 다른 구독자 전송은 계속")
+    void close_stalled_subscriber() throws Exception {
+        // given
+        SseEmitter stalledEmitter = mock(SseEmitter.class);
+        willAnswer(invocation -> {
+            sendStarted.countDown();
+            releaseSend.await();
+            return null;
+        }).given(stalledEmitter).send(any(SseEmitter.SseEventBuilder.class));
+        SseEmitter otherEmitter = mock(SseEmitter.class);
+
+        balanceSubscriptionService.register(1L, stalledEmitter);
+        assertTrue(sendStarted.await(1, TimeUnit.SECONDS));
+        balanceSubscriptionService.register(2L, otherEmitter);
+        Thread.sleep(50L);
+
+        // when
+        balanceSubscriptionService.closeStalled();
+
+        // then
+        verify(stalledEmitter, times(1)).completeWithError(any());
+        verify(otherEmitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertEquals(1, balanceSubscriptionService.subscriberCount());
+    }
+
+    @Test
+    @DisplayName("제한 시간 안에 끝나는 전송은 끊지 않음")
+    void keep_fast_subscriber() throws Exception {
+        // given
+        SseEmitter emitter = mock(SseEmitter.class);
+        balanceSubscriptionService.register(1L, emitter);
+        verify(emitter, timeout(1000).times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        Thread.sleep(50L);
+
+        // when
+        balanceSubscriptionService.closeStalled();
+
+        // then
+        verify(emitter, never()).completeWithError(any());
+        assertEquals(1, balanceSubscriptionService.subscriberCount());
+    }
+}
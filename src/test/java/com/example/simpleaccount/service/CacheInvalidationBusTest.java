@@ -0,0 +1,97 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.example.simpleaccount.type.CacheType.TRANSACTION;
+import static com.example.simpleaccount.type.CacheType.USER_ACCOUNTS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RTopic topic;
+
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        given(redissonClient.getTopic(eq("CACHE_INVALIDATION"), any()))
+                .willReturn(topic);
+
+        bus = new CacheInvalidationBus(redissonClient, accountMetrics);
+        ReflectionTestUtils.setField(bus, "enabled", true);
+        ReflectionTestUtils.setField(bus, "ttlMillis", 60000L);
+        ReflectionTestUtils.setField(bus, "tombstoneMillis", 60000L);
+        ReflectionTestUtils.setField(bus, "maxEntries", 100);
+        ReflectionTestUtils.setField(bus, "batchSize", 200);
+        ReflectionTestUtils.setField(bus, "maxPending", 1000);
+        bus.init();
+    }
+
+    @Test
+    @DisplayName("커밋된 무효화를 모아서 메시지 하나로 전달")
+    void publish_invalidations_in_one_message() {
+        // given
+        bus.put(USER_ACCOUNTS, "1", "accounts");
+        bus.invalidate(USER_ACCOUNTS, "1");
+        bus.invalidate(USER_ACCOUNTS, "2");
+        bus.invalidate(TRANSACTION, "trxId");
+
+        // when
+        bus.publishPending();
+
+        // then
+        assertNull(bus.get(USER_ACCOUNTS, "1"));
+        verify(topic, times(1)).publish(endsWith("|1|U1,U2,TtrxId"));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 - 캐시에서 지우고 잠시 다시 저장하지 않음")
+    void invalidate_from_other_node() {
+        // given
+        bus.put(USER_ACCOUNTS, "1", "accounts");
+        bus.put(USER_ACCOUNTS, "2", "accounts");
+
+        // when
+        bus.onMessage("other|1|U1");
+        bus.put(USER_ACCOUNTS, "1", "stale");
+
+        // then
+        assertNull(bus.get(USER_ACCOUNTS, "1"));
+        assertEquals("accounts", bus.get(USER_ACCOUNTS, "2"));
+    }
+
+    @Test
+    @DisplayName("빠진 순번이 있으면 캐시를 모두 비움")
+    void flush_when_message_missed() {
+        // given
+        bus.onMessage("other|1|U9");
+        bus.put(USER_ACCOUNTS, "2", "accounts");
+        bus.put(TRANSACTION, "trxId", "transaction");
+
+        // when
+        bus.onMessage("other|3|U9");
+
+        // then
+        assertNull(bus.get(USER_ACCOUNTS, "2"));
+        assertNull(bus.get(TRANSACTION, "trxId"));
+    }
+}
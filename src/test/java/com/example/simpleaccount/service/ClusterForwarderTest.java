@@ -0,0 +1,119 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.exception.AccountException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.simpleaccount.config.RequestDeadlineInterceptor.REQUEST_TIMEOUT_HEADER;
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_FORWARD_FAILED;
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClusterForwarderTest {
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicReference<HttpExchange> received = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private volatile String responseBody;
+
+    private ClusterForwarder clusterForwarder;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            received.set(exchange);
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(),
+                    StandardCharsets.UTF_8));
+            byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        clusterForwarder = new ClusterForwarder(RestClient.builder(), objectMapper, 500, 2000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        RequestDeadline.clear();
+    }
+
+    @Test
+    @DisplayName("멱등성 키, epoch, 남은 요청 기한을 담아 전달하고 응답을 변환")
+    void forward_success() {
+        // given
+        responseBody = "{\"accountNumber\":\"1000000000\",\"amount\":1000}";
+        RequestDeadline.start(3000);
+
+        // when
+        UseBalance.Response response = clusterForwarder.forward(baseUrl, "/transaction/use",
+                3L, "key-1", new UseBalance.Request(1L, "1000000000", 1000L),
+                UseBalance.Response.class);
+
+        // then
+        assertEquals("1000000000", response.getAccountNumber());
+        assertEquals(1000L, response.getAmount());
+        HttpExchange exchange = received.get();
+        assertEquals("/transaction/use", exchange.getRequestURI().getPath());
+        assertEquals("3", exchange.getRequestHeaders().getFirst(ClusterForwarder.EPOCH_HEADER));
+        assertEquals("key-1", exchange.getRequestHeaders()
+                .getFirst(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER));
+        assertTrue(Long.parseLong(exchange.getRequestHeaders()
+                .getFirst(REQUEST_TIMEOUT_HEADER)) <= 3000);
+        assertTrue(receivedBody.get().contains("\"accountNumber\":\"1000000000\""));
+    }
+
+    @Test
+    @DisplayName("담당 노드의 오류 응답은 같은 오류 코드로 변환")
+    void forward_error_response() {
+        // given
+        responseBody = "{\"errorCode\":\"CLUSTER_OWNER_CHANGED\",\"errorMessage\":\"changed\"}";
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> clusterForwarder.forward(baseUrl, "/transaction/use", 3L, null,
+                        new UseBalance.Request(1L, "1000000000", 1000L),
+                        UseBalance.Response.class));
+
+        // then
+        assertEquals(CLUSTER_OWNER_CHANGED, exception.getErrorCode());
+        assertNull(received.get().getRequestHeaders()
+                .getFirst(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Test
+    @DisplayName("담당 노드에 연결하지 못하면 전달 실패")
+    void forward_connection_failed() {
+        // given
+        server.stop(0);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> clusterForwarder.forward(baseUrl, "/transaction/use", 3L, "key-1",
+                        new UseBalance.Request(1L, "1000000000", 1000L),
+                        UseBalance.Response.class));
+
+        // then
+        assertEquals(CLUSTER_FORWARD_FAILED, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RBucket;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterMembershipTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RMap<String, String> nodes;
+
+    @Mock
+    private RBucket<String> bucket;
+
+    private ClusterMembership clusterMembership;
+
+    @BeforeEach
+    void setUp() {
+        clusterMembership = new ClusterMembership(redissonClient);
+        ReflectionTestUtils.setField(clusterMembership, "enabled", true);
+        ReflectionTestUtils.setField(clusterMembership, "configuredNodeId", "d");
+        ReflectionTestUtils.setField(clusterMembership, "advertiseUrl", "http://d");
+        ReflectionTestUtils.setField(clusterMembership, "nodeTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(clusterMembership, "virtualNodes", 16);
+        ReflectionTestUtils.setField(clusterMembership, "handoffTimeoutMillis", 200L);
+        clusterMembership.init();
+
+        given(redissonClient.<String, String>getMap(eq("CLUSTER:NODES"), any(Codec.class)))
+                .willReturn(nodes);
+    }
+
+    @Test
+    @DisplayName("살아 있는 노드가 바뀌면 epoch 를 올린 view 저장")
+    void heartbeat_creates_next_view() {
+        // given
+        long now = System.currentTimeMillis();
+        given(redissonClient.<String>getBucket(eq("CLUSTER:VIEW"), any(Codec.class)))
+                .willReturn(bucket);
+        given(nodes.readAllMap()).willReturn(Map.of(
+                "c", "http://c|" + now + "|0",
+                "d", "http://d|" + now + "|0",
+                "x", "http://x|" + (now - 10_000L) + "|0"));
+        given(bucket.get()).willReturn("1|c=http://c|");
+        given(bucket.compareAndSet("1|c=http://c|", "2|c=http://c,d=http://d|c"))
+                .willReturn(true);
+
+        // when
+        clusterMembership.heartbeat();
+
+        // then
+        assertEquals(2L, clusterMembership.getView().getEpoch());
+        assertEquals("http://c", clusterMembership.getView().urlOf("c"));
+        assertNull(clusterMembership.getView().urlOf("x"));
+        verify(nodes).remove(eq("x"), anyString());
+    }
+
+    @Test
+    @DisplayName("view 에 남지 않은 이전 담당 노드(A -> C -> D)의 요청도 마칠 때까지 대기")
+    void await_handoff_waits_for_all_live_nodes() {
+        // given
+        long now = System.currentTimeMillis();
+        adoptView("3|c=http://c,d=http://d|c", Map.of(
+                "c", "http://c|" + now + "|3",
+                "d", "http://d|" + now + "|3"));
+        // a 는 epoch 2 에서 제외되었지만 heartbeat 가 살아 있고 epoch 1 요청을 처리 중
+        given(nodes.readAllMap()).willReturn(Map.of(
+                "a", "http://a|" + now + "|1",
+                "c", "http://c|" + now + "|3",
+                "d", "http://d|" + now + "|3"));
+        String accountNumber = accountOwnedBy("d");
+
+        // when
+        ClusterMembership.View view = clusterMembership.enter();
+        AccountException exception = assertThrows(AccountException.class,
+                () -> clusterMembership.awaitHandoff(view, accountNumber));
+        clusterMembership.exit(view);
+
+        // then
+        assertEquals(CLUSTER_OWNER_CHANGED, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("모든 노드가 이전 epoch 요청을 마치면 처리하고, 이후 요청은 다시 확인하지 않음")
+    void await_handoff_after_all_drained() {
+        // given
+        long now = System.currentTimeMillis();
+        Map<String, String> drained = Map.of(
+                "c", "http://c|" + now + "|3",
+                "d", "http://d|" + now + "|3");
+        adoptView("3|c=http://c,d=http://d|c", drained);
+        String accountNumber = accountOwnedBy("d");
+        clearInvocations(nodes);
+
+        // when
+        ClusterMembership.View view = clusterMembership.enter();
+        clusterMembership.awaitHandoff(view, accountNumber);
+        clusterMembership.awaitHandoff(view, accountNumber);
+        clusterMembership.exit(view);
+
+        // then
+        verify(nodes, times(1)).readAllMap();
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 만료된 노드는 lease 가 끝났으므로 기다리지 않음")
+    void await_handoff_skips_expired_node() {
+        // given
+        long now = System.currentTimeMillis();
+        adoptView("3|c=http://c,d=http://d|c", Map.of(
+                "c", "http://c|" + now + "|3",
+                "d", "http://d|" + now + "|3"));
+        given(nodes.readAllMap()).willReturn(Map.of(
+                "a", "http://a|" + (now - 10_000L) + "|1",
+                "c", "http://c|" + now + "|3"));
+        String accountNumber = accountOwnedBy("d");
+
+        // when
+        ClusterMembership.View view = clusterMembership.enter();
+
+        // then
+        assertDoesNotThrow(() -> clusterMembership.awaitHandoff(view, accountNumber));
+        clusterMembership.exit(view);
+    }
+
+    @Test
+    @DisplayName("lease 가 끝나면 담당 계좌라도 처리하지 않음")
+    void check_owner_after_lease_expired() {
+        // given
+        long now = System.currentTimeMillis();
+        adoptView("3|c=http://c,d=http://d|c", Map.of(
+                "c", "http://c|" + now + "|3",
+                "d", "http://d|" + now + "|3"));
+        String accountNumber = accountOwnedBy("d");
+        clusterMembership.checkOwner(accountNumber);
+
+        ReflectionTestUtils.setField(clusterMembership, "leaseUntilMillis", now - 1);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> clusterMembership.checkOwner(accountNumber));
+
+        // then
+        assertEquals(CLUSTER_OWNER_CHANGED, exception.getErrorCode());
+    }
+
+    // heartbeat 로 저장된 view 를 받아들임
+    private void adoptView(String storedView, Map<String, String> liveNodes) {
+        given(redissonClient.<String>getBucket(eq("CLUSTER:VIEW"), any(Codec.class)))
+                .willReturn(bucket);
+        given(bucket.get()).willReturn(storedView);
+        given(nodes.readAllMap()).willReturn(liveNodes);
+        clusterMembership.heartbeat();
+    }
+
+    // 이전 view(c 만 있음)에서는 c, 지금 view 에서는 owner 가 담당하는 계좌
+    private String accountOwnedBy(String owner) {
+        return IntStream.range(0, 1000)
+                .mapToObj(i -> String.format("%010d", 1_000_000_000L + i))
+                .filter(accountNumber -> owner.equals(
+                        clusterMembership.getView().ownerOf(accountNumber)))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.exception.AccountException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterRoutingAspectTest {
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    @Mock
+    private ClusterForwarder clusterForwarder;
+
+    @Mock
+    private ClusterMembership.View view;
+
+    @Mock
+    private ProceedingJoinPoint proceedingJoinPoint;
+
+    @Mock
+    private MethodSignature methodSignature;
+
+    @InjectMocks
+    private ClusterRoutingAspect clusterRoutingAspect;
+
+    private final MockHttpServletRequest servletRequest =
+            new MockHttpServletRequest("POST", "/transaction/use");
+
+    private final UseBalance.Request request =
+            new UseBalance.Request(1L, "1000000000", 1000L);
+
+    @BeforeEach
+    void setUp() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(servletRequest));
+        given(clusterMembership.isEnabled()).willReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("담당 노드면 이전 담당 노드의 처리가 끝난 뒤 처리")
+    void proceed_on_owner() throws Throwable {
+        // given
+        given(clusterMembership.enter()).willReturn(view);
+        given(clusterMembership.getNodeId()).willReturn("a");
+        given(view.ownerOf("1000000000")).willReturn("a");
+        given(proceedingJoinPoint.proceed()).willReturn("ok");
+
+        // when
+        Object result = clusterRoutingAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        assertEquals("ok", result);
+        InOrder inOrder = inOrder(clusterMembership, proceedingJoinPoint);
+        inOrder.verify(clusterMembership).awaitHandoff(view, "1000000000");
+        inOrder.verify(proceedingJoinPoint).proceed();
+        inOrder.verify(clusterMembership).exit(view);
+        verify(clusterForwarder, never())
+                .forward(anyString(), anyString(), anyLong(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("다른 노드가 담당하면 멱등성 키와 epoch 를 담아 전달")
+    void forward_to_owner() throws Throwable {
+        // given
+        servletRequest.addHeader(IdempotencyAopAspect.IDEMPOTENCY_KEY_HEADER, "key-1");
+        UseBalance.Response response = UseBalance.Response.builder()
+                .accountNumber("1000000000")
+                .build();
+        stubRemoteOwner();
+        given(clusterForwarder.forward("http://b", "/transaction/use", 3L, "key-1",
+                request, UseBalance.Response.class)).willReturn(response);
+
+        // when
+        Object result = clusterRoutingAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        assertSame(response, result);
+        verify(clusterMembership).exit(view);
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("담당 노드가 바뀌었다고 응답하면 view 를 다시 읽고 한 번 더 시도")
+    void retry_forward_after_owner_changed() throws Throwable {
+        // given
+        UseBalance.Response response = new UseBalance.Response();
+        stubRemoteOwner();
+        given(clusterForwarder.forward(eq("http://b"), eq("/transaction/use"), eq(3L),
+                any(), eq(request), eq(UseBalance.Response.class)))
+                .willThrow(new AccountException(CLUSTER_OWNER_CHANGED))
+                .willReturn(response);
+
+        // when
+        Object result = clusterRoutingAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        assertSame(response, result);
+        verify(clusterMembership, times(1)).refresh();
+        verify(clusterMembership, times(2)).exit(view);
+    }
+
+    @Test
+    @DisplayName("전달받은 요청을 담당하지 않으면 다시 전달하지 않고 거절")
+    void reject_forwarded_request_not_owned() {
+        // given
+        servletRequest.addHeader(ClusterForwarder.EPOCH_HEADER, "4");
+        given(clusterMembership.enter()).willReturn(view);
+        given(clusterMembership.getNodeId()).willReturn("a");
+        given(view.ownerOf("1000000000")).willReturn("b");
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> clusterRoutingAspect.aroundMethod(proceedingJoinPoint, request));
+
+        // then
+        assertEquals(CLUSTER_OWNER_CHANGED, exception.getErrorCode());
+        verify(clusterMembership).refreshIfBehind(4L);
+        verify(clusterMembership).exit(view);
+        verifyNoInteractions(clusterForwarder);
+    }
+
+    private void stubRemoteOwner() {
+        given(clusterMembership.enter()).willReturn(view);
+        given(clusterMembership.getNodeId()).willReturn("a");
+        given(view.ownerOf("1000000000")).willReturn("b");
+        given(view.urlOf("b")).willReturn("http://b");
+        given(view.getEpoch()).willReturn(3L);
+        given(proceedingJoinPoint.getSignature()).willReturn(methodSignature);
+        given(methodSignature.getReturnType()).willReturn(UseBalance.Response.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    @Test
+    @DisplayName("노드가 추가되면 새 노드로 옮겨가는 계좌만 담당 노드가 바뀜")
+    void only_moved_accounts_change_owner() {
+        // given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c", "d"), 64);
+
+        // when
+        int moved = 0;
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            String accountNumber = String.format("%010d", 1000000000L + i);
+            String owner = after.ownerOf(accountNumber);
+            owned.merge(owner, 1, Integer::sum);
+
+            if (!owner.equals(before.ownerOf(accountNumber))) {
+                moved++;
+                assertEquals("d", owner);
+            }
+        }
+
+        // then
+        assertTrue(moved > 1000 && moved < 4000, "moved : " + moved);
+        owned.values().forEach(count -> assertTrue(count > 1000, "owned : " + owned));
+    }
+
+    @Test
+    @DisplayName("노드 목록 순서와 관계없이 같은 담당 노드, 노드가 없으면 null")
+    void same_owner_regardless_of_order() {
+        // given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c"), 64);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of("c", "a", "b"), 64);
+
+        // when
+        // then
+        for (int i = 0; i < 1000; i++) {
+            String accountNumber = String.format("%010d", 1000000000L + i);
+            assertEquals(ring.ownerOf(accountNumber), reordered.ownerOf(accountNumber));
+        }
+        assertNull(new ConsistentHashRing(List.of(), 64).ownerOf("1000000000"));
+    }
+}
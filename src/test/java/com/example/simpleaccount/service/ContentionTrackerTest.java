@@ -0,0 +1,163 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.ContendedAccount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ContentionTrackerTest {
+    private static final long MILLIS = 1_000_000L;
+
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    private ContentionTracker contentionTracker;
+
+    @BeforeEach
+    void setUp() {
+        contentionTracker = new ContentionTracker(accountMetrics);
+        ReflectionTestUtils.setField(contentionTracker, "enabled", true);
+        ReflectionTestUtils.setField(contentionTracker, "capacity", 3);
+        ReflectionTestUtils.setField(contentionTracker, "stripeCount", 1);
+        ReflectionTestUtils.setField(contentionTracker, "sampleRate", 1);
+        ReflectionTestUtils.setField(contentionTracker, "waitThresholdMillis", 5L);
+        ReflectionTestUtils.setField(contentionTracker, "metricTopN", 10);
+        contentionTracker.init();
+    }
+
+    @Test
+    @DisplayName("추적 가능한 수보다 계좌가 많아도 시도가 많은 계좌는 상위에 남음")
+    void keep_heavy_hitters() {
+        // given
+        for (int i = 0; i < 100; i++) {
+            contentionTracker.record("1111111111", 10 * MILLIS, i % 10 == 0);
+            contentionTracker.record("10000000" + (i % 50), 0L, false);
+        }
+
+        // when
+        List<ContendedAccount> top = contentionTracker.top(2);
+
+        // then
+        assertEquals(2, top.size());
+        ContendedAccount hot = top.get(0);
+        assertEquals("1111111111", hot.getAccountNumber());
+        assertTrue(hot.getAttempts() >= 100);
+        assertTrue(hot.getAttempts() - hot.getMaxOverestimate() <= 100);
+        assertEquals(100L, hot.getWaits());
+        assertEquals(10L, hot.getLockFailures());
+        assertEquals(1000.0, hot.getWaitMillis());
+    }
+
+    @Test
+    @DisplayName("stripe 로 나눠도 시도가 많은 계좌는 오차 범위 안에서 상위에 남음")
+    void keep_heavy_hitters_across_stripes() {
+        // given
+        ReflectionTestUtils.setField(contentionTracker, "capacity", 16);
+        ReflectionTestUtils.setField(contentionTracker, "stripeCount", 4);
+        contentionTracker.init();
+
+        for (int i = 0; i < 200; i++) {
+            contentionTracker.record("1111111111", 0L, false);
+            for (int j = 0; j < 5; j++) {
+                contentionTracker.record(String.valueOf(2_000_000_000L + i * 5 + j), 0L, false);
+            }
+        }
+
+        // when
+        List<ContendedAccount> top = contentionTracker.top(16);
+
+        // then
+        assertEquals(16, top.size());
+        ContendedAccount hot = top.get(0);
+        assertEquals("1111111111", hot.getAccountNumber());
+        assertTrue(hot.getAttempts() >= 200);
+        assertTrue(hot.getAttempts() - hot.getMaxOverestimate() <= 200);
+    }
+
+    @Test
+    @DisplayName("샘플링한 기록은 배율을 곱해서 셈")
+    void scale_sampled_counts() {
+        // given
+        ReflectionTestUtils.setField(contentionTracker, "sampleRate", 4);
+
+        for (int i = 0; i < 4000; i++) {
+            contentionTracker.record("1111111111", 10 * MILLIS, false);
+        }
+
+        // when
+        ContendedAccount hot = contentionTracker.top(1).get(0);
+
+        // then
+        assertEquals(0L, hot.getAttempts() % 4);
+        assertEquals(hot.getAttempts(), hot.getWaits());
+        assertTrue(hot.getAttempts() > 3000 && hot.getAttempts() < 5000);
+    }
+
+    @Test
+    @DisplayName("주기마다 값을 절반으로 줄이고 0 이 된 계좌는 제외")
+    void decay_counters() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            contentionTracker.record("1111111111", 0L, false);
+        }
+        contentionTracker.record("2222222222", 0L, false);
+
+        // when
+        contentionTracker.publishAndDecay();
+
+        // then
+        verify(accountMetrics).updateContendedAccounts(anyList());
+        List<ContendedAccount> top = contentionTracker.top(10);
+        assertEquals(1, top.size());
+        assertEquals(2L, top.get(0).getAttempts());
+    }
+
+    @Test
+    @DisplayName("절반으로 줄여 시도 수가 같아진 계좌도 이후 순서대로 셈")
+    void record_after_decay_merges_buckets() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            contentionTracker.record("1111111111", 0L, false);
+        }
+        for (int i = 0; i < 4; i++) {
+            contentionTracker.record("2222222222", 0L, false);
+        }
+        contentionTracker.decay();
+
+        // when
+        contentionTracker.record("2222222222", 0L, false);
+
+        // then
+        List<ContendedAccount> top = contentionTracker.top(10);
+        assertEquals("2222222222", top.get(0).getAccountNumber());
+        assertEquals(3L, top.get(0).getAttempts());
+        assertEquals(2L, top.get(1).getAttempts());
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 기록하지 않음")
+    void skip_when_disabled() {
+        // given
+        ReflectionTestUtils.setField(contentionTracker, "enabled", false);
+
+        // when
+        contentionTracker.record("1111111111", 10 * MILLIS, true);
+        contentionTracker.publishAndDecay();
+
+        // then
+        assertTrue(contentionTracker.top(10).isEmpty());
+        verify(accountMetrics, never()).updateContendedAccounts(anyList());
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.domain.AccountUser;
+import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.exception.AccountException;
+import com.example.simpleaccount.repository.AccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_BALANCE_NOT_EMPTY;
+import static com.example.simpleaccount.type.ErrorCode.AMOUNT_EXCEED_BALANCE;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotBalanceServiceTest {
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private RScript rScript;
+
+    @InjectMocks
+    private HotBalanceService hotBalanceService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hotBalanceService, "streamName", "HOT_BALANCE_EVENTS");
+        given(redissonClient.getScript(any())).willReturn(rScript);
+    }
+
+    @Test
+    @DisplayName("스크립트가 반환한 잔액으로 거래 생성")
+    void use_balance_success() {
+        // given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class)))
+                .willReturn(9000L);
+
+        // when
+        TransactionDto transactionDto =
+                hotBalanceService.useBalance(1L, "1000000000", 1000L);
+
+        // then
+        assertEquals(USE, transactionDto.getTransactionType());
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+        assertEquals(1000L, transactionDto.getAmount());
+        assertNotNull(transactionDto.getTransactionId());
+    }
+
+    @Test
+    @DisplayName("잔액 부족 - 스크립트 실패 코드를 에러 코드로 변환")
+    void use_balance_amount_exceed() {
+        // given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class)))
+                .willReturn(-4L);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotBalanceService.useBalance(1L, "1000000000", 1000L));
+
+        // then
+        assertEquals(AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Redis 에 잔액이 없으면 DB 잔액을 적재한 뒤 다시 시도")
+    void use_balance_loads_from_db() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+
+        accountUser.setId(1L);
+
+        given(accountRepository.findByAccountNumber("1000000000"))
+                .willReturn(Optional.of(Account.builder()
+                        .accountUser(accountUser)
+                        .accountStatus(ACTIVE)
+                        .accountNumber("1000000000")
+                        .balance(10000L)
+                        .build()));
+        // 사용 (미적재) -> 적재 -> 사용
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class)))
+                .willReturn(-1L, 1L, 9000L);
+
+        // when
+        TransactionDto transactionDto =
+                hotBalanceService.useBalance(1L, "1000000000", 1000L);
+
+        // then
+        assertEquals(9000L, transactionDto.getBalanceSnapshot());
+        verify(rScript, times(3)).eval(any(RScript.Mode.class), anyString(),
+                any(RScript.ReturnType.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("해지 - Redis 잔액이 0 이면 상태를 CLOSED 로 변경")
+    void close_account_success() {
+        // given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class)))
+                .willReturn(0L);
+
+        // when
+        hotBalanceService.closeAccount(1L, "1000000000");
+
+        // then
+        verify(rScript, times(1)).eval(any(RScript.Mode.class),
+                contains("'status', 'CLOSED'"), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("해지 실패 - Redis 에 잔액이 남아 있음")
+    void close_account_balance_not_empty() {
+        // given
+        given(rScript.eval(any(RScript.Mode.class), anyString(), any(RScript.ReturnType.class),
+                anyList(), any(Object[].class)))
+                .willReturn(-7L);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> hotBalanceService.closeAccount(1L, "1000000000"));
+
+        // then
+        assertEquals(ACCOUNT_BALANCE_NOT_EMPTY, exception.getErrorCode());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.IdempotencyRecord;
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.type.StoreMode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyStoreTest {
+    private IdempotencyStore idempotencyStore;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyStore = new IdempotencyStore(mock(RedissonClient.class), new ObjectMapper());
+        ReflectionTestUtils.setField(idempotencyStore, "mode", StoreMode.LOCAL);
+        ReflectionTestUtils.setField(idempotencyStore, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(idempotencyStore, "maxEntries", 2);
+        idempotencyStore.init();
+    }
+
+    @Test
+    @DisplayName("처음 요청은 선점, 재요청은 처리 중 기록 반환")
+    void reserve_then_in_progress() {
+        // given
+        // when
+        IdempotencyRecord first = idempotencyStore.reserve("use:key", "fingerprint");
+        IdempotencyRecord second = idempotencyStore.reserve("use:key", "fingerprint");
+
+        // then
+        assertNull(first);
+        assertNotNull(second);
+        assertFalse(second.isCompleted());
+    }
+
+    @Test
+    @DisplayName("완료된 요청은 처음 응답을 반환")
+    void replay_completed_response() {
+        // given
+        UseBalance.Response response = UseBalance.Response.builder()
+                .transactionId("transactionId")
+                .build();
+        idempotencyStore.reserve("use:key", "fingerprint");
+        idempotencyStore.complete("use:key", "fingerprint", response);
+
+        // when
+        IdempotencyRecord record = idempotencyStore.reserve("use:key", "fingerprint");
+
+        // then
+        assertTrue(record.isCompleted());
+        assertSame(response, record.getResponse());
+    }
+
+    @Test
+    @DisplayName("실패로 해제된 키는 다시 선점 가능")
+    void reserve_again_after_release() {
+        // given
+        idempotencyStore.reserve("use:key", "fingerprint");
+
+        // when
+        idempotencyStore.release("use:key");
+
+        // then
+        assertNull(idempotencyStore.reserve("use:key", "fingerprint"));
+    }
+
+    @Test
+    @DisplayName("최대 보관 건수를 넘으면 오래된 키부터 제거")
+    void evict_eldest_entry() {
+        // given
+        idempotencyStore.reserve("use:1", "fingerprint");
+        idempotencyStore.reserve("use:2", "fingerprint");
+
+        // when
+        idempotencyStore.reserve("use:3", "fingerprint");
+
+        // then
+        assertNull(idempotencyStore.reserve("use:1", "fingerprint"));
+    }
+}
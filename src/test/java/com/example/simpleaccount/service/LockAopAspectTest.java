@@ -1,18 +1,31 @@
 package com.example.simpleaccount.service;
 
+import com.example.simpleaccount.dto.TransferBalance;
 import com.example.simpleaccount.dto.UseBalance;
 import com.example.simpleaccount.exception.AccountException;
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_NOT_FOUND;
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.simpleaccount.type.ErrorCode.CLUSTER_OWNER_CHANGED;
+import static com.example.simpleaccount.type.ErrorCode.REQUEST_TIMEOUT;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -22,12 +35,33 @@ class LockAopAspectTest {
     @Mock
     private LockService lockService;
 
+    @Mock
+    private LockBulkhead lockBulkhead;
+
+    @Mock
+    private HotBalanceService hotBalanceService;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    @Mock
+    private ContentionTracker contentionTracker;
+
     @Mock
     private ProceedingJoinPoint proceedingJoinPoint;
 
-    @InjectMocks
     private LockAopAspect lockAopAspect;
 
+    @BeforeEach
+    void setUp() {
+        lockAopAspect = new LockAopAspect(
+                new AccountLocker(lockService, lockBulkhead, contentionTracker),
+                hotBalanceService, balanceEngine, clusterMembership);
+    }
+
     @Test
     void lock_and_unlock_success() throws Throwable {
         // given
@@ -43,7 +77,7 @@ class LockAopAspectTest {
 
         // then
         verify(lockService, times(1))
-                .lock(lockArgumentCaptor.capture());
+                .lock(lockArgumentCaptor.capture(), anyLong());
         verify(lockService, times(1))
                 .unlock(unlockArgumentCaptor.capture());
 
@@ -70,7 +104,7 @@ class LockAopAspectTest {
 
         // then
         verify(lockService, times(1))
-                .lock(lockArgumentCaptor.capture());
+                .lock(lockArgumentCaptor.capture(), anyLong());
         verify(lockService, times(1))
                 .unlock(unlockArgumentCaptor.capture());
 
@@ -78,4 +112,150 @@ class LockAopAspectTest {
         assertEquals("2222222222", unlockArgumentCaptor.getValue());
     }
 
-}
\ No newline at end of file
+    @Test
+    void lock_transfer_accounts_in_order() throws Throwable {
+        // given
+        TransferBalance.Request request = new TransferBalance.Request(
+                1L, "9999999999", "1111111111", 1000L);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        InOrder inOrder = inOrder(lockService, proceedingJoinPoint);
+        inOrder.verify(lockService).lock(eq("1111111111"), anyLong());
+        inOrder.verify(lockService).lock(eq("9999999999"), anyLong());
+        inOrder.verify(proceedingJoinPoint).proceed();
+        inOrder.verify(lockService).unlock("9999999999");
+        inOrder.verify(lockService).unlock("1111111111");
+    }
+
+    @Test
+    void release_first_lock_when_second_lock_fails() throws Throwable {
+        // given
+        TransferBalance.Request request = transferFailingSecondLock();
+
+        // when
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+
+        // then
+        verify(lockService, times(1)).unlock("1111111111");
+        verify(lockService, never()).unlock("2222222222");
+        verify(lockBulkhead, times(1)).exit("2222222222");
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    @DisplayName("계좌별 Lock 시도와 실패를 경합 계좌 집계에 기록")
+    void record_contention_per_account() throws Throwable {
+        // given
+        TransferBalance.Request request = transferFailingSecondLock();
+
+        // when
+        assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+
+        // then
+        verify(contentionTracker, times(1)).record(eq("1111111111"), anyLong(), eq(false));
+        verify(contentionTracker, times(1)).record(eq("2222222222"), anyLong(), eq(true));
+    }
+
+    @Test
+    void do_not_lock_when_bulkhead_rejects() throws Throwable {
+        // given
+        UseBalance.Request request = new UseBalance.Request(1L, "3333333333", 1000L);
+
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockBulkhead).enter(anyString());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        verify(lockService, never()).lock(anyString(), anyLong());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    @Test
+    void do_not_lock_when_request_deadline_passed() throws Throwable {
+        // given
+        UseBalance.Request request = new UseBalance.Request(1L, "4444444444", 1000L);
+        RequestDeadline.start(0L);
+
+        try {
+            // when
+            AccountException exception = assertThrows(AccountException.class,
+                    () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+
+            // then
+            assertEquals(REQUEST_TIMEOUT, exception.getErrorCode());
+            verify(lockBulkhead, never()).enter(anyString());
+            verify(lockService, never()).lock(anyString(), anyLong());
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void do_not_lock_hot_account() throws Throwable {
+        // given
+        UseBalance.Request request = new UseBalance.Request(1L, "5555555555", 1000L);
+
+        given(hotBalanceService.isHot("5555555555")).willReturn(true);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        verify(proceedingJoinPoint, times(1)).proceed();
+        verify(lockBulkhead, never()).enter(anyString());
+        verify(lockService, never()).lock(anyString(), anyLong());
+    }
+
+    @Test
+    void lock_locally_when_cluster_owner() throws Throwable {
+        // given
+        UseBalance.Request request = new UseBalance.Request(1L, "6666666666", 1000L);
+
+        given(clusterMembership.isEnabled()).willReturn(true);
+
+        // when
+        lockAopAspect.aroundMethod(proceedingJoinPoint, request);
+
+        // then
+        verify(clusterMembership, times(1)).checkOwner("6666666666");
+        verify(lockService, times(1)).lockLocal(anyString(), anyLong());
+        verify(lockService, times(1)).unlockLocal("6666666666");
+        verify(lockService, never()).lock(anyString(), anyLong());
+    }
+
+    @Test
+    void do_not_lock_when_not_cluster_owner() throws Throwable {
+        // given
+        UseBalance.Request request = new UseBalance.Request(1L, "7777777777", 1000L);
+
+        given(clusterMembership.isEnabled()).willReturn(true);
+        willThrow(new AccountException(CLUSTER_OWNER_CHANGED))
+                .given(clusterMembership).checkOwner(anyString());
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockAopAspect.aroundMethod(proceedingJoinPoint, request));
+
+        // then
+        assertEquals(CLUSTER_OWNER_CHANGED, exception.getErrorCode());
+        verify(lockService, never()).lockLocal(anyString(), anyLong());
+        verify(proceedingJoinPoint, never()).proceed();
+    }
+
+    // 1111111111 은 Lock 을 얻고 2222222222 는 Lock 을 얻지 못하는 이체 요청
+    private TransferBalance.Request transferFailingSecondLock() {
+        willDoNothing().given(lockService).lock(eq("1111111111"), anyLong());
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock(eq("2222222222"), anyLong());
+        return new TransferBalance.Request(1L, "1111111111", "2222222222", 1000L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.exception.AccountException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.simpleaccount.type.ErrorCode.TOO_MANY_REQUESTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LockBulkheadTest {
+    private LockBulkhead lockBulkhead;
+
+    @BeforeEach
+    void setUp() {
+        lockBulkhead = new LockBulkhead();
+        ReflectionTestUtils.setField(lockBulkhead, "maxWaitersPerAccount", 1);
+        ReflectionTestUtils.setField(lockBulkhead, "maxConcurrent", 3);
+    }
+
+    @Test
+    @DisplayName("계좌별 대기자 초과 시 거절")
+    void reject_when_account_queue_is_full() {
+        // given
+        lockBulkhead.enter("1111111111");
+        lockBulkhead.enter("1111111111");
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockBulkhead.enter("1111111111"));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertEquals(2, lockBulkhead.inFlight("1111111111"));
+        assertDoesNotThrow(() -> lockBulkhead.enter("2222222222"));
+    }
+
+    @Test
+    @DisplayName("전체 동시 요청 초과 시 거절")
+    void reject_when_global_bulkhead_is_full() {
+        // given
+        lockBulkhead.enter("1111111111");
+        lockBulkhead.enter("2222222222");
+        lockBulkhead.enter("3333333333");
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> lockBulkhead.enter("4444444444"));
+
+        // then
+        assertEquals(TOO_MANY_REQUESTS, exception.getErrorCode());
+        assertEquals(0, lockBulkhead.inFlight("4444444444"));
+    }
+
+    @Test
+    @DisplayName("퇴장 후 다시 입장 가능")
+    void enter_after_exit() {
+        // given
+        lockBulkhead.enter("1111111111");
+        lockBulkhead.enter("1111111111");
+
+        // when
+        lockBulkhead.exit("1111111111");
+
+        // then
+        assertDoesNotThrow(() -> lockBulkhead.enter("1111111111"));
+    }
+}
@@ -1,20 +1,38 @@
 package com.example.simpleaccount.service;
 
 
+import com.example.simpleaccount.config.LockRedisClients;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.type.ErrorCode;
+import com.example.simpleaccount.type.LockMode;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RFuture;
 import org.redisson.api.RLock;
 import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class LockServiceTest {
@@ -25,6 +43,9 @@ class LockServiceTest {
     @Mock
     private RLock rLock;
 
+    @Mock
+    private AccountMetrics accountMetrics;
+
     @InjectMocks
     private LockService lockService;
 
@@ -59,4 +80,187 @@ class LockServiceTest {
         assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("QUORUM - Redis 3 대 중 2 대에서 얻으면 성공")
+    void get_quorum_lock_success() throws Exception {
+        // given
+        List<RLock> locks = quorumLocks(true, true, false);
+        LockService quorumLockService = quorumLockService(locks);
+
+        // when
+        // then
+        assertDoesNotThrow(() -> quorumLockService.lock("1111", 0L));
+        for (RLock lock : locks) {
+            verify(lock, never()).unlockAsync(anyLong());
+        }
+    }
+
+    @Test
+    @DisplayName("QUORUM - 과반수에서 얻지 못하면 얻은 Lock 을 해제하고 실패")
+    void get_quorum_lock_fail() throws Exception {
+        // given
+        List<RLock> locks = quorumLocks(true, false, false);
+        LockService quorumLockService = quorumLockService(locks);
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> quorumLockService.lock("1111", 0L));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        for (RLock lock : locks) {
+            verify(lock, times(1)).unlockAsync(anyLong());
+        }
+    }
+
+    @Test
+    @DisplayName("QUORUM - 유효 시간은 요청 시간과 시계 오차를 뺀 시간")
+    void quorum_lock_validity() {
+        assertEquals(15000L - 30L - 152L, LockService.validityMillis(15000L, 30L, 0.01));
+        assertTrue(LockService.validityMillis(100L, 99L, 0.01) <= 0);
+    }
+
+    @Test
+    @DisplayName("QUORUM - 유효 시간이 지난 Lock 으로는 커밋하지 않음")
+    void check_quorum_lock_validity() throws Exception {
+        // given
+        LockService quorumLockService = quorumLockService(quorumLocks(true, true, true));
+        quorumLockService.lock("1111");
+        assertDoesNotThrow(quorumLockService::checkQuorumValidity);
+
+        // when
+        expireQuorumLock(quorumLockService, "1111");
+        AccountException exception = assertThrows(AccountException.class,
+                quorumLockService::checkQuorumValidity);
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        quorumLockService.unlock("1111");
+        assertDoesNotThrow(quorumLockService::checkQuorumValidity);
+    }
+
+    @Test
+    @DisplayName("LOCAL - 해시가 같은 계좌끼리도 Lock 을 나눠 쓰지 않음")
+    void local_lock_per_account() throws Exception {
+        // given
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        lockService.lockLocal("Aa", 0L);
+
+        // when
+        boolean otherLocked = CompletableFuture.supplyAsync(() -> {
+            lockService.lockLocal("BB", 0L);
+            lockService.unlockLocal("BB");
+            return true;
+        }).get(5, TimeUnit.SECONDS);
+        lockService.unlockLocal("Aa");
+
+        // then
+        assertTrue(otherLocked);
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(lockService, "localLocks")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("LOCAL - 다른 스레드가 가진 계좌 Lock 은 기다리다 실패")
+    void local_lock_fail() throws Exception {
+        // given
+        lockService.lockLocal("1111", 0L);
+
+        // when
+        AccountException exception = CompletableFuture.supplyAsync(() ->
+                assertThrows(AccountException.class,
+                        () -> lockService.lockLocal("1111", 10L))
+        ).get(5, TimeUnit.SECONDS);
+        lockService.unlockLocal("1111");
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, exception.getErrorCode());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(lockService, "localLocks")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("JFR - Lock 취득 대기와 보유 이벤트를 계좌 해시로 기록")
+    void record_lock_jfr_events() throws Exception {
+        // given
+        given(redissonClient.getLock(anyString()))
+                .willReturn(rLock);
+        given(rLock.tryLock(anyLong(), anyLong(), any()))
+                .willReturn(true);
+        ReflectionTestUtils.setField(lockService, "mode", LockMode.SINGLE);
+
+        // when
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable("com.example.simpleaccount.LockAcquire").withThreshold(Duration.ZERO);
+            recording.enable("com.example.simpleaccount.LockHold").withThreshold(Duration.ZERO);
+            recording.start();
+            lockService.lock("1111");
+            lockService.unlock("1111");
+            recording.stop();
+            events = readEvents(recording);
+        }
+
+        // then
+        RecordedEvent acquire = findEvent(events, "com.example.simpleaccount.LockAcquire");
+        assertEquals("1111".hashCode(), acquire.getInt("accountHash"));
+        assertEquals("SINGLE", acquire.getString("mode"));
+        assertEquals("ACQUIRED", acquire.getString("outcome"));
+        RecordedEvent hold = findEvent(events, "com.example.simpleaccount.LockHold");
+        assertEquals("1111".hashCode(), hold.getInt("accountHash"));
+    }
+
+    private static List<RecordedEvent> readEvents(Recording recording) throws Exception {
+        Path file = Files.createTempFile("lock", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void expireQuorumLock(LockService quorumLockService, String accountNumber) {
+        ((ThreadLocal<Map<String, Long>>) ReflectionTestUtils.getField(
+                quorumLockService, "quorumValidUntil"))
+                .get().put(accountNumber, System.nanoTime() - 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RLock> quorumLocks(boolean... acquired) throws Exception {
+        List<RLock> locks = new ArrayList<>();
+        for (boolean result : acquired) {
+            RLock lock = mock(RLock.class);
+            RFuture<Boolean> tryLock = mock(RFuture.class);
+            given(tryLock.get(anyLong(), any())).willReturn(result);
+            given(lock.tryLockAsync(anyLong(), anyLong(), any(), anyLong()))
+                    .willReturn(tryLock);
+            lenient().when(lock.unlockAsync(anyLong())).thenReturn(mock(RFuture.class));
+            locks.add(lock);
+        }
+        return locks;
+    }
+
+    private LockService quorumLockService(List<RLock> locks) {
+        List<RedissonClient> clients = new ArrayList<>();
+        for (RLock lock : locks) {
+            RedissonClient client = mock(RedissonClient.class);
+            given(client.getLock(anyString())).willReturn(lock);
+            clients.add(client);
+        }
+
+        LockService quorumLockService =
+                new LockService(redissonClient, new LockRedisClients(clients, false),
+                        accountMetrics);
+        ReflectionTestUtils.setField(quorumLockService, "mode", LockMode.QUORUM);
+        ReflectionTestUtils.setField(quorumLockService, "responseTimeoutMillis", 100L);
+        ReflectionTestUtils.setField(quorumLockService, "clockDriftFactor", 0.01);
+        return quorumLockService;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLongMapTest {
+
+    @Test
+    @DisplayName("크기를 넘겨 저장해도 모든 값 조회")
+    void put_and_get_after_resize() {
+        // given
+        LongLongMap map = new LongLongMap(4);
+
+        // when
+        for (long key = 0; key < 1000; key++) {
+            map.put(key * 31, key);
+        }
+
+        // then
+        assertEquals(1000, map.size());
+        for (long key = 0; key < 1000; key++) {
+            assertEquals(key, map.get(key * 31, -1L));
+        }
+        assertEquals(-1L, map.get(7L, -1L));
+    }
+
+    @Test
+    @DisplayName("삭제 후에도 같은 자리를 두고 충돌한 값 조회")
+    void remove_keeps_colliding_keys() {
+        // given
+        LongLongMap map = new LongLongMap(16);
+        for (long key = 1; key <= 20; key++) {
+            map.put(key, key * 10);
+        }
+
+        // when
+        for (long key = 1; key <= 20; key += 2) {
+            assertTrue(map.remove(key));
+        }
+
+        // then
+        assertEquals(10, map.size());
+        for (long key = 1; key <= 20; key++) {
+            assertEquals(key % 2 == 0 ? key * 10 : -1L, map.get(key, -1L));
+        }
+        assertFalse(map.remove(1L));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.repository.AccountRepository;
+import com.example.simpleaccount.repository.AccountUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenAccountCountBackfillTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountUserRepository accountUserRepository;
+
+    private OpenAccountCountBackfill openAccountCountBackfill;
+
+    @BeforeEach
+    void setUp() {
+        openAccountCountBackfill = new OpenAccountCountBackfill(accountRepository,
+                accountUserRepository,
+                new ShardRouter(mock(PlatformTransactionManager.class), 1));
+        ReflectionTestUtils.setField(openAccountCountBackfill, "enabled", true);
+    }
+
+    @Test
+    @DisplayName("사용자별 ACTIVE 계좌 수로 openAccountCount 보정")
+    void backfill_open_account_count() {
+        // given
+        given(accountRepository.countByStatusGroupByUser(ACTIVE))
+                .willReturn(List.of(new Object[]{1L, 3L}, new Object[]{2L, 1L}));
+
+        // when
+        openAccountCountBackfill.backfill();
+
+        // then
+        verify(accountUserRepository, times(1)).raiseOpenAccountCount(1L, 3);
+        verify(accountUserRepository, times(1)).raiseOpenAccountCount(2L, 1);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 세지 않음")
+    void skip_when_disabled() {
+        // given
+        ReflectionTestUtils.setField(openAccountCountBackfill, "enabled", false);
+
+        // when
+        openAccountCountBackfill.backfill();
+
+        // then
+        verify(accountRepository, never()).countByStatusGroupByUser(ACTIVE);
+        verify(accountUserRepository, never()).raiseOpenAccountCount(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.OutboxEvent;
+import com.example.simpleaccount.dto.BalanceEvent;
+import com.example.simpleaccount.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static com.example.simpleaccount.type.TransactionResultType.S;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private BalanceEventSink sink;
+
+    @Mock
+    private RedissonClient redissonClient;
+
+    @Mock
+    private RLock rLock;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay = new OutboxRelay(outboxEventRepository,
+                List.of(sink), redissonClient,
+                new ShardRouter(mock(PlatformTransactionManager.class), 1));
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 10);
+
+        given(redissonClient.getLock(anyString())).willReturn(rLock);
+        given(rLock.tryLock()).willReturn(true);
+    }
+
+    @Test
+    @DisplayName("이벤트 전달 후 전달한 이벤트만 삭제")
+    void relay_publishes_and_deletes_delivered() {
+        // given
+        given(outboxEventRepository.findByCreatedAtBeforeOrderByIdAsc(any(), any()))
+                .willReturn(List.of(outboxEvent(4L), outboxEvent(5L)));
+
+        ArgumentCaptor<List<BalanceEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        outboxRelay.relay();
+
+        // then
+        verify(sink, times(1)).publish(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(4L, captor.getValue().get(0).getEventId());
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(4L, 5L));
+        verify(rLock, times(1)).unlock();
+    }
+
+    @Test
+    @DisplayName("전달 실패 시 삭제하지 않음")
+    void relay_keeps_events_on_failure() {
+        // given
+        given(sink.getName()).willReturn("test");
+        given(outboxEventRepository.findByCreatedAtBeforeOrderByIdAsc(any(), any()))
+                .willReturn(List.of(outboxEvent(4L)));
+        willThrow(new RuntimeException("sink down")).given(sink).publish(anyList());
+
+        // when
+        outboxRelay.relay();
+
+        // then
+        verify(outboxEventRepository, never()).deleteByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("더 큰 아이디를 전달한 뒤에 커밋된 작은 아이디의 이벤트도 전달")
+    void relay_late_committed_lower_id() {
+        // given
+        given(outboxEventRepository.findByCreatedAtBeforeOrderByIdAsc(any(), any()))
+                .willReturn(List.of(outboxEvent(5L)))
+                .willReturn(List.of(outboxEvent(4L)));
+
+        ArgumentCaptor<List<BalanceEvent>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        outboxRelay.relay();
+        outboxRelay.relay();
+
+        // then
+        verify(sink, times(2)).publish(captor.capture());
+        assertEquals(5L, captor.getAllValues().get(0).get(0).getEventId());
+        assertEquals(4L, captor.getAllValues().get(1).get(0).getEventId());
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(5L));
+        verify(outboxEventRepository, times(1)).deleteByIdIn(List.of(4L));
+    }
+
+    private static OutboxEvent outboxEvent(Long id) {
+        OutboxEvent outboxEvent = OutboxEvent.builder()
+                .transactionType(USE)
+                .transactionResult(S)
+                .accountNumber("1111111111")
+                .amount(1000L)
+                .balanceSnapshot(9000L)
+                .transactionId("transactionId" + id)
+                .build();
+        outboxEvent.setId(id);
+        return outboxEvent;
+    }
+}
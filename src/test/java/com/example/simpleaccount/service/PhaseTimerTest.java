@@ -0,0 +1,72 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.type.TimingPhase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PhaseTimerTest {
+
+    @AfterEach
+    void tearDown() {
+        PhaseTimer.clearRequest();
+        PhaseTimer.setEnabled(false);
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 측정하지 않음")
+    void disabled() {
+        // given
+        PhaseTimer.setEnabled(false);
+        long count = PhaseTimer.histogram(TimingPhase.LOCK).getCount();
+        PhaseTimer.startRequest();
+
+        // when
+        long start = PhaseTimer.begin();
+        PhaseTimer.end(TimingPhase.LOCK, start);
+
+        // then
+        assertEquals(0L, start);
+        assertEquals(count, PhaseTimer.histogram(TimingPhase.LOCK).getCount());
+        assertNull(PhaseTimer.serverTiming());
+    }
+
+    @Test
+    @DisplayName("켜져 있으면 히스토그램과 요청별 Server-Timing 에 기록")
+    void record_phase() {
+        // given
+        PhaseTimer.setEnabled(true);
+        long count = PhaseTimer.histogram(TimingPhase.USER_LOOKUP).getCount();
+        PhaseTimer.startRequest();
+
+        // when
+        PhaseTimer.end(TimingPhase.USER_LOOKUP, PhaseTimer.begin());
+        PhaseTimer.end(TimingPhase.USER_LOOKUP, PhaseTimer.begin());
+
+        // then
+        assertEquals(count + 2, PhaseTimer.histogram(TimingPhase.USER_LOOKUP).getCount());
+        assertTrue(PhaseTimer.serverTiming().matches("user;dur=\\d+\\.\\d{3}"));
+    }
+
+    @Test
+    @DisplayName("백분위는 해당 순위가 들어 있는 버킷의 상한")
+    void histogram_percentile() {
+        // given
+        PhaseHistogram histogram = new PhaseHistogram();
+
+        // when
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1_000L);
+        }
+        histogram.record(1_000_000L);
+
+        // then
+        assertEquals(100, histogram.getCount());
+        assertEquals(1_023L, histogram.percentileNanos(0.5));
+        assertEquals(1_023L, histogram.percentileNanos(0.99));
+        assertEquals(1_000_000L, histogram.percentileNanos(1.0));
+        assertEquals(1_000_000L, histogram.getMaxNanos());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadYourWritesRouterTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReadYourWritesRouter router;
+
+    @BeforeEach
+    void setUp() {
+        router = new ReadYourWritesRouter(transactionManager);
+        ReflectionTestUtils.setField(router, "replicaEnabled", true);
+        ReflectionTestUtils.setField(router, "maxLagMillis", 1000L);
+    }
+
+    @Test
+    @DisplayName("replica 에 없는 거래는 primary 에서 다시 조회")
+    void read_again_when_not_replicated() {
+        // given
+        AtomicInteger queries = new AtomicInteger();
+
+        // when
+        Optional<String> result = router.read("TX:trxId", () ->
+                queries.incrementAndGet() == 1 ? Optional.empty() : Optional.of("found"));
+
+        // then
+        assertEquals("found", result.orElseThrow());
+        assertEquals(2, queries.get());
+    }
+
+    @Test
+    @DisplayName("최근에 쓴 키는 처음부터 primary 에서 한 번만 조회")
+    void read_once_when_recently_written() {
+        // given
+        AtomicInteger queries = new AtomicInteger();
+        router.markWritten("TX:trxId");
+
+        // when
+        Optional<String> result = router.read("TX:trxId", () -> {
+            queries.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // then
+        assertTrue(router.isRecentlyWritten("TX:trxId"));
+        assertTrue(result.isEmpty());
+        assertEquals(1, queries.get());
+    }
+
+    @Test
+    @DisplayName("여러 키 조회 - IN 쿼리를 나눠서 실행하고 replica 에 없는 키만 primary 에서 다시 조회")
+    void read_all_in_chunks() {
+        // given
+        ReflectionTestUtils.setField(router, "inChunkSize", 2);
+        List<List<String>> queries = new ArrayList<>();
+
+        // when
+        Map<String, String> result = router.readAll(List.of("a", "b", "c"),
+                ReadYourWritesRouter::transactionKey, ids -> {
+                    queries.add(ids);
+                    // 첫 조회(replica)에서는 c 가 아직 없음
+                    return ids.stream()
+                            .filter(id -> queries.size() > 2 || !id.equals("c"))
+                            .collect(Collectors.toMap(Function.identity(), String::toUpperCase));
+                });
+
+        // then
+        assertEquals(Map.of("a", "A", "b", "B", "c", "C"), result);
+        assertEquals(List.of(List.of("a", "b"), List.of("c"), List.of("c")), queries);
+    }
+
+    @Test
+    @DisplayName("지연 시간이 지난 기록은 정리")
+    void evict_expired() {
+        // given
+        ReflectionTestUtils.setField(router, "maxLagMillis", 0L);
+        router.markWritten("USER:1");
+
+        // when
+        router.evictExpired();
+
+        // then
+        assertFalse(router.isRecentlyWritten("USER:1"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.domain.Account;
+import com.example.simpleaccount.domain.Transaction;
+import com.example.simpleaccount.dto.ReconciliationReport.Discrepancy;
+import com.example.simpleaccount.type.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.simpleaccount.type.DiscrepancyType.BALANCE_MISMATCH;
+import static com.example.simpleaccount.type.DiscrepancyType.REPLAY_MISMATCH;
+import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_IN;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_OUT;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReconciliationServiceTest {
+
+    @Test
+    @DisplayName("거래 잔액이 이어지고 계좌 잔액이 마지막 거래 잔액과 같으면 정상")
+    void consistent_account() {
+        // given
+        Account account = account(9800L);
+
+        // when
+        List<Discrepancy> discrepancies = ReconciliationService.checkAccount(account, List.of(
+                transaction("t1", USE, 100L, 9900L),
+                transaction("t2", USE, 200L, 9700L),
+                transaction("t3", CANCEL, 100L, 9800L)));
+
+        // then
+        assertTrue(discrepancies.isEmpty());
+    }
+
+    @Test
+    @DisplayName("이체 출금, 입금도 재생해서 잔액 확인")
+    void consistent_account_with_transfers() {
+        // given
+        Account account = account(9500L);
+
+        // when
+        List<Discrepancy> discrepancies = ReconciliationService.checkAccount(account, List.of(
+                transaction("t1", USE, 100L, 9900L),
+                transaction("t2", TRANSFER_OUT, 1000L, 8900L),
+                transaction("t3", TRANSFER_IN, 600L, 9500L)));
+
+        // then
+        assertTrue(discrepancies.isEmpty());
+    }
+
+    @Test
+    @DisplayName("재생한 잔액과 다른 거래, 마지막 거래와 다른 계좌 잔액 보고")
+    void report_discrepancies() {
+        // given
+        Account account = account(5000L);
+
+        // when
+        List<Discrepancy> discrepancies = ReconciliationService.checkAccount(account, List.of(
+                transaction("t1", USE, 100L, 9900L),
+                transaction("t2", USE, 200L, 9600L)));
+
+        // then
+        assertEquals(2, discrepancies.size());
+        assertEquals(REPLAY_MISMATCH, discrepancies.get(0).getType());
+        assertEquals("t2", discrepancies.get(0).getTransactionId());
+        assertEquals(9700L, discrepancies.get(0).getExpected());
+        assertEquals(BALANCE_MISMATCH, discrepancies.get(1).getType());
+        assertEquals(9600L, discrepancies.get(1).getExpected());
+        assertEquals(5000L, discrepancies.get(1).getActual());
+    }
+
+    @Test
+    @DisplayName("아이디가 거래 일시 순서와 달라도 거래 일시 순서로 재생")
+    void replay_in_transacted_order() {
+        // given
+        Account account = account(9700L);
+        LocalDateTime now = LocalDateTime.now();
+
+        // 다른 노드의 시퀀스 블록에서 받은 큰 아이디가 먼저 거래됨
+        Transaction first = transaction("t1", USE, 100L, 9900L);
+        first.setId(101L);
+        first.setTransactedAt(now);
+        Transaction second = transaction("t2", USE, 200L, 9700L);
+        second.setId(51L);
+        second.setTransactedAt(now.plusSeconds(1));
+
+        // when
+        List<Discrepancy> discrepancies = ReconciliationService.checkAccount(account,
+                List.of(second, first));
+
+        // then
+        assertTrue(discrepancies.isEmpty());
+    }
+
+    private static Account account(Long balance) {
+        return Account.builder()
+                .accountNumber("1000000000")
+                .balance(balance)
+                .build();
+    }
+
+    private static Transaction transaction(String transactionId, TransactionType type,
+                                           Long amount, Long balanceSnapshot) {
+        return Transaction.builder()
+                .transactionId(transactionId)
+                .transactionType(type)
+                .amount(amount)
+                .balanceSnapshot(balanceSnapshot)
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ShardRouterTest {
+    private final ShardRouter shardRouter =
+            new ShardRouter(mock(PlatformTransactionManager.class), 3);
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    @DisplayName("거래 아이디로 찾은 shard 는 계좌 번호의 shard 와 같음")
+    void transaction_id_has_account_shard() {
+        for (int i = 0; i < 1000; i++) {
+            // given
+            String accountNumber = String.format("%010d", 1000000000L + i * 7919L);
+
+            // when
+            String transactionId = ShardContext.newTransactionId(accountNumber);
+
+            // then
+            assertEquals(32, transactionId.length());
+            assertEquals(ShardContext.bucketOf(accountNumber),
+                    ShardContext.bucketOfTransaction(transactionId));
+        }
+    }
+
+    @Test
+    @DisplayName("모든 shard 에서 조회한 결과를 shard 순서대로 합침")
+    void fan_out_to_all_shards() {
+        // given
+        Map<Integer, Integer> currentShards = new ConcurrentHashMap<>();
+
+        // when
+        List<Integer> results = shardRouter.fanOut(shard -> {
+            currentShards.put(shard, shardRouter.currentShard());
+            return shard * 10;
+        });
+
+        // then
+        assertEquals(List.of(0, 10, 20), results);
+        assertEquals(Map.of(0, 0, 1, 1, 2, 2), currentShards);
+    }
+
+    @Test
+    @DisplayName("일괄 저장은 계좌의 shard 별로 나눠서 실행")
+    void split_items_by_shard() {
+        // given
+        List<String> accountNumbers = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            accountNumbers.add(String.format("%010d", 1234567890L + i));
+        }
+        List<List<String>> groups = new ArrayList<>();
+
+        // when
+        shardRouter.inTransactionPerShard(accountNumbers, accountNumber -> accountNumber,
+                group -> {
+                    group.forEach(accountNumber -> assertEquals(
+                            shardRouter.shardOf(accountNumber), shardRouter.currentShard()));
+                    groups.add(group);
+                });
+
+        // then
+        assertEquals(30, groups.stream().mapToInt(List::size).sum());
+        assertTrue(groups.size() > 1);
+        assertNull(ShardContext.current());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+    private static final long BUCKET_MILLIS = 60_000L;
+
+    @Test
+    @DisplayName("윈도우 안의 금액 합산")
+    void sum_in_window() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET_MILLIS);
+        long now = 10 * BUCKET_MILLIS;
+
+        // when
+        counter.add(now - 2 * BUCKET_MILLIS, now, 100L);
+        counter.add(now - BUCKET_MILLIS, now, 200L);
+        counter.add(now, now, 300L);
+
+        // then
+        assertEquals(600L, counter.sum(now));
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 버킷은 합계에서 제외")
+    void sum_excludes_expired_bucket() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET_MILLIS);
+        long now = 10 * BUCKET_MILLIS;
+        counter.add(now, now, 100L);
+
+        // when
+        long later = now + 3 * BUCKET_MILLIS;
+
+        // then
+        assertEquals(0L, counter.sum(later));
+        assertTrue(counter.isIdle(later));
+    }
+
+    @Test
+    @DisplayName("취소 금액은 원거래 버킷에서 차감")
+    void cancel_subtracts_from_original_bucket() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET_MILLIS);
+        long now = 10 * BUCKET_MILLIS;
+        counter.add(now - BUCKET_MILLIS, now, 100L);
+        counter.add(now, now, 200L);
+
+        // when
+        counter.add(now - BUCKET_MILLIS, now, -100L);
+
+        // then
+        assertEquals(200L, counter.sum(now));
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 원거래 취소는 무시")
+    void cancel_of_expired_use_is_ignored() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET_MILLIS);
+        long now = 10 * BUCKET_MILLIS;
+        counter.add(now, now, 200L);
+
+        // when
+        counter.add(now - 5 * BUCKET_MILLIS, now, -100L);
+
+        // then
+        assertEquals(200L, counter.sum(now));
+    }
+
+    @Test
+    @DisplayName("한도를 넘지 않을 때만 더함")
+    void try_add_within_limit() {
+        // given
+        SlidingWindowCounter counter = new SlidingWindowCounter(3, BUCKET_MILLIS);
+        long now = 10 * BUCKET_MILLIS;
+        counter.add(now - BUCKET_MILLIS, now, 600L);
+
+        // when
+        boolean first = counter.tryAdd(now, 400L, 1000L);
+        boolean second = counter.tryAdd(now, 1L, 1000L);
+
+        // then
+        assertTrue(first);
+        assertFalse(second);
+        assertEquals(1000L, counter.sum(now));
+    }
+}
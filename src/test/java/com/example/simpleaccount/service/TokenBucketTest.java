@@ -0,0 +1,39 @@
+package com.example.simpleaccount.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    @DisplayName("버킷 용량만큼 즉시 허용 후 거절")
+    void acquire_until_empty() {
+        // given
+        TokenBucket bucket = new TokenBucket(1, 2, 0L);
+
+        // when
+        // then
+        assertTrue(bucket.tryAcquire(0L));
+        assertTrue(bucket.tryAcquire(0L));
+        assertFalse(bucket.tryAcquire(0L));
+    }
+
+    @Test
+    @DisplayName("경과 시간만큼 토큰 재충전")
+    void refill_after_elapsed() {
+        // given
+        TokenBucket bucket = new TokenBucket(2, 2, 0L);
+        bucket.tryAcquire(0L);
+        bucket.tryAcquire(0L);
+
+        // when
+        // then
+        assertFalse(bucket.tryAcquire(SECOND / 4));
+        assertTrue(bucket.tryAcquire(SECOND / 2));
+        assertFalse(bucket.isFull(SECOND / 2));
+        assertTrue(bucket.isFull(2 * SECOND));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.UseBalanceBatch;
+import com.example.simpleaccount.exception.AccountException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static com.example.simpleaccount.type.ErrorCode.ACCOUNT_TRANSACTION_LOCK;
+import static com.example.simpleaccount.type.TransactionResultType.F;
+import static com.example.simpleaccount.type.TransactionResultType.S;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionBatchServiceTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private LockBulkhead lockBulkhead;
+
+    @Mock
+    private ContentionTracker contentionTracker;
+
+    @Mock
+    private HotBalanceService hotBalanceService;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private ClusterMembership clusterMembership;
+
+    @Mock
+    private ClusterForwarder clusterForwarder;
+
+    @Mock
+    private TransactionFailureLedger transactionFailureLedger;
+
+    private TransactionBatchService transactionBatchService;
+
+    @BeforeEach
+    void setUp() {
+        transactionBatchService = new TransactionBatchService(transactionService,
+                new AccountLocker(lockService, lockBulkhead, contentionTracker),
+                hotBalanceService, balanceEngine, clusterMembership, clusterForwarder,
+                transactionFailureLedger);
+    }
+
+    @Test
+    @DisplayName("계좌별로 묶어 계좌 번호 순으로 Lock 한 번씩 잡고, 결과는 요청 순서대로")
+    void use_balance_batch_grouped_by_account() {
+        // given
+        UseBalance.Request first = new UseBalance.Request(1L, "2222222222", 100L);
+        UseBalance.Request second = new UseBalance.Request(1L, "1111111111", 200L);
+        UseBalance.Request third = new UseBalance.Request(1L, "2222222222", 300L);
+
+        given(transactionService.useBalanceGroup(eq("1111111111"), anyList()))
+                .willReturn(List.of(success("t2", 200L)));
+        given(transactionService.useBalanceGroup(eq("2222222222"), anyList()))
+                .willReturn(List.of(success("t1", 100L), success("t3", 300L)));
+
+        // when
+        List<UseBalanceBatch.Result> results =
+                transactionBatchService.useBalanceBatch(List.of(first, second, third));
+
+        // then
+        assertEquals(List.of("t1", "t2", "t3"), results.stream()
+                .map(UseBalanceBatch.Result::getTransactionId)
+                .toList());
+
+        InOrder inOrder = inOrder(lockService, transactionService);
+        inOrder.verify(lockService).lock(eq("1111111111"), anyLong());
+        inOrder.verify(transactionService).useBalanceGroup("1111111111", List.of(second));
+        inOrder.verify(lockService).unlock("1111111111");
+        inOrder.verify(lockService).lock(eq("2222222222"), anyLong());
+        inOrder.verify(transactionService).useBalanceGroup("2222222222", List.of(first, third));
+        inOrder.verify(lockService).unlock("2222222222");
+    }
+
+    @Test
+    @DisplayName("Lock 을 얻지 못한 계좌의 항목만 실패")
+    void fail_only_items_of_locked_account() {
+        // given
+        UseBalance.Request first = new UseBalance.Request(1L, "1111111111", 100L);
+        UseBalance.Request second = new UseBalance.Request(1L, "2222222222", 200L);
+
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockService).lock(eq("1111111111"), anyLong());
+        given(transactionService.useBalanceGroup(eq("2222222222"), anyList()))
+                .willReturn(List.of(success("t2", 200L)));
+
+        // when
+        List<UseBalanceBatch.Result> results =
+                transactionBatchService.useBalanceBatch(List.of(first, second));
+
+        // then
+        assertEquals(F, results.get(0).getTransactionResult());
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(S, results.get(1).getTransactionResult());
+        verify(transactionService, never()).useBalanceGroup(eq("1111111111"), anyList());
+        verify(transactionFailureLedger, times(1)).record(USE, "1111111111", 100L);
+        verify(lockBulkhead, times(1)).exit("1111111111");
+        verify(contentionTracker, times(1)).record(eq("1111111111"), anyLong(), eq(true));
+        verify(contentionTracker, times(1)).record(eq("2222222222"), anyLong(), eq(false));
+    }
+
+    @Test
+    @DisplayName("Lock 대기열이 가득 찬 계좌는 Lock 을 기다리지 않고 그 계좌의 항목만 실패")
+    void fail_items_when_bulkhead_rejects() {
+        // given
+        UseBalance.Request first = new UseBalance.Request(1L, "1111111111", 100L);
+        UseBalance.Request second = new UseBalance.Request(1L, "2222222222", 200L);
+
+        willThrow(new AccountException(ACCOUNT_TRANSACTION_LOCK))
+                .given(lockBulkhead).enter("1111111111");
+        given(transactionService.useBalanceGroup(eq("2222222222"), anyList()))
+                .willReturn(List.of(success("t2", 200L)));
+
+        // when
+        List<UseBalanceBatch.Result> results =
+                transactionBatchService.useBalanceBatch(List.of(first, second));
+
+        // then
+        assertEquals(ACCOUNT_TRANSACTION_LOCK, results.get(0).getErrorCode());
+        assertEquals(S, results.get(1).getTransactionResult());
+        verify(lockService, never()).lock(eq("1111111111"), anyLong());
+        verify(lockBulkhead, never()).exit("1111111111");
+        verify(lockBulkhead, times(1)).exit("2222222222");
+        verify(contentionTracker, times(1)).record(eq("1111111111"), anyLong(), eq(true));
+    }
+
+    private static UseBalanceBatch.Result success(String transactionId, Long amount) {
+        return UseBalanceBatch.Result.success(TransactionDto.builder()
+                .transactionResult(S)
+                .transactionId(transactionId)
+                .amount(amount)
+                .build());
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.simpleaccount.service;
+
+import com.example.simpleaccount.dto.FailedTransactionEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.USE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionFailureLedgerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private TransactionFailureLedger transactionFailureLedger;
+
+    @BeforeEach
+    void setUp() {
+        transactionFailureLedger = new TransactionFailureLedger(transactionService);
+        ReflectionTestUtils.setField(transactionFailureLedger, "capacity", 2);
+        ReflectionTestUtils.setField(transactionFailureLedger, "batchSize", 10);
+        transactionFailureLedger.init();
+    }
+
+    @Test
+    @DisplayName("큐에 쌓인 실패 거래를 한 번에 저장")
+    void flush_saves_batch() {
+        // given
+        List<List<FailedTransactionEvent>> batches = new ArrayList<>();
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(transactionService).saveFailedTransactions(anyList());
+
+        transactionFailureLedger.record(USE, "1111111111", 1000L);
+        transactionFailureLedger.record(CANCEL, "2222222222", 2000L);
+
+        // when
+        transactionFailureLedger.flush();
+
+        // then
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+        assertEquals(USE, batches.get(0).get(0).getTransactionType());
+        assertEquals("2222222222", batches.get(0).get(1).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 가장 오래된 기록을 버림")
+    void drop_oldest_when_full() {
+        // given
+        List<FailedTransactionEvent> saved = new ArrayList<>();
+        doAnswer(invocation -> saved.addAll(invocation.getArgument(0)))
+                .when(transactionService).saveFailedTransactions(anyList());
+
+        transactionFailureLedger.record(USE, "1111111111", 1000L);
+        transactionFailureLedger.record(USE, "2222222222", 1000L);
+        transactionFailureLedger.record(USE, "3333333333", 1000L);
+
+        // when
+        transactionFailureLedger.flush();
+
+        // then
+        assertEquals(2, saved.size());
+        assertEquals("2222222222", saved.get(0).getAccountNumber());
+        assertEquals("3333333333", saved.get(1).getAccountNumber());
+    }
+
+    @Test
+    @DisplayName("저장 실패가 호출한 쪽으로 전파되지 않음")
+    void flush_failure_is_not_propagated() {
+        // given
+        willThrow(new RuntimeException("db down"))
+                .given(transactionService).saveFailedTransactions(anyList());
+        transactionFailureLedger.record(USE, "1111111111", 1000L);
+
+        // when
+        // then
+        assertDoesNotThrow(() -> transactionFailureLedger.flush());
+        verify(transactionService, times(1)).saveFailedTransactions(anyList());
+    }
+}
@@ -3,10 +3,15 @@ package com.example.simpleaccount.service;
 import com.example.simpleaccount.domain.Account;
 import com.example.simpleaccount.domain.AccountUser;
 import com.example.simpleaccount.domain.Transaction;
+import com.example.simpleaccount.dto.FailedTransactionEvent;
+import com.example.simpleaccount.dto.HotBalanceEvent;
 import com.example.simpleaccount.dto.TransactionDto;
+import com.example.simpleaccount.dto.UseBalance;
+import com.example.simpleaccount.dto.UseBalanceBatch;
 import com.example.simpleaccount.exception.AccountException;
 import com.example.simpleaccount.repository.AccountRepository;
 import com.example.simpleaccount.repository.AccountUserRepository;
+import com.example.simpleaccount.repository.OutboxEventRepository;
 import com.example.simpleaccount.repository.TransactionRepository;
 import com.example.simpleaccount.type.AccountStatus;
 import com.example.simpleaccount.type.ErrorCode;
@@ -18,16 +23,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static com.example.simpleaccount.type.AccountStatus.ACTIVE;
+import static com.example.simpleaccount.type.CacheType.TRANSACTION;
 import static com.example.simpleaccount.type.TransactionResultType.F;
 import static com.example.simpleaccount.type.TransactionResultType.S;
 import static com.example.simpleaccount.type.TransactionType.CANCEL;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_IN;
+import static com.example.simpleaccount.type.TransactionType.TRANSFER_OUT;
 import static com.example.simpleaccount.type.TransactionType.USE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -47,9 +61,40 @@ class TransactionServiceTest {
     @Mock
     private AccountUserRepository accountUserRepository;
 
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
     @Mock
     private AccountService accountService;
 
+    @Mock
+    private SpendingLimitService spendingLimitService;
+
+    @Mock
+    private TransactionTimeoutApplier transactionTimeoutApplier;
+
+    @Mock
+    private BalanceChangePublisher balanceChangePublisher;
+
+    @Mock
+    private HotBalanceService hotBalanceService;
+
+    @Mock
+    private BalanceEngine balanceEngine;
+
+    @Mock
+    private ReadYourWritesRouter readYourWritesRouter;
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Mock
+    private AccountMetrics accountMetrics;
+
+    @Spy
+    private ShardRouter shardRouter =
+            new ShardRouter(mock(PlatformTransactionManager.class), 1);
+
     @Mock
     private TransactionDto transactionDto;
 
@@ -247,47 +292,192 @@ class TransactionServiceTest {
     }
 
     @Test
-    @DisplayName("실패 트랜잭션 저장 성공")
-    void save_failed_use_transaction() {
+    @DisplayName("한 계좌의 잔액 사용 일괄 처리 - 실패 항목은 건너뛰고 나머지는 한 번에 저장")
+    void use_balance_group() {
         // given
         AccountUser accountUser = AccountUser.builder()
                 .name("one").build();
-
         accountUser.setId(1L);
 
-        String accountNumber = accountService.uniqueAccountNumber();
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(ACTIVE)
+                .accountNumber("1111111111")
+                .balance(1000L)
+                .build();
+
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(account));
+        given(accountUserRepository.findAllById(anyIterable()))
+                .willReturn(List.of(accountUser));
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        List<UseBalanceBatch.Result> results = transactionService.useBalanceGroup("1111111111",
+                List.of(new UseBalance.Request(1L, "1111111111", 300L),
+                        new UseBalance.Request(1L, "1111111111", 900L),
+                        new UseBalance.Request(2L, "1111111111", 100L),
+                        new UseBalance.Request(1L, "1111111111", 500L)));
+
+        // then
+        assertEquals(4, results.size());
+        assertEquals(S, results.get(0).getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, results.get(1).getErrorCode());
+        assertEquals(ErrorCode.USER_NOT_FOUND, results.get(2).getErrorCode());
+        assertEquals(S, results.get(3).getTransactionResult());
+        assertEquals(200L, results.get(3).getBalanceSnapshot());
+
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(2, captor.getValue().size());
+        assertEquals(200L, account.getBalance());
+
+        // 앞 항목의 사용 금액을 더해서 사용 한도 검증
+        verify(spendingLimitService, times(1)).validate("1111111111", 300L, 0L);
+        verify(spendingLimitService, times(1)).validate("1111111111", 500L, 300L);
+    }
+
+    @Test
+    @DisplayName("실패 트랜잭션 일괄 저장 - 없는 계좌는 제외")
+    void save_failed_transactions() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+
+        accountUser.setId(1L);
 
         Account account = Account.builder()
                 .accountUser(accountUser)
                 .accountStatus(ACTIVE)
-                .accountNumber(accountNumber)
+                .accountNumber("1111111111")
                 .balance(10000L)
                 .build();
 
-        given(accountRepository.findByAccountNumber(accountNumber))
-                .willReturn(Optional.of(account));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account));
 
-        given(transactionRepository.save(any()))
-                .willReturn(Transaction.builder()
-                        .account(account)
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        transactionService.saveFailedTransactions(List.of(
+                FailedTransactionEvent.builder()
+                        .transactionType(USE)
+                        .accountNumber("1111111111")
+                        .amount(USE_AMOUNT)
+                        .failedAt(LocalDateTime.now())
+                        .build(),
+                FailedTransactionEvent.builder()
+                        .transactionType(CANCEL)
+                        .accountNumber("9999999999")
+                        .amount(CANCEL_AMOUNT)
+                        .failedAt(LocalDateTime.now())
+                        .build()));
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals(F, captor.getValue().get(0).getTransactionResult());
+        assertEquals(USE, captor.getValue().get(0).getTransactionType());
+        assertEquals(10000L, captor.getValue().get(0).getBalanceSnapshot());
+    }
+
+    @Test
+    @DisplayName("hot 계좌 잔액 사용은 DB 를 거치지 않음")
+    void use_hot_balance_without_db() {
+        // given
+        given(hotBalanceService.isHot("1111111111")).willReturn(true);
+        given(hotBalanceService.useBalance(1L, "1111111111", USE_AMOUNT))
+                .willReturn(TransactionDto.builder()
+                        .accountNumber("1111111111")
                         .transactionType(USE)
                         .transactionResult(S)
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(9800L)
                         .transactionId("transactionId")
                         .transactedAt(LocalDateTime.now())
-                        .amount(1000L)
-                        .balanceSnapshot(9000L)
                         .build());
 
-        ArgumentCaptor<Transaction> captor = ArgumentCaptor.forClass(Transaction.class);
+        // when
+        TransactionDto transactionDto =
+                transactionService.useBalance(1L, "1111111111", USE_AMOUNT);
+
+        // then
+        assertEquals(9800L, transactionDto.getBalanceSnapshot());
+        // Lock 이 없으므로 사용 한도는 검증과 반영을 한 번에
+        verify(spendingLimitService, times(1)).reserve("1111111111", USE_AMOUNT);
+        verify(spendingLimitService, never()).recordUse(anyString(), anyLong());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("hot 계좌 잔액 사용이 실패하면 예약한 사용 한도를 되돌림")
+    void release_spending_limit_when_hot_use_fails() {
+        // given
+        given(hotBalanceService.isHot("1111111111")).willReturn(true);
+        given(spendingLimitService.reserve("1111111111", USE_AMOUNT)).willReturn(1234L);
+        given(hotBalanceService.useBalance(1L, "1111111111", USE_AMOUNT))
+                .willThrow(new AccountException(ErrorCode.AMOUNT_EXCEED_BALANCE));
 
         // when
-        transactionService.saveFailedUseTransaction(accountNumber, USE_AMOUNT);
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.useBalance(1L, "1111111111", USE_AMOUNT));
 
         // then
-        verify(transactionRepository, times(1)).save(captor.capture());
-        assertEquals(USE_AMOUNT, captor.getValue().getAmount());
-        assertEquals(10000L, captor.getValue().getBalanceSnapshot());
-        assertEquals(F, captor.getValue().getTransactionResult());
+        assertEquals(ErrorCode.AMOUNT_EXCEED_BALANCE, exception.getErrorCode());
+        verify(spendingLimitService, times(1)).release("1111111111", USE_AMOUNT, 1234L);
+    }
+
+    @Test
+    @DisplayName("hot 계좌 거래 일괄 저장 - 이미 저장된 거래는 건너뛰고 잔액은 마지막 거래 기준")
+    void save_hot_transactions() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+
+        accountUser.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(ACTIVE)
+                .accountNumber("1111111111")
+                .balance(10000L)
+                .build();
+
+        given(transactionRepository.findByTransactionIdIn(anyCollection()))
+                .willReturn(List.of(Transaction.builder()
+                        .transactionId("saved").build()));
+        given(accountRepository.findByAccountNumberIn(anyCollection()))
+                .willReturn(List.of(account));
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        transactionService.saveAppliedTransactions(List.of(
+                HotBalanceEvent.builder()
+                        .transactionType(USE)
+                        .accountNumber("1111111111")
+                        .transactionId("saved")
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(9800L)
+                        .transactedAt(LocalDateTime.now())
+                        .build(),
+                HotBalanceEvent.builder()
+                        .transactionType(USE)
+                        .accountNumber("1111111111")
+                        .transactionId("new")
+                        .amount(USE_AMOUNT)
+                        .balanceSnapshot(9600L)
+                        .transactedAt(LocalDateTime.now())
+                        .build()));
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals("new", captor.getValue().get(0).getTransactionId());
+        assertEquals(S, captor.getValue().get(0).getTransactionResult());
+        assertEquals(9600L, account.getBalance());
+        verify(balanceChangePublisher, times(1)).publish(account);
     }
 
     @Test
@@ -526,6 +716,103 @@ class TransactionServiceTest {
         assertEquals(ErrorCode.TOO_OLD_ORDER_TO_CANCEL, exception.getErrorCode());
     }
 
+    @Test
+    @DisplayName("이체 성공 - 출금, 입금 거래를 함께 저장하고 서로 연결")
+    void transfer_balance_success() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+        accountUser.setId(1L);
+
+        AccountUser targetUser = AccountUser.builder()
+                .name("two").build();
+        targetUser.setId(2L);
+
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(ACTIVE)
+                .accountNumber("1111111111")
+                .balance(10000L)
+                .build();
+
+        Account targetAccount = Account.builder()
+                .accountUser(targetUser)
+                .accountStatus(ACTIVE)
+                .accountNumber("2222222222")
+                .balance(500L)
+                .build();
+
+        given(accountUserRepository.findById(1L))
+                .willReturn(Optional.of(accountUser));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(account));
+        given(accountRepository.findByAccountNumber("2222222222"))
+                .willReturn(Optional.of(targetAccount));
+
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+
+        // when
+        TransactionDto transactionDto = transactionService.transferBalance(
+                1L, "1111111111", "2222222222", 1000L);
+
+        // then
+        verify(transactionRepository, times(1)).saveAll(captor.capture());
+        Transaction transferOut = captor.getValue().get(0);
+        Transaction transferIn = captor.getValue().get(1);
+        assertEquals(TRANSFER_OUT, transferOut.getTransactionType());
+        assertEquals(9000L, transferOut.getBalanceSnapshot());
+        assertEquals(TRANSFER_IN, transferIn.getTransactionType());
+        assertEquals(1500L, transferIn.getBalanceSnapshot());
+        assertEquals(transferIn.getTransactionId(), transferOut.getLinkedTransactionId());
+        assertEquals(transferOut.getTransactionId(), transferIn.getLinkedTransactionId());
+        assertEquals(transferOut.getTransactionId(), transactionDto.getTransactionId());
+        verify(spendingLimitService, times(1)).recordUse("1111111111", 1000L);
+    }
+
+    @Test
+    @DisplayName("이체 실패 - 같은 계좌")
+    void transfer_balance_same_account() {
+        // given
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.transferBalance(1L, "1111111111", "1111111111", 1000L));
+
+        // then
+        assertEquals(ErrorCode.TRANSFER_SAME_ACCOUNT, exception.getErrorCode());
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+    }
+
+    @Test
+    @DisplayName("잔액 사용 취소 실패 - 이체 거래는 취소 불가능")
+    void cancel_balance_transfer_cannot_cancel() {
+        // given
+        Account account = Account.builder()
+                .accountStatus(ACTIVE)
+                .accountNumber("1111111111")
+                .balance(10000L)
+                .build();
+        account.setId(1L);
+
+        given(transactionRepository.findByTransactionId(anyString()))
+                .willReturn(Optional.of(Transaction.builder()
+                        .account(account)
+                        .transactionType(TRANSFER_OUT)
+                        .transactionResult(S)
+                        .transactionId("transactionId")
+                        .transactedAt(LocalDateTime.now())
+                        .amount(CANCEL_AMOUNT)
+                        .build()));
+        given(accountRepository.findByAccountNumber("1111111111"))
+                .willReturn(Optional.of(account));
+
+        // when
+        AccountException exception = assertThrows(AccountException.class,
+                () -> transactionService.cancelBalance("transactionId", "1111111111", CANCEL_AMOUNT));
+
+        // then
+        assertEquals(ErrorCode.TRANSFER_CANNOT_CANCEL, exception.getErrorCode());
+    }
+
     @Test
     @DisplayName("거래 확인 성공")
     void query_transaction_success() {
@@ -558,6 +845,7 @@ class TransactionServiceTest {
 
         given(transactionRepository.findByTransactionId(anyString()))
                 .willReturn(Optional.of(transaction));
+        givenReadOnPrimary();
 
         // when
         TransactionDto transactionDto = transactionService.queryTransaction("trxId");
@@ -569,12 +857,63 @@ class TransactionServiceTest {
         assertEquals("transactionId", transactionDto.getTransactionId());
     }
 
+    @Test
+    @DisplayName("여러 거래 확인 - near cache 에 없는 거래만 IN 쿼리 한 번으로 조회")
+    void query_transactions() {
+        // given
+        AccountUser accountUser = AccountUser.builder()
+                .name("one").build();
+        accountUser.setId(1L);
+
+        Account account = Account.builder()
+                .accountUser(accountUser)
+                .accountStatus(ACTIVE)
+                .accountNumber("1000000012")
+                .balance(10000L)
+                .build();
+
+        Transaction transaction = Transaction.builder()
+                .account(account)
+                .transactionType(USE)
+                .transactionResult(S)
+                .transactionId("found")
+                .transactedAt(LocalDateTime.now())
+                .amount(CANCEL_AMOUNT)
+                .build();
+
+        TransactionDto cached = TransactionDto.builder()
+                .transactionId("cached")
+                .build();
+        given(cacheInvalidationBus.get(eq(TRANSACTION), anyString()))
+                .willAnswer(invocation ->
+                        "cached".equals(invocation.getArgument(1)) ? cached : null);
+        given(transactionRepository.findWithAccountByTransactionIdIn(List.of("found", "missing")))
+                .willReturn(List.of(transaction));
+        given(readYourWritesRouter.readAll(anyList(), any(), any()))
+                .willAnswer(invocation -> invocation
+                        .<Function<List<String>, Map<String, TransactionDto>>>getArgument(2)
+                        .apply(invocation.getArgument(0)));
+
+        // when
+        Map<String, TransactionDto> transactionDtos = transactionService.queryTransactions(
+                List.of("cached", "found", "missing", "found"));
+
+        // then
+        assertEquals(2, transactionDtos.size());
+        assertSame(cached, transactionDtos.get("cached"));
+        assertEquals("1000000012", transactionDtos.get("found").getAccountNumber());
+        assertNull(transactionDtos.get("missing"));
+        verify(cacheInvalidationBus, times(1))
+                .put(TRANSACTION, "found", transactionDtos.get("found"));
+    }
+
     @Test
     @DisplayName("거래 확인 실패 - 해당 거래 없음")
     void query_transaction_not_found() {
         // given
         given(transactionRepository.findByTransactionId(anyString()))
                 .willReturn(Optional.empty());
+        givenReadOnPrimary();
 
         // when
         AccountException exception = assertThrows(AccountException.class,
@@ -583,4 +922,11 @@ class TransactionServiceTest {
         // then
         assertEquals(ErrorCode.TRANSACTION_NOT_FOUND, exception.getErrorCode());
     }
-}
\ No newline at end of file
+
+    // 조회 라우팅 없이 바로 조회
+    private void givenReadOnPrimary() {
+        given(readYourWritesRouter.read(anyString(), any()))
+                .willAnswer(invocation ->
+                        invocation.<Supplier<Optional<?>>>getArgument(1).get());
+    }
+}